@@ -36,6 +36,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.ISynchronizable;
 
@@ -86,6 +87,28 @@ public class DocumentAdapter implements IBuffer, IDocumentListener {
 
 	public static final IBuffer Null = new NullBuffer();
 
+	/**
+	 * The content of the document at a given modification stamp. The
+	 * characters are only materialized when the compiler asks for them.
+	 */
+	private static final class Snapshot {
+		private final long stamp;
+		private final String contents;
+		private char[] characters;
+
+		private Snapshot(long stamp, String contents) {
+			this.stamp = stamp;
+			this.contents = contents;
+		}
+
+		private synchronized char[] getCharacters() {
+			if (characters == null) {
+				characters = contents.toCharArray();
+			}
+			return characters;
+		}
+	}
+
 	private Object lock = new Object();
 
 	private final IOpenable fOwner;
@@ -101,6 +124,7 @@ public class DocumentAdapter implements IBuffer, IDocumentListener {
 
 	private ITextFileBuffer fTextFileBuffer;
 	private IDocument fDocument;
+	private volatile Snapshot fSnapshot;
 
 
 	public DocumentAdapter(IOpenable owner, IFile file) {
@@ -196,6 +220,7 @@ public class DocumentAdapter implements IBuffer, IDocumentListener {
 			fireBufferChanged(new BufferChangedEvent(this, 0, 0, null));
 			fBufferListeners.clear();
 			fDocument = null;
+			fSnapshot = null;
 		}
 	}
 
@@ -210,13 +235,40 @@ public class DocumentAdapter implements IBuffer, IDocumentListener {
 
 	@Override
 	public char[] getCharacters() {
-		String content = getContents();
-		return content != null ? content.toCharArray() : null;
+		Snapshot snapshot = getSnapshot();
+		return snapshot != null ? snapshot.getCharacters() : null;
 	}
 
 	@Override
 	public String getContents() {
-		return fDocument != null ? fDocument.get() : null;
+		Snapshot snapshot = getSnapshot();
+		return snapshot != null ? snapshot.contents : null;
+	}
+
+	/**
+	 * Returns the content of the document, copied once per modification of the
+	 * document rather than on each call. Documents which do not track their
+	 * modifications are copied on each call.
+	 */
+	private Snapshot getSnapshot() {
+		IDocument document = fDocument;
+		if (document == null) {
+			return null;
+		}
+		long stamp = document instanceof IDocumentExtension4 extension ? extension.getModificationStamp() : IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		Snapshot snapshot = fSnapshot;
+		if (snapshot != null && snapshot.stamp == stamp && stamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			return snapshot;
+		}
+		// the stamp is read before the content: a concurrent modification only
+		// makes the next call copy the content again
+		String contents = document.get();
+		if (contents == null) {
+			return null;
+		}
+		snapshot = new Snapshot(stamp, contents);
+		fSnapshot = snapshot;
+		return snapshot;
 	}
 
 	@Override
@@ -309,7 +361,7 @@ public class DocumentAdapter implements IBuffer, IDocumentListener {
 				((ISynchronizable)fDocument).setLockObject(lock);
 			}
 		}
-		if (!contents.equals(fDocument.get())) {
+		if (!contents.equals(getContents())) {
 			fDocument.set(contents);
 		}
 	}
@@ -333,4 +385,4 @@ public class DocumentAdapter implements IBuffer, IDocumentListener {
 			listener.bufferChanged(event);
 		}
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -45,7 +45,12 @@ public enum EventType {
 	/**
 	 * Incompatibility between release version and preview features
 	 */
-	PreviewFeaturesNotAllowed(600);
+	PreviewFeaturesNotAllowed(600),
+
+	/**
+	 * A document entered or left the large file mode
+	 */
+	LargeFileModeChanged(700);
 
 	private final int value;
 
@@ -33,9 +33,13 @@ import org.eclipse.jdt.ls.core.internal.commands.SourceAttachmentCommand;
 import org.eclipse.jdt.ls.core.internal.commands.TroubleshootingInfoCommand;
 import org.eclipse.jdt.ls.core.internal.commands.TypeHierarchyCommand;
 import org.eclipse.jdt.ls.core.internal.commands.VmCommand;
+import org.eclipse.jdt.ls.core.internal.contentassist.ChainCompletionProposalComputer;
 import org.eclipse.jdt.ls.core.internal.framework.protobuf.ProtobufSupport;
 import org.eclipse.jdt.ls.core.internal.handlers.BundleUtils;
+import org.eclipse.jdt.ls.core.internal.handlers.CompletionContributionService;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionHandler;
+import org.eclipse.jdt.ls.core.internal.handlers.CompletionResponses;
+import org.eclipse.jdt.ls.core.internal.handlers.CompletionStatistics;
 import org.eclipse.jdt.ls.core.internal.handlers.CreateModuleInfoHandler;
 import org.eclipse.jdt.ls.core.internal.handlers.FormatterHandler;
 import org.eclipse.jdt.ls.core.internal.handlers.PasteEventHandler;
@@ -125,6 +129,16 @@ public class JDTDelegateCommandHandler implements IDelegateCommandHandler {
 						return DiagnosticsCommand.refreshDiagnostics((String) arguments.get(0), (String) arguments.get(1), (boolean) arguments.get(2));
 					}
 					return DiagnosticsCommand.refreshDiagnostics((String) arguments.get(0), (String) arguments.get(1), (boolean) arguments.get(2), (boolean) arguments.get(3));
+				case "java.diagnostics.getDebounceStatistics":
+					return DiagnosticsCommand.getDebounceStatistics();
+				case "java.completion.getChainSearchStatistics":
+					return ChainCompletionProposalComputer.getStatistics();
+				case "java.completion.getLatencyStatistics":
+					return CompletionStatistics.getStatistics();
+				case "java.completion.getResponseStatistics":
+					return CompletionResponses.getStatistics();
+				case "java.completion.getRankingStatistics":
+					return ((CompletionContributionService) JavaLanguageServerPlugin.getCompletionContributionService()).getStatistics();
 				case "java.project.import":
 					ProjectCommand.importProject(monitor);
 					return null;
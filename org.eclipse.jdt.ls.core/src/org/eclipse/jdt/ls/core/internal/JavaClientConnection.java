@@ -14,8 +14,11 @@
 package org.eclipse.jdt.ls.core.internal;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -25,10 +28,12 @@ import org.eclipse.lsp4j.ApplyWorkspaceEditParams;
 import org.eclipse.lsp4j.ApplyWorkspaceEditResponse;
 import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.ConfigurationParams;
+import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.ExecuteCommandParams;
 import org.eclipse.lsp4j.MessageActionItem;
 import org.eclipse.lsp4j.MessageParams;
 import org.eclipse.lsp4j.MessageType;
+import org.eclipse.lsp4j.ProgressParams;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.RegistrationParams;
 import org.eclipse.lsp4j.ShowMessageRequestParams;
@@ -77,6 +82,13 @@ public class JavaClientConnection {
 
 	final JavaLanguageClient client;
 
+	/**
+	 * The last diagnostics published for each document URI. A new connection
+	 * starts empty, so reconnecting clients always receive the full diagnostics
+	 * again.
+	 */
+	private final Map<String, List<Diagnostic>> publishedDiagnostics = new ConcurrentHashMap<>();
+
 	public JavaClientConnection(JavaLanguageClient client) {
 		this.client = client;
 	}
@@ -169,10 +181,45 @@ public class JavaClientConnection {
 		client.sendEventNotification(notification);
 	}
 
+	/**
+	 * Reports a progress, or a partial result, of a request to the client.
+	 */
+	public void notifyProgress(ProgressParams params) {
+		client.notifyProgress(params);
+	}
+
 	public void publishDiagnostics(PublishDiagnosticsParams diagnostics){
+		if (diagnostics.getUri() != null) {
+			List<Diagnostic> published = diagnostics.getDiagnostics();
+			publishedDiagnostics.put(diagnostics.getUri(), published == null ? new ArrayList<>() : new ArrayList<>(published));
+		}
 		client.publishDiagnostics(diagnostics);
 	}
 
+	/**
+	 * @return <code>true</code> if the given diagnostics are identical to the
+	 *         last ones published for the same document, <code>false</code>
+	 *         otherwise.
+	 */
+	public boolean isPublished(PublishDiagnosticsParams diagnostics) {
+		if (diagnostics.getUri() == null) {
+			return false;
+		}
+		List<Diagnostic> published = publishedDiagnostics.get(diagnostics.getUri());
+		List<Diagnostic> current = diagnostics.getDiagnostics();
+		return published != null && published.equals(current == null ? new ArrayList<>() : current);
+	}
+
+	/**
+	 * Forgets the diagnostics published for the given document, so that the
+	 * next ones are sent even if they are unchanged.
+	 */
+	public void forgetPublishedDiagnostics(String uri) {
+		if (uri != null) {
+			publishedDiagnostics.remove(uri);
+		}
+	}
+
 
 	/**
 	 * Sends a message to client to apply the given workspace edit.
@@ -221,6 +268,10 @@ public class JavaClientConnection {
 		return this.client.refreshCodeLenses();
 	}
 
+	public CompletableFuture<Void> refreshDiagnostics() {
+		return this.client.refreshDiagnostics();
+	}
+
 	public void telemetryEvent(Object object) {
 		if (JavaLanguageServerPlugin.getPreferencesManager() != null
 			&& JavaLanguageServerPlugin.getPreferencesManager().getPreferences().isTelemetryEnabled()) {
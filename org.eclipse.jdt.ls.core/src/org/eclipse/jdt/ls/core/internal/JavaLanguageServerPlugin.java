@@ -51,12 +51,17 @@ import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
 import org.eclipse.jdt.ls.core.contentassist.ICompletionContributionService;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
+import org.eclipse.jdt.ls.core.internal.contentassist.ChainSearchCache;
+import org.eclipse.jdt.ls.core.internal.contentassist.FavoriteMembersIndex;
+import org.eclipse.jdt.ls.core.internal.contentassist.TypeReachabilityIndex;
 import org.eclipse.jdt.ls.core.internal.corext.template.java.JavaContextTypeRegistry;
 import org.eclipse.jdt.ls.core.internal.corext.template.java.JavaLanguageServerTemplateStore;
 import org.eclipse.jdt.ls.core.internal.handlers.BundleUtils;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionContributionService;
+import org.eclipse.jdt.ls.core.internal.handlers.CompletionStatistics;
 import org.eclipse.jdt.ls.core.internal.handlers.JDTLanguageServer;
 import org.eclipse.jdt.ls.core.internal.handlers.LogHandler;
+import org.eclipse.jdt.ls.core.internal.javadoc.JavadocCache;
 import org.eclipse.jdt.ls.core.internal.managers.ContentProviderManager;
 import org.eclipse.jdt.ls.core.internal.managers.DigestStore;
 import org.eclipse.jdt.ls.core.internal.managers.ISourceDownloader;
@@ -133,6 +138,18 @@ public class JavaLanguageServerPlugin extends Plugin {
 
 	private DiagnosticsState nonProjectDiagnosticsState;
 
+	private LargeFilePolicy largeFilePolicy;
+
+	private ChainSearchCache chainSearchCache;
+
+	private TypeReachabilityIndex typeReachabilityIndex;
+
+	private FavoriteMembersIndex favoriteMembersIndex;
+
+	private JavadocCache javadocCache;
+
+	private TypeNameIndex typeNameIndex;
+
 	private ExecutorService executorService;
 	private CompletionContributionService completionContributionService;
 	private LogHandler logHandler;
@@ -175,6 +192,16 @@ public class JavaLanguageServerPlugin extends Plugin {
 		}
 		contentProviderManager = new ContentProviderManager(preferenceManager);
 		nonProjectDiagnosticsState = new DiagnosticsState();
+		largeFilePolicy = new LargeFilePolicy();
+		chainSearchCache = new ChainSearchCache();
+		chainSearchCache.addElementChangedListener();
+		typeReachabilityIndex = new TypeReachabilityIndex();
+		typeReachabilityIndex.addElementChangedListener();
+		favoriteMembersIndex = new FavoriteMembersIndex();
+		favoriteMembersIndex.addElementChangedListener();
+		javadocCache = new JavadocCache(getStateLocation().append("javadoc-cache").toFile());
+		typeNameIndex = new TypeNameIndex();
+		typeNameIndex.addElementChangedListener();
 		logInfo(getClass() + " is started");
 		configureProxy();
 		// turn off substring code completion if isn't explicitly set
@@ -386,7 +413,7 @@ public class JavaLanguageServerPlugin extends Plugin {
 				AsynchronousSocketChannel socketChannel = serverSocket.accept().get();
 				InputStream in = Channels.newInputStream(socketChannel);
 				OutputStream out = Channels.newOutputStream(socketChannel);
-				Function<MessageConsumer, MessageConsumer> messageConsumer = it -> it;
+				Function<MessageConsumer, MessageConsumer> messageConsumer = CompletionStatistics::wrap;
 				launcher = Launcher.createIoLauncher(protocol, JavaLanguageClient.class, in, out, executorService, messageConsumer);
 			} catch (InterruptedException | ExecutionException e) {
 				throw new RuntimeException("Error when opening a socket channel at " + host + ":" + port + ".", e);
@@ -401,7 +428,7 @@ public class JavaLanguageServerPlugin extends Plugin {
 			} else {
 				wrapper = new ParentProcessWatcher(this.languageServer);
 			}
-			launcher = Launcher.createLauncher(protocol, JavaLanguageClient.class, in, out, executorService, wrapper);
+			launcher = Launcher.createLauncher(protocol, JavaLanguageClient.class, in, out, executorService, wrapper.andThen(CompletionStatistics::wrap));
 		}
 		protocol.connectClient(launcher.getRemoteProxy());
 		launcher.startListening();
@@ -418,6 +445,22 @@ public class JavaLanguageServerPlugin extends Plugin {
 		JavaLanguageServerPlugin.pluginInstance = null;
 		JavaLanguageServerPlugin.context = null;
 		ResourcesPlugin.getWorkspace().removeSaveParticipant(IConstants.PLUGIN_ID);
+		if (chainSearchCache != null) {
+			chainSearchCache.removeElementChangedListener();
+			chainSearchCache = null;
+		}
+		if (typeReachabilityIndex != null) {
+			typeReachabilityIndex.removeElementChangedListener();
+			typeReachabilityIndex = null;
+		}
+		if (favoriteMembersIndex != null) {
+			favoriteMembersIndex.removeElementChangedListener();
+			favoriteMembersIndex = null;
+		}
+		if (typeNameIndex != null) {
+			typeNameIndex.removeElementChangedListener();
+			typeNameIndex = null;
+		}
 		projectsManager = null;
 		contentProviderManager = null;
 		languageServer = null;
@@ -435,6 +478,30 @@ public class JavaLanguageServerPlugin extends Plugin {
 		return pluginInstance.nonProjectDiagnosticsState;
 	}
 
+	public static LargeFilePolicy getLargeFilePolicy() {
+		return pluginInstance.largeFilePolicy;
+	}
+
+	public static ChainSearchCache getChainSearchCache() {
+		return pluginInstance == null ? null : pluginInstance.chainSearchCache;
+	}
+
+	public static TypeReachabilityIndex getTypeReachabilityIndex() {
+		return pluginInstance == null ? null : pluginInstance.typeReachabilityIndex;
+	}
+
+	public static FavoriteMembersIndex getFavoriteMembersIndex() {
+		return pluginInstance == null ? null : pluginInstance.favoriteMembersIndex;
+	}
+
+	public static JavadocCache getJavadocCache() {
+		return pluginInstance == null ? null : pluginInstance.javadocCache;
+	}
+
+	public static TypeNameIndex getTypeNameIndex() {
+		return pluginInstance == null ? null : pluginInstance.typeNameIndex;
+	}
+
 	public static void log(IStatus status) {
 		if (context != null) {
 			Platform.getLog(JavaLanguageServerPlugin.context.getBundle()).log(status);
@@ -216,7 +216,7 @@ public final class JobHelpers {
 		return null;
 	}
 
-	public static void waitForJobs(String jobFamily, IProgressMonitor monitor) {
+	public static void waitForJobs(Object jobFamily, IProgressMonitor monitor) {
 		try {
 			Job.getJobManager().join(jobFamily, monitor);
 		} catch (OperationCanceledException ignorable) {
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.ls.core.internal.handlers.LineIndex;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+
+/**
+ * Tracks the open documents handled as large files. A document is measured
+ * when it is opened: above the thresholds of the {@link Preferences}, only its
+ * syntax errors are reported, its semantic tokens are only computed for the
+ * requested ranges, and the inlay hints, code lenses and chain completions are
+ * turned off.
+ */
+public class LargeFilePolicy {
+
+	private final Map<ICompilationUnit, Measures> largeFiles = new ConcurrentHashMap<>();
+
+	public boolean isLargeFile(ITypeRoot typeRoot) {
+		return typeRoot != null && largeFiles.containsKey(typeRoot);
+	}
+
+	/**
+	 * Measures the given document against the thresholds of the given
+	 * preferences.
+	 *
+	 * @param unit
+	 *            the working copy of the document
+	 * @param preferences
+	 *            the preferences holding the thresholds
+	 * @return the measures of the document if its mode changed, or
+	 *         <code>null</code> otherwise
+	 * @throws JavaModelException
+	 */
+	public Measures update(ICompilationUnit unit, Preferences preferences) throws JavaModelException {
+		Measures measures = measure(unit, preferences);
+		Measures previous = measures.isLarge() ? largeFiles.put(unit, measures) : largeFiles.remove(unit);
+		return (previous != null) == measures.isLarge() ? null : measures;
+	}
+
+	public void remove(ICompilationUnit unit) {
+		largeFiles.remove(unit);
+	}
+
+	private static Measures measure(ICompilationUnit unit, Preferences preferences) throws JavaModelException {
+		IBuffer buffer = unit.getBuffer();
+		LineIndex lineIndex = buffer == null ? null : LineIndex.of(buffer);
+		if (lineIndex == null) {
+			return new Measures(0, 0, -1, false);
+		}
+		int characters = lineIndex.getLength();
+		int lines = lineIndex.getLineCount();
+		int maxCharacters = preferences.getLargeFileMaxCharacters();
+		int maxLines = preferences.getLargeFileMaxLines();
+		int maxAstNodes = preferences.getLargeFileMaxAstNodes();
+		boolean large = (maxCharacters > 0 && characters > maxCharacters) || (maxLines > 0 && lines > maxLines);
+		int astNodes = -1;
+		// counting the nodes takes a parse, which is only worth it for documents
+		// whose size is in the order of magnitude of the thresholds
+		if (!large && maxAstNodes > 0 && (maxCharacters <= 0 || characters > maxCharacters / 4)) {
+			astNodes = countNodes(unit, buffer);
+			large = astNodes > maxAstNodes;
+		}
+		return new Measures(characters, lines, astNodes, large);
+	}
+
+	private static int countNodes(ICompilationUnit unit, IBuffer buffer) {
+		ASTParser parser = ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+		parser.setSource(buffer.getCharacters());
+		parser.setUnitName(unit.getElementName());
+		parser.setCompilerOptions(unit.getJavaProject().getOptions(true));
+		parser.setResolveBindings(false);
+		int[] count = new int[1];
+		parser.createAST(new NullProgressMonitor()).accept(new ASTVisitor(true) {
+			@Override
+			public void preVisit(ASTNode node) {
+				count[0]++;
+			}
+		});
+		return count[0];
+	}
+
+	/**
+	 * The size of a document when it was opened.
+	 */
+	public static final class Measures {
+
+		private final int characters;
+		private final int lines;
+		private final int astNodes;
+		private final boolean large;
+
+		private Measures(int characters, int lines, int astNodes, boolean large) {
+			this.characters = characters;
+			this.lines = lines;
+			this.astNodes = astNodes;
+			this.large = large;
+		}
+
+		public boolean isLarge() {
+			return large;
+		}
+
+		/**
+		 * @return the data of the notification sent to the client, see
+		 *         {@link EventType#LargeFileModeChanged}
+		 */
+		public Map<String, Object> toData(String uri) {
+			Map<String, Object> data = new LinkedHashMap<>();
+			data.put("uri", uri);
+			data.put("largeFile", large);
+			data.put("characters", characters);
+			data.put("lines", lines);
+			if (astNodes >= 0) {
+				data.put("astNodes", astNodes);
+			}
+			return data;
+		}
+	}
+}
@@ -0,0 +1,556 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+import org.eclipse.jdt.core.search.TypeNameRequestor;
+
+/**
+ * Keeps the names of the types of the package fragment roots in memory, so
+ * type names are looked up without scanning the index files of the search
+ * engine. The names of a root are packed in a char array, and sorted by their
+ * lower case form and by their camel case humps, so a lookup is a binary
+ * search in each root of the classpath.
+ * <p>
+ * A root is indexed from the search engine the first time it's looked up. The
+ * libraries are shared by the projects they're on the classpath of. The index
+ * of a root is dropped when its content changes, or when the types of one of
+ * its compilation units are added, removed or renamed, and the roots of a
+ * project are read again when its classpath changes.
+ * </p>
+ */
+public class TypeNameIndex implements IElementChangedListener {
+
+	/**
+	 * The index of each root, by key
+	 */
+	private final Map<String, RootIndex> roots = new ConcurrentHashMap<>();
+
+	/**
+	 * The package fragment roots of each project, including the ones of its
+	 * required projects
+	 */
+	private final Map<IJavaProject, IPackageFragmentRoot[]> projects = new ConcurrentHashMap<>();
+
+	/**
+	 * Incremented when a root is dropped, so the index of a root built
+	 * meanwhile isn't kept
+	 */
+	private final AtomicLong modifications = new AtomicLong();
+
+	public void addElementChangedListener() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	public void removeElementChangedListener() {
+		JavaCore.removeElementChangedListener(this);
+		clear();
+	}
+
+	/**
+	 * Finds the types whose simple name matches the given pattern, like
+	 * {@link SearchPattern#R_CAMELCASE_MATCH}: when the pattern has an upper
+	 * case letter, it's a camel case pattern, and otherwise a case insensitive
+	 * prefix.
+	 *
+	 * @param projects
+	 *            the projects to search the classpath of
+	 * @param pattern
+	 *            the pattern of the simple type name
+	 * @param includeLibraries
+	 *            whether the types of the libraries are searched, or only the
+	 *            ones of the source folders
+	 * @param excludeTestCode
+	 *            whether the test source folders and libraries are skipped
+	 * @param requestor
+	 *            accepts the matching types. The search stops once the monitor
+	 *            is cancelled.
+	 * @throws OperationCanceledException
+	 *             if the monitor is cancelled
+	 */
+	public void find(IJavaProject[] projects, String pattern, boolean includeLibraries, boolean excludeTestCode, TypeNameMatchRequestor requestor, IProgressMonitor monitor) throws JavaModelException {
+		if (pattern.isEmpty()) {
+			return;
+		}
+		char[] chars = pattern.toCharArray();
+		boolean camelCase = !pattern.equals(pattern.toLowerCase());
+		for (IPackageFragmentRoot root : getRoots(projects, includeLibraries, excludeTestCode)) {
+			RootIndex index = getIndex(root, monitor);
+			if (camelCase) {
+				index.findCamelCase(root, chars, requestor, monitor);
+			} else {
+				index.findPrefix(root, chars, requestor, monitor);
+			}
+		}
+	}
+
+	/**
+	 * Finds the types whose qualification, i.e. the package and the enclosing
+	 * types, is equal to the given one, ignoring the case.
+	 *
+	 * @see #find(IJavaProject[], String, boolean, boolean,
+	 *      TypeNameMatchRequestor, IProgressMonitor)
+	 */
+	public void findInQualifier(IJavaProject[] projects, String qualifier, boolean includeLibraries, boolean excludeTestCode, TypeNameMatchRequestor requestor, IProgressMonitor monitor) throws JavaModelException {
+		for (IPackageFragmentRoot root : getRoots(projects, includeLibraries, excludeTestCode)) {
+			getIndex(root, monitor).findInQualifier(root, qualifier, requestor, monitor);
+		}
+	}
+
+	/**
+	 * @return the number of indexed types
+	 */
+	public int size() {
+		return roots.values().stream().mapToInt(RootIndex::size).sum();
+	}
+
+	public void clear() {
+		modifications.incrementAndGet();
+		roots.clear();
+		projects.clear();
+	}
+
+	/**
+	 * @return the roots of the classpath of the given projects. A library on
+	 *         the classpath of several projects is searched once.
+	 */
+	private Collection<IPackageFragmentRoot> getRoots(IJavaProject[] javaProjects, boolean includeLibraries, boolean excludeTestCode) throws JavaModelException {
+		Map<String, IPackageFragmentRoot> result = new LinkedHashMap<>();
+		for (IJavaProject project : javaProjects) {
+			IPackageFragmentRoot[] projectRoots = projects.get(project);
+			if (projectRoots == null) {
+				projectRoots = project.getAllPackageFragmentRoots();
+				projects.put(project, projectRoots);
+			}
+			for (IPackageFragmentRoot root : projectRoots) {
+				if (!includeLibraries && root.getKind() != IPackageFragmentRoot.K_SOURCE) {
+					continue;
+				}
+				if (excludeTestCode) {
+					IClasspathEntry entry = root.getResolvedClasspathEntry();
+					if (entry != null && entry.isTest()) {
+						continue;
+					}
+				}
+				result.putIfAbsent(getKey(root), root);
+			}
+		}
+		return result.values();
+	}
+
+	private RootIndex getIndex(IPackageFragmentRoot root, IProgressMonitor monitor) throws JavaModelException {
+		String key = getKey(root);
+		RootIndex index = roots.get(key);
+		if (index == null) {
+			long modification = modifications.get();
+			Builder builder = new Builder(root.getKind() == IPackageFragmentRoot.K_SOURCE);
+			new SearchEngine().searchAllTypeNames(null, SearchPattern.R_PATTERN_MATCH, null, SearchPattern.R_PATTERN_MATCH, IJavaSearchConstants.TYPE, SearchEngine.createJavaSearchScope(new IJavaElement[] { root }), builder,
+					IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+			index = builder.build();
+			if (modifications.get() == modification) {
+				roots.put(key, index);
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * The libraries are shared by the projects they're on the classpath of,
+	 * while the types of a source folder are looked up from its project.
+	 */
+	private static String getKey(IPackageFragmentRoot root) throws JavaModelException {
+		if (root.getKind() == IPackageFragmentRoot.K_BINARY && root.isArchive()) {
+			return root.getPath() + "|" + root.getElementName();
+		}
+		return root.getHandleIdentifier();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		processDelta(event.getDelta());
+	}
+
+	private void processDelta(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		int flags = delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_CLOSED)) != 0) {
+					// the roots of the projects requiring it change too
+					projects.clear();
+				}
+				if (delta.getKind() == IJavaElementDelta.REMOVED || (flags & IJavaElementDelta.F_CLOSED) != 0) {
+					String prefix = element.getHandleIdentifier() + "/";
+					modifications.incrementAndGet();
+					roots.keySet().removeIf(key -> key.startsWith(prefix));
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+					invalidate((IPackageFragmentRoot) element);
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					invalidate((IPackageFragmentRoot) element.getParent());
+					return;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || changesTypes(delta)) {
+					invalidate((IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT));
+				}
+				return;
+			default:
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			processDelta(child);
+		}
+	}
+
+	private static boolean changesTypes(IJavaElementDelta delta) {
+		int flags = delta.getFlags();
+		if ((flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+			return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (child.getElement().getElementType() == IJavaElement.TYPE) {
+				if (child.getKind() != IJavaElementDelta.CHANGED || (child.getFlags() & IJavaElementDelta.F_MODIFIERS) != 0 || changesTypes(child)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void invalidate(IPackageFragmentRoot root) {
+		if (root == null) {
+			return;
+		}
+		modifications.incrementAndGet();
+		try {
+			roots.remove(getKey(root));
+		} catch (JavaModelException e) {
+			// the root doesn't exist anymore
+			roots.remove(root.getHandleIdentifier());
+			roots.keySet().removeIf(key -> key.startsWith(root.getPath() + "|"));
+		}
+	}
+
+	/**
+	 * The types of a package fragment root. The type i is named
+	 * <code>names[offsets[i]..offsets[i + 1]]</code>, and its camel case humps,
+	 * i.e. its first letter and its upper case letters, are
+	 * <code>humps[humpOffsets[i]..humpOffsets[i + 1]]</code>.
+	 */
+	private static final class RootIndex {
+
+		private final char[] names;
+		private final int[] offsets;
+		private final char[] humps;
+		private final int[] humpOffsets;
+		private final int[] modifiers;
+		private final String[] packages;
+		private final int[] packageIds;
+		/**
+		 * The dot-separated enclosing types, the first one being empty
+		 */
+		private final String[] enclosings;
+		private final int[] enclosingIds;
+		/**
+		 * The names of the compilation units, <code>null</code> in a library
+		 */
+		private final String[] units;
+		private final int[] unitIds;
+		/**
+		 * The types, sorted by the lower case form of their name
+		 */
+		private final int[] byName;
+		/**
+		 * The types, sorted by their camel case humps
+		 */
+		private final int[] byHumps;
+
+		private RootIndex(Builder builder) {
+			int size = builder.names.size();
+			int length = builder.names.stream().mapToInt(String::length).sum();
+			names = new char[length];
+			offsets = new int[size + 1];
+			StringBuilder allHumps = new StringBuilder();
+			humpOffsets = new int[size + 1];
+			for (int i = 0, offset = 0; i < size; i++) {
+				String name = builder.names.get(i);
+				name.getChars(0, name.length(), names, offset);
+				offset += name.length();
+				offsets[i + 1] = offset;
+				appendHumps(allHumps, name.toCharArray());
+				humpOffsets[i + 1] = allHumps.length();
+			}
+			humps = allHumps.toString().toCharArray();
+			modifiers = toArray(builder.modifiers);
+			packages = new String[builder.packages.size()];
+			builder.packages.forEach((name, id) -> packages[id] = name);
+			packageIds = toArray(builder.packageIds);
+			enclosings = new String[builder.enclosings.size()];
+			builder.enclosings.forEach((name, id) -> enclosings[id] = name);
+			enclosingIds = toArray(builder.enclosingIds);
+			if (builder.units == null) {
+				units = null;
+				unitIds = null;
+			} else {
+				units = new String[builder.units.size()];
+				builder.units.forEach((name, id) -> units[id] = name);
+				unitIds = toArray(builder.unitIds);
+			}
+			byName = sort(size, (a, b) -> compare(names, offsets, a, names, offsets[b], offsets[b + 1], true));
+			byHumps = sort(size, (a, b) -> compare(humps, humpOffsets, a, humps, humpOffsets[b], humpOffsets[b + 1], false));
+		}
+
+		private int size() {
+			return modifiers.length;
+		}
+
+		private void findPrefix(IPackageFragmentRoot root, char[] prefix, TypeNameMatchRequestor requestor, IProgressMonitor monitor) {
+			for (int i = lowerBound(byName, names, offsets, prefix, true); i < byName.length; i++) {
+				int type = byName[i];
+				if (!startsWith(names, offsets, type, prefix, true)) {
+					break;
+				}
+				accept(root, type, requestor, monitor);
+			}
+		}
+
+		private void findCamelCase(IPackageFragmentRoot root, char[] pattern, TypeNameMatchRequestor requestor, IProgressMonitor monitor) {
+			StringBuilder builder = new StringBuilder();
+			appendHumps(builder, pattern);
+			char[] patternHumps = builder.toString().toCharArray();
+			// the humps of the pattern are a prefix of the humps of the matching names
+			for (int i = lowerBound(byHumps, humps, humpOffsets, patternHumps, false); i < byHumps.length; i++) {
+				int type = byHumps[i];
+				if (!startsWith(humps, humpOffsets, type, patternHumps, false)) {
+					break;
+				}
+				if (CharOperation.camelCaseMatch(pattern, 0, pattern.length, names, offsets[type], offsets[type + 1])) {
+					accept(root, type, requestor, monitor);
+				}
+			}
+		}
+
+		private void findInQualifier(IPackageFragmentRoot root, String qualifier, TypeNameMatchRequestor requestor, IProgressMonitor monitor) {
+			boolean[] topLevel = new boolean[packages.length];
+			boolean[] member = new boolean[packages.length];
+			boolean any = false;
+			for (int i = 0; i < packages.length; i++) {
+				topLevel[i] = packages[i].equalsIgnoreCase(qualifier);
+				member[i] = qualifier.length() > packages[i].length() && (packages[i].isEmpty() || qualifier.regionMatches(true, 0, packages[i] + ".", 0, packages[i].length() + 1));
+				any |= topLevel[i] || member[i];
+			}
+			if (!any) {
+				return;
+			}
+			for (int type = 0; type < size(); type++) {
+				int packageId = packageIds[type];
+				String enclosing = enclosings[enclosingIds[type]];
+				if (enclosing.isEmpty() ? topLevel[packageId] : member[packageId] && getQualifier(type).equalsIgnoreCase(qualifier)) {
+					accept(root, type, requestor, monitor);
+				}
+			}
+		}
+
+		private String getQualifier(int type) {
+			String packageName = packages[packageIds[type]];
+			String enclosing = enclosings[enclosingIds[type]];
+			if (enclosing.isEmpty()) {
+				return packageName;
+			}
+			return packageName.isEmpty() ? enclosing : packageName + "." + enclosing;
+		}
+
+		private void accept(IPackageFragmentRoot root, int type, TypeNameMatchRequestor requestor, IProgressMonitor monitor) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			requestor.acceptTypeNameMatch(SearchEngine.createTypeNameMatch(getType(root, type), modifiers[type]));
+		}
+
+		private IType getType(IPackageFragmentRoot root, int type) {
+			IPackageFragment fragment = root.getPackageFragment(packages[packageIds[type]]);
+			String name = new String(names, offsets[type], offsets[type + 1] - offsets[type]);
+			String enclosing = enclosings[enclosingIds[type]];
+			if (units == null) {
+				String binaryName = enclosing.isEmpty() ? name : enclosing.replace('.', '$') + '$' + name;
+				return fragment.getOrdinaryClassFile(binaryName + ".class").getType();
+			}
+			ICompilationUnit unit = fragment.getCompilationUnit(units[unitIds[type]]);
+			IType parent = null;
+			if (!enclosing.isEmpty()) {
+				for (String enclosingName : enclosing.split("\\.")) {
+					parent = parent == null ? unit.getType(enclosingName) : parent.getType(enclosingName);
+				}
+			}
+			return parent == null ? unit.getType(name) : parent.getType(name);
+		}
+
+		/**
+		 * Appends the first letter of the given name, and its upper case
+		 * letters.
+		 */
+		private static void appendHumps(StringBuilder builder, char[] name) {
+			for (int i = 0; i < name.length; i++) {
+				if (i == 0 || Character.isUpperCase(name[i])) {
+					builder.append(name[i]);
+				}
+			}
+		}
+
+		/**
+		 * @return the first position of the sorted types whose key isn't
+		 *         lower than the given one
+		 */
+		private static int lowerBound(int[] sorted, char[] chars, int[] offsets, char[] key, boolean ignoreCase) {
+			int low = 0;
+			int high = sorted.length;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (compare(chars, offsets, sorted[middle], key, 0, key.length, ignoreCase) < 0) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+		private static int compare(char[] chars, int[] offsets, int type, char[] other, int start, int end, boolean ignoreCase) {
+			int i = offsets[type];
+			int typeEnd = offsets[type + 1];
+			for (int j = start; i < typeEnd && j < end; i++, j++) {
+				char c1 = ignoreCase ? Character.toLowerCase(chars[i]) : chars[i];
+				char c2 = ignoreCase ? Character.toLowerCase(other[j]) : other[j];
+				if (c1 != c2) {
+					return c1 - c2;
+				}
+			}
+			return (typeEnd - offsets[type]) - (end - start);
+		}
+
+		private static boolean startsWith(char[] chars, int[] offsets, int type, char[] prefix, boolean ignoreCase) {
+			int start = offsets[type];
+			if (offsets[type + 1] - start < prefix.length) {
+				return false;
+			}
+			for (int i = 0; i < prefix.length; i++) {
+				char c = chars[start + i];
+				if (ignoreCase ? Character.toLowerCase(c) != Character.toLowerCase(prefix[i]) : c != prefix[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static int[] sort(int size, Comparator<Integer> comparator) {
+			Integer[] types = new Integer[size];
+			for (int i = 0; i < size; i++) {
+				types[i] = i;
+			}
+			Arrays.sort(types, comparator);
+			int[] result = new int[size];
+			for (int i = 0; i < size; i++) {
+				result[i] = types[i];
+			}
+			return result;
+		}
+
+		private static int[] toArray(List<Integer> values) {
+			return values.stream().mapToInt(Integer::intValue).toArray();
+		}
+	}
+
+	/**
+	 * Collects the types of a root from the search engine.
+	 */
+	private static final class Builder extends TypeNameRequestor {
+
+		private final List<String> names = new ArrayList<>();
+		private final List<Integer> modifiers = new ArrayList<>();
+		private final Map<String, Integer> packages = new HashMap<>();
+		private final List<Integer> packageIds = new ArrayList<>();
+		private final Map<String, Integer> enclosings = new HashMap<>();
+		private final List<Integer> enclosingIds = new ArrayList<>();
+		private final Map<String, Integer> units;
+		private final List<Integer> unitIds;
+
+		private Builder(boolean source) {
+			enclosings.put("", 0);
+			units = source ? new HashMap<>() : null;
+			unitIds = source ? new ArrayList<>() : null;
+		}
+
+		@Override
+		public void acceptType(int modifiers, char[] packageName, char[] simpleTypeName, char[][] enclosingTypeNames, String path) {
+			if (simpleTypeName == null || simpleTypeName.length == 0 || !Character.isJavaIdentifierStart(simpleTypeName[0])) {
+				// anonymous or local
+				return;
+			}
+			for (char[] enclosingTypeName : enclosingTypeNames) {
+				if (enclosingTypeName.length == 0 || !Character.isJavaIdentifierStart(enclosingTypeName[0])) {
+					return;
+				}
+			}
+			names.add(new String(simpleTypeName));
+			this.modifiers.add(modifiers);
+			packageIds.add(packages.computeIfAbsent(new String(packageName), name -> packages.size()));
+			enclosingIds.add(enclosings.computeIfAbsent(new String(CharOperation.concatWith(enclosingTypeNames, '.')), name -> enclosings.size()));
+			if (units != null) {
+				unitIds.add(units.computeIfAbsent(path.substring(path.lastIndexOf('/') + 1), name -> units.size()));
+			}
+		}
+
+		private RootIndex build() {
+			return new RootIndex(this);
+		}
+	}
+}
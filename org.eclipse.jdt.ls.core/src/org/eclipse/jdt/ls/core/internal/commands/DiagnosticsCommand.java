@@ -41,6 +41,7 @@ import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.handlers.DiagnosticsHandler;
 import org.eclipse.jdt.ls.core.internal.handlers.DocumentLifeCycleHandler;
+import org.eclipse.jdt.ls.core.internal.handlers.JDTLanguageServer;
 
 public class DiagnosticsCommand {
 
@@ -68,6 +69,17 @@ public class DiagnosticsCommand {
 		return null;
 	}
 
+	/**
+	 * @return the latency statistics and the debounce delays of the
+	 *         validation of the open documents
+	 */
+	public static Object getDebounceStatistics() {
+		if (JavaLanguageServerPlugin.getInstance().getProtocol() instanceof JDTLanguageServer server && server.getDocumentLifeCycleHandler() != null) {
+			return server.getDocumentLifeCycleHandler().getDebounceController().getStatistics();
+		}
+		return null;
+	}
+
 	private static void refreshDiagnostics(final ICompilationUnit target) {
 		final JavaClientConnection connection = JavaLanguageServerPlugin.getInstance().getClientConnection();
 		if (connection == null) {
@@ -14,23 +14,36 @@ package org.eclipse.jdt.ls.core.internal.contentassist;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.CompletionContext;
 import org.eclipse.jdt.core.CompletionProposal;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.ILocalVariable;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
@@ -52,17 +65,43 @@ import org.eclipse.jdt.internal.ui.text.ChainElementAnalyzer;
 import org.eclipse.jdt.internal.ui.text.ChainFinder;
 import org.eclipse.jdt.internal.ui.text.ChainType;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 
 public class ChainCompletionProposalComputer {
 
 	private static final char[] KEYWORD_NEW = "new".toCharArray();
 
+	/**
+	 * The main and the context searches of a request run in parallel
+	 */
+	private static final int MAX_THREADS = 2;
+
+	/**
+	 * The searches waiting for a thread, from requests typed in quick
+	 * succession. Beyond that, requests get no chain completions.
+	 */
+	private static final int MAX_QUEUED_SEARCHES = 8;
+
+	private static final long CANCELLATION_CHECK_INTERVAL = 50;
+
+	private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+	private static final AtomicLong searches = new AtomicLong();
+	private static final AtomicLong cacheHits = new AtomicLong();
+	private static final AtomicLong timeouts = new AtomicLong();
+	private static final AtomicLong cancelled = new AtomicLong();
+	private static final AtomicLong rejected = new AtomicLong();
+
 	private List<ChainElement> entrypoints;
 
 	private String[] excludedTypes;
 
 	private ICompilationUnit cu;
 
+	private IType invocationType;
+
+	private String token;
+
 	private CompletionProposalRequestor coll;
 
 	private boolean snippetStringSupported;
@@ -73,13 +112,32 @@ public class ChainCompletionProposalComputer {
 		this.snippetStringSupported = snippetStringSupported;
 	}
 
-	public void computeCompletionProposals() {
+	public void computeCompletionProposals(IProgressMonitor monitor) {
 		if (shouldPerformCompletionOnExpectedType()) {
-			executeCallChainSearch();
+			executeCallChainSearch(monitor);
 		}
 	}
 
-	private void executeCallChainSearch() {
+	/**
+	 * @return the counters of the chain searches and the load of their executor
+	 */
+	public static Map<String, Object> getStatistics() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("searches", searches.get());
+		result.put("cacheHits", cacheHits.get());
+		result.put("timeouts", timeouts.get());
+		result.put("cancelled", cancelled.get());
+		result.put("rejected", rejected.get());
+		result.put("activeThreads", EXECUTOR.getActiveCount());
+		result.put("queuedSearches", EXECUTOR.getQueue().size());
+		ChainSearchCache cache = JavaLanguageServerPlugin.getChainSearchCache();
+		result.put("cachedSearches", cache == null ? 0 : cache.size());
+		TypeReachabilityIndex index = JavaLanguageServerPlugin.getTypeReachabilityIndex();
+		result.put("indexedTypes", index == null ? 0 : index.size());
+		return result;
+	}
+
+	private void executeCallChainSearch(IProgressMonitor monitor) {
 		final int maxChains = Integer.parseInt(JavaManipulation.getPreference("recommenders.chain.max_chains", cu.getJavaProject()));
 		final int minDepth = Integer.parseInt(JavaManipulation.getPreference("recommenders.chain.min_chain_length", cu.getJavaProject()));
 		final int maxDepth = Integer.parseInt(JavaManipulation.getPreference("recommenders.chain.max_chain_length", cu.getJavaProject()));
@@ -89,45 +147,196 @@ public class ChainCompletionProposalComputer {
 			excludedTypes[i] = "L" + excludedTypes[i].replace('.', '/');
 		}
 
-		final IType invocationType = cu.findPrimaryType();
+		invocationType = cu.findPrimaryType();
 
-		final String token = (coll.getContext().getToken() != null && coll.getContext().getToken().length > 0) ? String.valueOf(coll.getContext().getToken()) : null;
+		token = (coll.getContext().getToken() != null && coll.getContext().getToken().length > 0) ? String.valueOf(coll.getContext().getToken()) : null;
 		final List<ChainType> expectedTypes = resolveBindingsForExpectedTypes(cu.getJavaProject(), coll.getContext());
-		final ChainFinder mainFinder = new ChainFinder(expectedTypes, Arrays.asList(excludedTypes), invocationType, token);
-		final ChainFinder contextFinder = new ChainFinder(expectedTypes, Arrays.asList(excludedTypes), invocationType, token);
-		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		// the chains are cached for any token, they're filtered by the token once found
+		final ChainFinder mainFinder = new ChainFinder(expectedTypes, Arrays.asList(excludedTypes), invocationType, null);
+		final ChainFinder contextFinder = new ChainFinder(expectedTypes, Arrays.asList(excludedTypes), invocationType, null);
+		final IProgressMonitor searchMonitor = new NullProgressMonitor();
+		CompletableFuture<List<Chain>> mainChains = null;
+		CompletableFuture<List<Chain>> contextChains = null;
+		searches.incrementAndGet();
 		try {
-			CompletableFuture<Void> mainChains = CompletableFuture.runAsync(() -> {
+			mainChains = CompletableFuture.supplyAsync(() -> {
 				if (findEntrypoints(expectedTypes, cu.getJavaProject())) {
-					mainFinder.startChainSearch(entrypoints, maxChains, minDepth, maxDepth);
+					return search(entrypoints, maxChains, minDepth, maxDepth, searchMonitor, () -> findChains(mainFinder, maxChains, minDepth, maxDepth, searchMonitor));
 				}
-			}, executor);
+				return Collections.emptyList();
+			}, EXECUTOR);
 
-			CompletableFuture<Void> contextChains = CompletableFuture.runAsync(() -> {
+			contextChains = CompletableFuture.supplyAsync(() -> {
 				try {
 					List<ChainElement> contextEntrypoint = computeContextEntrypoint(expectedTypes, cu.getJavaProject());
 					if (!contextEntrypoint.isEmpty()) {
-						contextFinder.startChainSearch(contextEntrypoint, maxChains, 1, 2);
+						return search(contextEntrypoint, maxChains, 1, 2, searchMonitor, () -> {
+							contextFinder.startChainSearch(contextEntrypoint, maxChains, 1, 2);
+							return contextFinder.getChains();
+						});
 					}
 				} catch (JavaModelException e) {
 					// ignore
 				}
-			}, executor);
+				return Collections.emptyList();
+			}, EXECUTOR);
 
-			CompletableFuture<?> future = CompletableFuture.allOf(mainChains, contextChains);
 			long timeout = Long.parseLong(JavaManipulation.getPreference("recommenders.chain.timeout", cu.getJavaProject()));
-			future.get(timeout, TimeUnit.SECONDS);
+			await(CompletableFuture.allOf(mainChains, contextChains), TimeUnit.SECONDS.toMillis(timeout), monitor);
+		} catch (TimeoutException e) {
+			timeouts.incrementAndGet();
+		} catch (OperationCanceledException e) {
+			cancelled.incrementAndGet();
+		} catch (RejectedExecutionException e) {
+			rejected.incrementAndGet();
 		} catch (final Exception e) {
-			mainFinder.cancel();
-			contextFinder.cancel();
-			executor.shutdownNow();
+			// ignore
+		} finally {
+			if (!isDone(mainChains) || !isDone(contextChains)) {
+				// the searches mustn't keep a thread of the executor once the request is answered
+				searchMonitor.setCanceled(true);
+				mainFinder.cancel();
+				contextFinder.cancel();
+				if (mainChains != null) {
+					mainChains.cancel(true);
+				}
+				if (contextChains != null) {
+					contextChains.cancel(true);
+				}
+			}
+		}
+		if (monitor.isCanceled()) {
+			return;
 		}
 		List<Chain> found = new ArrayList<>();
-		found.addAll(mainFinder.getChains());
-		found.addAll(contextFinder.getChains());
+		found.addAll(getChains(mainChains, mainFinder));
+		found.addAll(getChains(contextChains, contextFinder));
+		found.removeIf(chain -> !matchesToken(chain));
 		buildCompletionProposals(found);
 	}
 
+	/**
+	 * Looks up the chains of the given search in the cache of the project, or
+	 * runs the search. The chains of a cancelled search may be incomplete, they
+	 * aren't cached.
+	 */
+	private List<Chain> search(List<ChainElement> entrypoints, int maxChains, int minDepth, int maxDepth, IProgressMonitor searchMonitor, Supplier<List<Chain>> finder) {
+		IJavaProject project = cu.getJavaProject();
+		ChainSearchCache cache = JavaLanguageServerPlugin.getChainSearchCache();
+		ChainSearchCache.Key key = new ChainSearchCache.Key(getExpectedTypeSignatures(), entrypoints.stream().map(e -> getIdentifier(e.getElement())).toList(),
+				invocationType == null ? null : invocationType.getHandleIdentifier(), Arrays.asList(excludedTypes), maxChains, minDepth, maxDepth);
+		List<Chain> chains = cache == null ? null : cache.get(project, key);
+		if (chains != null) {
+			cacheHits.incrementAndGet();
+			return chains;
+		}
+		chains = finder.get();
+		if (cache != null && !searchMonitor.isCanceled()) {
+			cache.put(project, key, chains);
+		}
+		return chains;
+	}
+
+	/**
+	 * Finds the chains from the entry points with the type reachability index,
+	 * or with the given finder when the expected types can't be resolved.
+	 */
+	private List<Chain> findChains(ChainFinder finder, int maxChains, int minDepth, int maxDepth, IProgressMonitor searchMonitor) {
+		TypeReachabilityIndex index = JavaLanguageServerPlugin.getTypeReachabilityIndex();
+		if (index != null) {
+			try {
+				List<Chain> chains = index.findChains(cu.getJavaProject(), invocationType, entrypoints, coll.getContext().getExpectedTypesSignatures(), Arrays.asList(excludedTypes), maxChains, minDepth, maxDepth, searchMonitor);
+				if (chains != null) {
+					return chains;
+				}
+			} catch (JavaModelException e) {
+				JavaLanguageServerPlugin.logException("Failed to find chains in the type reachability index", e);
+			}
+		}
+		finder.startChainSearch(entrypoints, maxChains, minDepth, maxDepth);
+		return finder.getChains();
+	}
+
+	/**
+	 * @return the handle identifier of the given element, or for a local
+	 *         variable, whose handle identifier holds its position, the one of
+	 *         its declaring member with its name and type
+	 */
+	private static String getIdentifier(IJavaElement element) {
+		if (element instanceof ILocalVariable variable) {
+			return variable.getParent().getHandleIdentifier() + '#' + variable.getElementName() + '#' + variable.getTypeSignature();
+		}
+		return element.getHandleIdentifier();
+	}
+
+	/**
+	 * @return whether the first member of the given chain, after its type if it
+	 *         starts from one, starts with the completion token
+	 */
+	private boolean matchesToken(Chain chain) {
+		if (token == null) {
+			return true;
+		}
+		for (ChainElement element : chain.getElements()) {
+			if (element.getElementType() != ElementType.TYPE) {
+				return element.getElement().getElementName().startsWith(token);
+			}
+		}
+		return false;
+	}
+
+	private List<String> getExpectedTypeSignatures() {
+		char[][] signatures = coll.getContext().getExpectedTypesSignatures();
+		return signatures == null ? Collections.emptyList() : Stream.of(signatures).map(String::valueOf).toList();
+	}
+
+	/**
+	 * Waits for the given future, checking the monitor of the completion request
+	 * in between.
+	 */
+	private static void await(CompletableFuture<?> future, long timeout, IProgressMonitor monitor) throws InterruptedException, ExecutionException, TimeoutException {
+		long deadline = System.currentTimeMillis() + timeout;
+		while (true) {
+			try {
+				future.get(Math.max(Math.min(CANCELLATION_CHECK_INTERVAL, deadline - System.currentTimeMillis()), 0), TimeUnit.MILLISECONDS);
+				return;
+			} catch (TimeoutException e) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				if (System.currentTimeMillis() >= deadline) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	private static boolean isDone(CompletableFuture<?> future) {
+		return future != null && future.isDone();
+	}
+
+	/**
+	 * @return the chains of a completed search, or the chains found so far by
+	 *         the finder of a cancelled one
+	 */
+	private static List<Chain> getChains(CompletableFuture<List<Chain>> future, ChainFinder finder) {
+		if (isDone(future) && !future.isCompletedExceptionally()) {
+			return future.join();
+		}
+		return finder.getChains();
+	}
+
+	private static ThreadPoolExecutor createExecutor() {
+		AtomicInteger threadCount = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(MAX_QUEUED_SEARCHES), r -> {
+			Thread thread = new Thread(r, "Chain Completion Search-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
 	private void buildCompletionProposals(final List<Chain> chains) {
 		for (final Chain chain : chains) {
 			try {
@@ -314,7 +523,11 @@ public class ChainCompletionProposalComputer {
 	private ChainText createChainText(final Chain chain, final int expectedDimension) throws JavaModelException {
 		StringBuilder insertText = new StringBuilder(64);
 		StringBuilder displayText = new StringBuilder(64);
-		for (final ChainElement edge : chain.getElements()) {
+		List<ChainElement> elements = chain.getElements();
+		for (int i = 0; i < elements.size(); i++) {
+			final ChainElement edge = elements.get(i);
+			// the members are accessed on the elements of an array, only the last one may stay an array
+			int elementDimension = i == elements.size() - 1 ? expectedDimension : 0;
 			switch (edge.getElementType()) {
 				case FIELD:
 				case TYPE:
@@ -331,10 +544,10 @@ public class ChainCompletionProposalComputer {
 					break;
 				default:
 			}
-			appendArrayDimensions(insertText, edge.getReturnTypeDimension(), expectedDimension, snippetStringSupported);
+			appendArrayDimensions(insertText, edge.getReturnTypeDimension(), elementDimension, snippetStringSupported);
 			insertText.append(".");
 
-			appendArrayDimensions(displayText, edge.getReturnTypeDimension(), expectedDimension, false);
+			appendArrayDimensions(displayText, edge.getReturnTypeDimension(), elementDimension, false);
 			displayText.append(".");
 		}
 		deleteLastChar(insertText);
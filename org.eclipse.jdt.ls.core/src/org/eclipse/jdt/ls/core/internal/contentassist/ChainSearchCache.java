@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.contentassist;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.ui.text.Chain;
+
+/**
+ * Caches the chains found by the chain completion, per project. A search is
+ * identified by its expected types, its entry points and its limits, so
+ * repeating it at the same location, or from the same members, is a lookup.
+ * The chains of a project are dropped when its classpath or the structure of
+ * one of its types changes, or the structure of a type of a project it
+ * requires, directly or not. Changes inside method bodies keep the cache. The
+ * chains are found for any completion token, they're filtered by the token of
+ * each request.
+ */
+public class ChainSearchCache implements IElementChangedListener {
+
+	/**
+	 * The number of searches kept per project
+	 */
+	private static final int MAX_SEARCHES = 64;
+
+	private final Map<IJavaProject, Map<Key, List<Chain>>> projects = new ConcurrentHashMap<>();
+
+	public void addElementChangedListener() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	public void removeElementChangedListener() {
+		JavaCore.removeElementChangedListener(this);
+	}
+
+	/**
+	 * @return the chains of the given search, or <code>null</code> if it isn't
+	 *         cached
+	 */
+	public List<Chain> get(IJavaProject project, Key key) {
+		Map<Key, List<Chain>> searches = projects.get(project);
+		if (searches == null) {
+			return null;
+		}
+		synchronized (searches) {
+			return searches.get(key);
+		}
+	}
+
+	/**
+	 * Caches the chains of a search which wasn't cancelled.
+	 */
+	public void put(IJavaProject project, Key key, List<Chain> chains) {
+		Map<Key, List<Chain>> searches = projects.computeIfAbsent(project, p -> new LinkedHashMap<Key, List<Chain>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, List<Chain>> eldest) {
+				return size() > MAX_SEARCHES;
+			}
+		});
+		synchronized (searches) {
+			searches.put(key, List.copyOf(chains));
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for (Map<Key, List<Chain>> searches : projects.values()) {
+			synchronized (searches) {
+				size += searches.size();
+			}
+		}
+		return size;
+	}
+
+	public void clear() {
+		projects.clear();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (projects.isEmpty()) {
+			return;
+		}
+		Set<IJavaProject> changed = new HashSet<>();
+		processDelta(event.getDelta(), changed);
+		if (changed.isEmpty()) {
+			return;
+		}
+		for (IJavaProject project : projects.keySet()) {
+			if (changed.contains(project) || requiresAny(project, changed)) {
+				projects.remove(project);
+			}
+		}
+	}
+
+	/**
+	 * @return whether the given project requires one of the changed projects,
+	 *         following the required projects transitively
+	 */
+	private static boolean requiresAny(IJavaProject project, Set<IJavaProject> changed) {
+		Set<String> changedNames = new HashSet<>();
+		for (IJavaProject p : changed) {
+			changedNames.add(p.getElementName());
+		}
+		Set<String> visited = new HashSet<>();
+		Deque<IJavaProject> pending = new ArrayDeque<>();
+		pending.add(project);
+		try {
+			while (!pending.isEmpty()) {
+				for (String name : pending.poll().getRequiredProjectNames()) {
+					if (changedNames.contains(name)) {
+						return true;
+					}
+					if (visited.add(name)) {
+						IJavaProject required = project.getJavaModel().getJavaProject(name);
+						if (required.exists()) {
+							pending.add(required);
+						}
+					}
+				}
+			}
+		} catch (JavaModelException e) {
+			return true;
+		}
+		return false;
+	}
+
+	private static void processDelta(IJavaElementDelta delta, Set<IJavaProject> changed) {
+		IJavaElement element = delta.getElement();
+		int flags = delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				processDeltaChildren(delta, changed);
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+					changed.add(element.getJavaProject());
+				} else {
+					processDeltaChildren(delta, changed);
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+					changed.add(element.getJavaProject());
+				} else {
+					processDeltaChildren(delta, changed);
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				// a fine grained delta without children only changed method bodies
+				if (delta.getKind() != IJavaElementDelta.CHANGED || delta.getAffectedChildren().length > 0
+						|| ((flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0)) {
+					changed.add(element.getJavaProject());
+				}
+				break;
+			default:
+				break;
+		}
+	}
+
+	private static void processDeltaChildren(IJavaElementDelta delta, Set<IJavaProject> changed) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			processDelta(child, changed);
+		}
+	}
+
+	/**
+	 * Identifies a chain search.
+	 *
+	 * @param expectedTypes
+	 *            the signatures of the expected types
+	 * @param entrypoints
+	 *            the identifiers of the elements the chains start from, which
+	 *            don't depend on the position of the local variables
+	 * @param invocationType
+	 *            the handle identifier of the type the completion is invoked in
+	 * @param excludedTypes
+	 *            the signatures of the types excluded from the chains
+	 */
+	public record Key(List<String> expectedTypes, List<String> entrypoints, String invocationType, List<String> excludedTypes, int maxChains, int minDepth, int maxDepth) {
+	}
+}
@@ -711,8 +711,9 @@ public class CompletionProposalReplacementProvider {
 		int count = parameterNames.length;
 		String[] result = new String[count];
 		String[] parameterTypes = getParameterTypes(proposal);
-		IJavaElement[][] assignableElements = getAssignableElements(proposal);
-		ParameterGuesser guesser = new ParameterGuesser(compilationUnit);
+		ParameterGuesser.Scope scope = ParameterGuesser.Scope.of(context, compilationUnit);
+		IJavaElement[][] assignableElements = getAssignableElements(proposal, scope);
+		ParameterGuesser guesser = new ParameterGuesser(compilationUnit, scope);
 		for (int i = count - 1; i >= 0; i--) {
 			String paramName = new String(parameterNames[i]);
 			String argumentProposal = guesser.parameterProposals(parameterTypes[i], paramName, assignableElements[i]);
@@ -743,13 +744,13 @@ public class CompletionProposalReplacementProvider {
 	/*
 	 * Orginally copied from org.eclipse.jdt.internal.ui.text.java.ParameterGuessingProposal.getAssignableElements()
 	 */
-	private IJavaElement[][] getAssignableElements(CompletionProposal proposal) {
+	private IJavaElement[][] getAssignableElements(CompletionProposal proposal, ParameterGuesser.Scope scope) {
 		char[] signature = SignatureUtil.fix83600(proposal.getSignature());
 		char[][] types = Signature.getParameterTypes(signature);
 
 		IJavaElement[][] assignableElements = new IJavaElement[types.length][];
 		for (int i = 0; i < types.length; i++) {
-			assignableElements[i] = context.getVisibleElements(new String(types[i]));
+			assignableElements[i] = scope.getVisibleElements(new String(types[i]));
 		}
 		return assignableElements;
 	}
@@ -12,6 +12,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.contentassist;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -37,12 +39,13 @@ import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.Signature;
+import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.corext.template.java.SignatureUtil;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
 import org.eclipse.jdt.ls.core.contentassist.CompletionRanking;
-import org.eclipse.jdt.ls.core.contentassist.ICompletionRankingProvider;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionContributionService;
@@ -52,6 +55,9 @@ import org.eclipse.jdt.ls.core.internal.handlers.CompletionRankingAggregation;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionResolveHandler;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionResponse;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionResponses;
+import org.eclipse.jdt.ls.core.internal.handlers.CompletionStatistics;
+import org.eclipse.jdt.ls.core.internal.handlers.CompletionStatistics.Phase;
+import org.eclipse.jdt.ls.core.internal.preferences.ClientPreferences;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemDefaults;
@@ -69,6 +75,8 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 	private List<CompletionProposal> proposals = new ArrayList<>();
 	// Cache to store all the types that has been collapsed, due to off mode of argument guessing.
 	private Map<String, Integer> collapsedTypes = new HashMap<>();
+	// The scores added by the ranking providers, to rank the proposals again when they are refined.
+	private Map<CompletionProposal, Integer> rankingScores = new HashMap<>();
 	private final ICompilationUnit unit;
 	private final String uri; // URI of this.unit, used in future "resolve" requests
 	private CompletionProposalDescriptionProvider descriptionProvider;
@@ -259,13 +267,16 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 	}
 
 	public List<CompletionItem> getCompletionItems(IProgressMonitor monitor) {
+		long start = System.nanoTime();
 		CompletionRankingAggregation[] aggregatedRanks = getAggregatedRankingResult(monitor);
+		CompletionStatistics.record(Phase.RANKING, start);
 		for (int i = 0; i < proposals.size(); i++) {
 			CompletionProposal proposal = proposals.get(i);
 			if (aggregatedRanks[i] != null) {
 				// we assume there won't be overflow for now since the the score from
 				// each provider can only be 100 at most.
 				proposal.setRelevance(proposal.getRelevance() + aggregatedRanks[i].getScore());
+				rankingScores.put(proposal, aggregatedRanks[i].getScore());
 			}
 		}
 		Map<CompletionProposal, CompletionRankingAggregation> proposalToRankingResult = new HashMap<>();
@@ -276,12 +287,18 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 		proposals.sort(new ProposalComparator(proposals.size()));
 		int maxCompletions = preferenceManager.getPreferences().getMaxCompletionResults();
 		int limit = Math.min(proposals.size(), maxCompletions);
+		// the client has to resolve the text edits of the items which aren't resolved
+		ClientPreferences clientPreferences = preferenceManager.getClientPreferences();
+		int maxResolved = clientPreferences.isResolveAdditionalTextEditsSupport() && clientPreferences.isCompletionResolveTextEditSupport()
+				? preferenceManager.getPreferences().getMaxResolvedCompletionResults()
+				: Integer.MAX_VALUE;
 		List<CompletionItem> completionItems = new ArrayList<>(limit);
 
 		if (!proposals.isEmpty()){
 			initializeCompletionListItemDefaults(proposals.get(0));
 		}
 
+		start = System.nanoTime();
 		List<Map<String, String>> contributedData = new LinkedList<>();
 		int pId = 0; // store the index of the completion item in the list
 		int proposalIndex = 0; // to iterate through proposals
@@ -289,7 +306,7 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 		for (; pId < limit && proposalIndex < proposals.size(); proposalIndex++) {
 			CompletionProposal proposal = proposals.get(proposalIndex);
 			try {
-				CompletionItem item = toCompletionItem(proposal, pId);
+				CompletionItem item = pId < maxResolved ? toCompletionItem(proposal, pId) : toUnresolvedCompletionItem(proposal, pId);
 				CompletionRankingAggregation rankingResult = proposalToRankingResult.get(proposal);
 				if (rankingResult != null) {
 					String decorators = rankingResult.getDecorators();
@@ -345,26 +362,152 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 			//we keep receiving completions past our capacity so that makes the whole result incomplete
 			isComplete = false;
 		}
+		CompletionStatistics.record(Phase.CONVERSION, start);
 		response.setProposals(proposalsToBeCached);
 		response.setItems(completionItems);
 		response.setCommonData(CompletionResolveHandler.DATA_FIELD_URI, uri);
+		if (completionItems.size() > maxResolved) {
+			response.setCommonData(CompletionResolveHandler.DATA_FIELD_MAX_RESOLVED, String.valueOf(maxResolved));
+		}
 		response.setCompletionItemData(contributedData);
 		CompletionResponses.store(response);
 
 		return completionItems;
 	}
 
-	private CompletionRankingAggregation[] getAggregatedRankingResult(IProgressMonitor monitor) {
-		List<ICompletionRankingProvider> providers =
-				((CompletionContributionService) JavaLanguageServerPlugin.getCompletionContributionService()).getRankingProviders();
-		CompletionRankingAggregation[] resultCombination = new CompletionRankingAggregation[this.proposals.size()];
-		if (providers != null && !providers.isEmpty()) {
-			for (ICompletionRankingProvider provider : providers) {
-				CompletionRanking[] results = provider.rank(proposals, context, unit, monitor);
-				if (results == null || results.length != proposals.size()) {
-					continue;
+	/**
+	 * Creates a requestor holding the proposals of this one which match the
+	 * given prefix, once identifier characters were typed at the completion
+	 * offset. The refined requestor holds copies of the proposals, as the
+	 * proposals of this one are still referenced by its response. The
+	 * replacement ranges of the copies are extended to the new offset, and
+	 * their relevance is reset to the one of the completion engine so that the
+	 * ranking providers can rank them again.
+	 *
+	 * @param offset
+	 *            the new completion offset
+	 * @param prefix
+	 *            the identifier being completed, up to the new offset
+	 * @return the refined requestor, or <code>null</code> if a proposal can't
+	 *         be copied
+	 */
+	public CompletionProposalRequestor refine(int offset, char[] prefix) {
+		CompletionProposalRequestor refined = new CompletionProposalRequestor(unit, offset, preferenceManager);
+		refined.collapsedTypes = collapsedTypes;
+		refined.completionKinds.addAll(completionKinds);
+		refined.acceptContext(context);
+		int previousOffset = response.getOffset();
+		boolean camelCase = JavaCore.ENABLED.equals(unit.getJavaProject().getOption(JavaCore.CODEASSIST_CAMEL_CASE_MATCH, true));
+		for (CompletionProposal proposal : proposals) {
+			if (!matchPrefix(proposal, prefix, camelCase) || !matchCase(proposal, prefix)) {
+				continue;
+			}
+			CompletionProposal copy = copy(proposal);
+			if (copy == null) {
+				return null;
+			}
+			Integer score = rankingScores.get(proposal);
+			if (score != null) {
+				copy.setRelevance(copy.getRelevance() - score);
+			}
+			moveRanges(copy, previousOffset, offset - previousOffset);
+			refined.proposals.add(copy);
+		}
+		return refined;
+	}
+
+	/**
+	 * Returns a copy of the given proposal, sharing its state with the
+	 * completion engine, and holding copies of its required proposals.
+	 *
+	 * @return the copy, or <code>null</code> if the proposal wasn't created by
+	 *         {@link CompletionProposal#create(int, int)}
+	 */
+	private static CompletionProposal copy(CompletionProposal proposal) {
+		CompletionProposal copy = CompletionProposal.create(proposal.getKind(), proposal.getCompletionLocation());
+		if (copy.getClass() != proposal.getClass()) {
+			return null;
+		}
+		try {
+			for (Class<?> type = proposal.getClass(); type != Object.class; type = type.getSuperclass()) {
+				for (Field field : type.getDeclaredFields()) {
+					if (!Modifier.isStatic(field.getModifiers())) {
+						field.setAccessible(true);
+						field.set(copy, field.get(proposal));
+					}
+				}
+			}
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			JavaLanguageServerPlugin.logException("Failed to copy completion proposal", e);
+			return null;
+		}
+		CompletionProposal[] requiredProposals = proposal.getRequiredProposals();
+		if (requiredProposals != null) {
+			CompletionProposal[] requiredCopies = new CompletionProposal[requiredProposals.length];
+			for (int i = 0; i < requiredProposals.length; i++) {
+				requiredCopies[i] = copy(requiredProposals[i]);
+				if (requiredCopies[i] == null) {
+					return null;
 				}
+			}
+			copy.setRequiredProposals(requiredCopies);
+		}
+		return copy;
+	}
+
+	private static boolean matchPrefix(CompletionProposal proposal, char[] prefix, boolean camelCase) {
+		char[] name = getMatchName(proposal);
+		if (name == null || prefix.length == 0) {
+			return true;
+		}
+		return CharOperation.prefixEquals(prefix, name, false) || (camelCase && CharOperation.camelCaseMatch(prefix, name));
+	}
+
+	/**
+	 * @return the name the completion engine matched against the prefix of the
+	 *         given proposal, or <code>null</code> if unknown
+	 */
+	private static char[] getMatchName(CompletionProposal proposal) {
+		switch (proposal.getKind()) {
+			case CompletionProposal.TYPE_REF:
+			case CompletionProposal.JAVADOC_TYPE_REF:
+				return proposal.getSignature() == null ? null : Signature.getSimpleName(Signature.toCharArray(proposal.getSignature()));
+			case CompletionProposal.CONSTRUCTOR_INVOCATION:
+			case CompletionProposal.ANONYMOUS_CLASS_CONSTRUCTOR_INVOCATION:
+			case CompletionProposal.ANONYMOUS_CLASS_DECLARATION:
+				return proposal.getDeclarationSignature() == null ? null : Signature.getSimpleName(Signature.toCharArray(proposal.getDeclarationSignature()));
+			case CompletionProposal.PACKAGE_REF:
+				return proposal.getDeclarationSignature();
+			default:
+				return proposal.getName() != null ? proposal.getName() : proposal.getCompletion();
+		}
+	}
+
+	/**
+	 * Moves the ranges of the given proposal, and of its required proposals,
+	 * ending at or after the given offset by the given number of characters.
+	 */
+	private static void moveRanges(CompletionProposal proposal, int offset, int delta) {
+		proposal.setReplaceRange(move(proposal.getReplaceStart(), offset, delta, false), move(proposal.getReplaceEnd(), offset, delta, true));
+		proposal.setTokenRange(move(proposal.getTokenStart(), offset, delta, false), move(proposal.getTokenEnd(), offset, delta, true));
+		CompletionProposal[] requiredProposals = proposal.getRequiredProposals();
+		if (requiredProposals != null) {
+			for (CompletionProposal requiredProposal : requiredProposals) {
+				moveRanges(requiredProposal, offset, delta);
+			}
+		}
+	}
 
+	private static int move(int position, int offset, int delta, boolean isEnd) {
+		return (isEnd ? position >= offset : position > offset) ? position + delta : position;
+	}
+
+	private CompletionRankingAggregation[] getAggregatedRankingResult(IProgressMonitor monitor) {
+		List<CompletionRanking[]> rankings =
+				((CompletionContributionService) JavaLanguageServerPlugin.getCompletionContributionService()).rank(proposals, context, unit, monitor);
+		CompletionRankingAggregation[] resultCombination = new CompletionRankingAggregation[this.proposals.size()];
+		if (!rankings.isEmpty()) {
+			for (CompletionRanking[] results : rankings) {
 				for (int i = 0; i < results.length; i++) {
 					if (results[i] == null) {
 						continue;
@@ -455,6 +598,38 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 		return $;
 	}
 
+	/**
+	 * Creates a completion item which only holds what the client needs to
+	 * filter and sort it. Its text edits are computed by
+	 * {@link CompletionResolveHandler}, so it's only sent to the clients
+	 * resolving the text edits and the additional text edits.
+	 */
+	private CompletionItem toUnresolvedCompletionItem(CompletionProposal proposal, int index) {
+		final CompletionItem $ = new CompletionItem();
+		$.setKind(mapKind(proposal));
+		if (Flags.isDeprecated(proposal.getFlags())) {
+			if (preferenceManager.getClientPreferences().isCompletionItemTagSupported()) {
+				$.setTags(List.of(CompletionItemTag.Deprecated));
+			} else {
+				$.setDeprecated(true);
+			}
+		}
+		Map<String, String> data = new HashMap<>();
+		data.put(CompletionResolveHandler.DATA_FIELD_REQUEST_ID, String.valueOf(response.getId()));
+		data.put(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID, String.valueOf(index));
+		$.setData(data);
+		this.descriptionProvider.updateDescription(proposal, $);
+		$.setSortText(SortTextHelper.computeSortText(proposal));
+		String text = proposal.getCompletion() == null || proposal.getCompletion().length == 0 ? $.getLabel() : String.valueOf(proposal.getCompletion());
+		$.setFilterText(text);
+		if (itemDefaults.getEditRange() != null) {
+			$.setTextEditText(text);
+		} else {
+			$.setInsertText(text);
+		}
+		return $;
+	}
+
 	private static Either<Range, InsertReplaceRange> getEditRange(CompletionItem completionItem, PreferenceManager preferenceManager) {
 		if (preferenceManager.getClientPreferences().isCompletionInsertReplaceSupport()) {
 			return Either.forRight(new InsertReplaceRange(completionItem.getTextEdit().getRight().getInsert(), completionItem.getTextEdit().getRight().getReplace()));
@@ -694,15 +869,19 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 	 * @param proposal completion proposal.
 	 */
 	private boolean matchCase(CompletionProposal proposal) {
+		return matchCase(proposal, this.context.getToken());
+	}
+
+	private boolean matchCase(CompletionProposal proposal, char[] token) {
 		if (CompletionMatchCaseMode.FIRSTLETTER != preferenceManager.getPreferences().getCompletionMatchCaseMode()) {
 			return true;
 		}
 
-		if (this.context.getToken() == null || proposal.getCompletion() == null) {
+		if (token == null || proposal.getCompletion() == null) {
 			return true;
 		}
 
-		if (this.context.getToken().length == 0 || proposal.getCompletion().length == 0) {
+		if (token.length == 0 || proposal.getCompletion().length == 0) {
 			return true;
 		}
 
@@ -731,10 +910,10 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 
 		// Workaround for https://github.com/eclipse-jdtls/eclipse.jdt.ls/issues/2925
 		if (proposal.getKind() == CompletionProposal.PACKAGE_REF || proposal.getKind() == CompletionProposal.MODULE_REF) {
-			return Character.isUpperCase(this.context.getToken()[0]) == Character.isUpperCase(firstCharOfCompletion);
+			return Character.isUpperCase(token[0]) == Character.isUpperCase(firstCharOfCompletion);
 		}
 
-		return this.context.getToken()[0] == firstCharOfCompletion;
+		return token[0] == firstCharOfCompletion;
 	}
 
 	/**
@@ -14,13 +14,10 @@
 package org.eclipse.jdt.ls.core.internal.contentassist;
 
 import java.util.Arrays;
-import java.util.List;
 
 import org.eclipse.jdt.core.CompletionProposal;
-import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.ICompilationUnit;
-import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 
 public class CompletionProposalUtils {
 
@@ -69,20 +66,9 @@ public class CompletionProposalUtils {
 	}
 
 	public static void addStaticImportsAsFavoriteImports(ICompilationUnit unit) {
-		try {
-			List<String> staticImports = Arrays.stream(unit.getImports())
-					.filter(t -> {
-						try {
-							return Flags.isStatic(t.getFlags());
-						} catch (JavaModelException e) {
-							return false;
-						}
-					})
-					.map(t -> t.getElementName().replaceFirst("\\.[^\\.]+$", ".*"))
-					.toList();
-			Preferences.DISCOVERED_STATIC_IMPORTS.addAll(staticImports);
-		} catch (JavaModelException e) {
-			// ignore
+		FavoriteMembersIndex index = JavaLanguageServerPlugin.getFavoriteMembersIndex();
+		if (index != null) {
+			index.index(unit);
 		}
 	}
 }
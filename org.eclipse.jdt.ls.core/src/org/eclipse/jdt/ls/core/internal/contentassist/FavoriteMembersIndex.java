@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.contentassist;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IImportDeclaration;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * The favorite static members of the completion: the ones of the preferences,
+ * and the types statically imported by the opened compilation units. The
+ * static imports of a unit are read when it's opened, or first completed in,
+ * and again when a reconcile changes them, so a completion doesn't scan the
+ * imports of its unit.
+ */
+public class FavoriteMembersIndex implements IElementChangedListener {
+
+	/**
+	 * The favorite members discovered in each unit, by handle identifier
+	 */
+	private final Map<String, Set<String>> units = new ConcurrentHashMap<>();
+
+	private final Set<String> discovered = new LinkedHashSet<>();
+
+	private List<String> preferred;
+
+	private String[] favorites;
+
+	public void addElementChangedListener() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_RECONCILE);
+	}
+
+	public void removeElementChangedListener() {
+		JavaCore.removeElementChangedListener(this);
+	}
+
+	/**
+	 * Reads the static imports of the given unit.
+	 */
+	public void index(ICompilationUnit unit) {
+		Set<String> members = new LinkedHashSet<>();
+		try {
+			for (IImportDeclaration declaration : unit.getImports()) {
+				if (Flags.isStatic(declaration.getFlags())) {
+					String name = declaration.getElementName();
+					int index = name.lastIndexOf('.');
+					members.add(index < 0 ? name : name.substring(0, index) + ".*");
+				}
+			}
+		} catch (JavaModelException e) {
+			return;
+		}
+		units.put(unit.getHandleIdentifier(), members);
+		add(members);
+	}
+
+	/**
+	 * Reads the static imports of the given unit, unless they were already
+	 * read.
+	 */
+	public void ensureIndexed(ICompilationUnit unit) {
+		if (!units.containsKey(unit.getHandleIdentifier())) {
+			index(unit);
+		}
+	}
+
+	/**
+	 * @param preferred
+	 *            the favorite members of the preferences
+	 * @return the favorite members of the preferences, followed by the
+	 *         discovered ones. The array is shared, and must not be modified.
+	 */
+	public synchronized String[] getFavoriteMembers(List<String> preferred) {
+		if (favorites == null || this.preferred != preferred) {
+			Set<String> members = new LinkedHashSet<>(preferred);
+			members.addAll(discovered);
+			this.preferred = preferred;
+			favorites = members.toArray(new String[members.size()]);
+		}
+		return favorites;
+	}
+
+	/**
+	 * @return a copy of the discovered favorite members
+	 */
+	public synchronized Set<String> getDiscoveredMembers() {
+		return new LinkedHashSet<>(discovered);
+	}
+
+	public synchronized void add(Collection<String> members) {
+		if (discovered.addAll(members)) {
+			favorites = null;
+		}
+	}
+
+	public synchronized void clear() {
+		units.clear();
+		discovered.clear();
+		favorites = null;
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		processDelta(event.getDelta());
+	}
+
+	private void processDelta(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		if (element instanceof ICompilationUnit unit) {
+			if (delta.getKind() == IJavaElementDelta.REMOVED) {
+				units.remove(unit.getHandleIdentifier());
+			} else if (changesImports(delta)) {
+				index(unit);
+			}
+			return;
+		}
+		if (element.getElementType() < IJavaElement.COMPILATION_UNIT) {
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				processDelta(child);
+			}
+		}
+	}
+
+	private static boolean changesImports(IJavaElementDelta delta) {
+		if ((delta.getFlags() & IJavaElementDelta.F_CONTENT) != 0 && (delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+			return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			int type = child.getElement().getElementType();
+			if (type == IJavaElement.IMPORT_CONTAINER || type == IJavaElement.IMPORT_DECLARATION) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
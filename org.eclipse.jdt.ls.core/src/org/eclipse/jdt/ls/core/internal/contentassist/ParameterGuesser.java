@@ -17,12 +17,15 @@ package org.eclipse.jdt.ls.core.internal.contentassist;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.jdt.core.BindingKey;
+import org.eclipse.jdt.core.CompletionContext;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
@@ -90,8 +93,65 @@ public class ParameterGuesser {
 		}
 	}
 
+	/**
+	 * The visible elements of a completion context, and the variables they
+	 * stand for, shared by the guessers of all the proposals of a completion,
+	 * and of the resolution of its items.
+	 */
+	public static final class Scope {
+
+		private static Scope lastScope;
+
+		private final CompletionContext fContext;
+		private final IJavaElement fEnclosingElement;
+		private final Map<String, IJavaElement[]> fVisibleElements= new HashMap<>();
+		/**
+		 * The variables of the visible elements, <code>null</code> for the
+		 * elements which aren't suggested
+		 */
+		private final Map<IJavaElement, Variable> fVariables= new HashMap<>();
+
+		private Scope(CompletionContext context, IJavaElement enclosingElement) {
+			fContext= context;
+			fEnclosingElement= enclosingElement;
+		}
+
+		/**
+		 * Returns the scope of the given completion context. Only the scope of
+		 * the last completion context is kept.
+		 *
+		 * @param context the completion context
+		 * @param enclosingElement the enclosing Java element
+		 * @return the scope
+		 */
+		public static synchronized Scope of(CompletionContext context, IJavaElement enclosingElement) {
+			if (lastScope == null || lastScope.fContext != context || lastScope.fEnclosingElement != enclosingElement) {
+				lastScope= new Scope(context, enclosingElement);
+			}
+			return lastScope;
+		}
+
+		/**
+		 * @param typeSignature the signature of the expected type
+		 * @return the visible elements assignable to the expected type
+		 */
+		public synchronized IJavaElement[] getVisibleElements(String typeSignature) {
+			return fVisibleElements.computeIfAbsent(typeSignature, fContext::getVisibleElements);
+		}
+
+		private synchronized Variable getVariable(ParameterGuesser guesser, IJavaElement element, IType enclosingType) throws JavaModelException {
+			if (fVariables.containsKey(element)) {
+				return fVariables.get(element);
+			}
+			Variable variable= guesser.createVariable(element, enclosingType, null, 0);
+			fVariables.put(element, variable);
+			return variable;
+		}
+	}
+
 	private final Set<String> fAlreadyMatchedNames;
 	private final IJavaElement fEnclosingElement;
+	private final Scope fScope;
 
 	/**
 	 * Creates a parameter guesser
@@ -99,8 +159,19 @@ public class ParameterGuesser {
 	 * @param enclosingElement the enclosing Java element
 	 */
 	public ParameterGuesser(IJavaElement enclosingElement) {
+		this(enclosingElement, null);
+	}
+
+	/**
+	 * Creates a parameter guesser
+	 *
+	 * @param enclosingElement the enclosing Java element
+	 * @param scope the scope caching the variables of the visible elements, or <code>null</code>
+	 */
+	public ParameterGuesser(IJavaElement enclosingElement, Scope scope) {
 		fEnclosingElement= enclosingElement;
 		fAlreadyMatchedNames= new HashSet<>();
+		fScope= scope;
 	}
 
 	private List<Variable> evaluateVisibleMatches(String expectedType, IJavaElement[] suggestions) throws JavaModelException {
@@ -111,7 +182,16 @@ public class ParameterGuesser {
 
 		ArrayList<Variable> res= new ArrayList<>();
 		for (int i= 0; i < suggestions.length; i++) {
-			Variable variable= createVariable(suggestions[i], currentType, expectedType, i);
+			Variable variable;
+			if (fScope == null) {
+				variable= createVariable(suggestions[i], currentType, expectedType, i);
+			} else {
+				variable= fScope.getVariable(this, suggestions[i], currentType);
+				if (variable != null) {
+					boolean isAutoboxMatch= isPrimitiveType(expectedType) != isPrimitiveType(variable.qualifiedTypeName);
+					variable= new Variable(variable.qualifiedTypeName, variable.name, variable.variableType, isAutoboxMatch, i);
+				}
+			}
 			if (variable != null) {
 				if (fAlreadyMatchedNames.contains(variable.name)) {
 					variable.alreadyMatched= true;
@@ -198,7 +278,7 @@ public class ParameterGuesser {
 		}
 		String type= Signature.toString(typeSignature);
 
-		boolean isAutoboxMatch= isPrimitiveType(expectedType) != isPrimitiveType(type);
+		boolean isAutoboxMatch= expectedType != null && isPrimitiveType(expectedType) != isPrimitiveType(type);
 		return new Variable(type, elementName, variableType, isAutoboxMatch, positionScore);
 	}
 
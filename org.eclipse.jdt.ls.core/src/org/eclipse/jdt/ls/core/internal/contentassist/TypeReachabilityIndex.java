@@ -0,0 +1,515 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.contentassist;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.Signature;
+import org.eclipse.jdt.internal.corext.template.java.SignatureUtil;
+import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+import org.eclipse.jdt.internal.ui.text.Chain;
+import org.eclipse.jdt.internal.ui.text.ChainElement;
+import org.eclipse.jdt.internal.ui.text.ChainElement.ElementType;
+import org.eclipse.jdt.internal.ui.text.ChainFinder;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+
+/**
+ * Indexes, per project, the types reachable from each type through its
+ * instance fields and methods. Chain completion looks up the index to find the
+ * shortest chains from the visible variables to the expected type, instead of
+ * listing the members of every type of every chain at each request.
+ * <p>
+ * The types are indexed when a chain search first reaches them, and the types
+ * they lead to are indexed in the background, so the next searches only walk
+ * the index, up to {@value #MAX_TYPES} types per project. The types of a
+ * compilation unit whose structure changes, and their subtypes, are indexed
+ * again. The index of a project is dropped when
+ * its classpath changes, or when a compilation unit is added or removed.
+ */
+public class TypeReachabilityIndex implements IElementChangedListener {
+
+	/**
+	 * The number of types the background job indexes before it yields
+	 */
+	private static final int MAX_TYPES_PER_RUN = 500;
+
+	/**
+	 * The number of types indexed per project. Beyond that, the types aren't
+	 * indexed in the background anymore, and the types reached by the searches
+	 * aren't kept.
+	 */
+	private static final int MAX_TYPES = 20000;
+
+	/**
+	 * The number of types waiting for the background job. Beyond that, the
+	 * types are dropped.
+	 */
+	private static final int MAX_PENDING_TYPES = 5000;
+
+	private static final String JAVA_LANG_OBJECT = "java.lang.Object";
+
+	private final Map<IJavaProject, ProjectIndex> projects = new ConcurrentHashMap<>();
+
+	public void addElementChangedListener() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	public void removeElementChangedListener() {
+		JavaCore.removeElementChangedListener(this);
+		projects.values().forEach(index -> index.job.cancel());
+		projects.clear();
+	}
+
+	/**
+	 * Finds the chains from the given entry points to the expected types, from
+	 * the shortest to the longest. An intermediate type is only walked through
+	 * from the shortest chains reaching it from each entry point.
+	 *
+	 * @param expectedTypes
+	 *            the signatures of the expected types
+	 * @return the chains found, or <code>null</code> if none of the expected
+	 *         types can be resolved
+	 */
+	public List<Chain> findChains(IJavaProject project, IType invocationType, List<ChainElement> entrypoints, char[][] expectedTypes, List<String> excludedTypes, int maxChains, int minDepth, int maxDepth,
+			IProgressMonitor monitor) throws JavaModelException {
+		List<Target> targets = resolveTargets(project, expectedTypes);
+		if (targets.isEmpty()) {
+			return null;
+		}
+		ProjectIndex index = projects.computeIfAbsent(project, ProjectIndex::new);
+		Node receiver = invocationType == null ? null : index.get(invocationType.getFullyQualifiedName('.'), monitor);
+		List<Chain> chains = new ArrayList<>();
+		List<Pending> frontier = new ArrayList<>();
+		Set<String> expanded = new HashSet<>();
+		Queue<Path> queue = new ArrayDeque<>();
+		for (int i = 0; i < entrypoints.size(); i++) {
+			ChainElement entrypoint = entrypoints.get(i);
+			IType type = entrypoint.getReturnType();
+			if (entrypoint.getElementType() != ElementType.TYPE && type != null) {
+				queue.add(new Path(i, null, entrypoint, type.getFullyQualifiedName('.'), entrypoint.getReturnTypeDimension(), 1));
+			}
+		}
+		while (!queue.isEmpty() && chains.size() < maxChains && !monitor.isCanceled()) {
+			Path path = queue.poll();
+			Node node = index.get(path.typeName(), monitor);
+			if (node == null) {
+				continue;
+			}
+			Target target = match(node, path.dimension(), targets);
+			if (target != null) {
+				if (path.depth() >= minDepth) {
+					chains.add(new Chain(path.toElements(), target.dimension()));
+				}
+				continue;
+			}
+			if (!expanded.add(path.entrypoint() + ":" + path.typeName())) {
+				continue;
+			}
+			if (path.depth() >= maxDepth) {
+				// prepares the searches of longer chains
+				frontier.add(new Pending(path.typeName(), 1));
+				continue;
+			}
+			for (Edge edge : node.edges()) {
+				if (isVisible(edge, invocationType, receiver) && !path.contains(edge.member()) && !ChainFinder.isFromExcludedType(excludedTypes, edge.member())) {
+					queue.add(new Path(path.entrypoint(), path, new ChainElement(edge.member(), false), edge.typeName(), edge.dimension(), path.depth() + 1));
+				}
+			}
+		}
+		for (Path path : queue) {
+			frontier.add(new Pending(path.typeName(), maxDepth - path.depth() + 1));
+		}
+		index.schedule(frontier);
+		return chains;
+	}
+
+	public int size() {
+		return projects.values().stream().mapToInt(index -> index.nodes.size()).sum();
+	}
+
+	private static List<Target> resolveTargets(IJavaProject project, char[][] expectedTypes) throws JavaModelException {
+		List<Target> targets = new ArrayList<>();
+		if (expectedTypes != null) {
+			for (char[] expectedType : expectedTypes) {
+				String signature = String.valueOf(expectedType);
+				IType type = project.findType(SignatureUtil.stripSignatureToFQN(Signature.getElementType(signature)));
+				if (type != null) {
+					targets.add(new Target(type.getFullyQualifiedName('.'), Signature.getArrayCount(signature)));
+				}
+			}
+		}
+		return targets;
+	}
+
+	private static Target match(Node node, int dimension, List<Target> targets) {
+		for (Target target : targets) {
+			if (target.dimension() == dimension && node.supertypes().contains(target.typeName())) {
+				return target;
+			}
+		}
+		return null;
+	}
+
+	private static boolean isVisible(Edge edge, IType invocationType, Node receiver) {
+		if (Flags.isPublic(edge.flags())) {
+			return true;
+		}
+		if (invocationType == null) {
+			return false;
+		}
+		if (Flags.isPrivate(edge.flags())) {
+			return getTopLevelType(edge.member().getDeclaringType()).equals(getTopLevelType(invocationType));
+		}
+		if (edge.member().getDeclaringType().getPackageFragment().getElementName().equals(invocationType.getPackageFragment().getElementName())) {
+			return true;
+		}
+		return Flags.isProtected(edge.flags()) && receiver != null && receiver.supertypes().contains(edge.member().getDeclaringType().getFullyQualifiedName('.'));
+	}
+
+	private static IType getTopLevelType(IType type) {
+		IType topLevel = type;
+		while (topLevel.getDeclaringType() != null) {
+			topLevel = topLevel.getDeclaringType();
+		}
+		return topLevel;
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (projects.isEmpty()) {
+			return;
+		}
+		Set<IJavaProject> changedProjects = new HashSet<>();
+		Set<String> changedUnits = new HashSet<>();
+		processDelta(event.getDelta(), changedProjects, changedUnits);
+		for (IJavaProject project : changedProjects) {
+			ProjectIndex index = projects.remove(project);
+			if (index != null) {
+				index.job.cancel();
+			}
+		}
+		if (!changedUnits.isEmpty()) {
+			for (ProjectIndex index : projects.values()) {
+				index.remove(changedUnits);
+			}
+		}
+	}
+
+	private static void processDelta(IJavaElementDelta delta, Set<IJavaProject> changedProjects, Set<String> changedUnits) {
+		IJavaElement element = delta.getElement();
+		int flags = delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				processDeltaChildren(delta, changedProjects, changedUnits);
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+					changedProjects.add(element.getJavaProject());
+				} else {
+					processDeltaChildren(delta, changedProjects, changedUnits);
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+					changedProjects.add(element.getJavaProject());
+				} else {
+					processDeltaChildren(delta, changedProjects, changedUnits);
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					// a new type may resolve references which couldn't be resolved so far
+					changedProjects.add(element.getJavaProject());
+				} else if (delta.getAffectedChildren().length > 0 || ((flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0)) {
+					changedUnits.add(((ICompilationUnit) element).getPrimary().getHandleIdentifier());
+				}
+				break;
+			default:
+				break;
+		}
+	}
+
+	private static void processDeltaChildren(IJavaElementDelta delta, Set<IJavaProject> changedProjects, Set<String> changedUnits) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			processDelta(child, changedProjects, changedUnits);
+		}
+	}
+
+	/**
+	 * The index of the types of a project, and the job indexing the types
+	 * around the last searches.
+	 */
+	private static final class ProjectIndex {
+
+		private final IJavaProject project;
+		private final Map<String, Node> nodes = new ConcurrentHashMap<>();
+		/**
+		 * The depths up to which the background job indexed the types leading
+		 * from each type
+		 */
+		private final Map<String, Integer> indexedDepths = new ConcurrentHashMap<>();
+		private final Queue<Pending> pending = new LinkedList<>();
+		private final Job job;
+
+		private ProjectIndex(IJavaProject project) {
+			this.project = project;
+			this.job = new Job("Index chain completion types of " + project.getElementName()) {
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					return index(monitor);
+				}
+			};
+			job.setSystem(true);
+			job.setPriority(Job.DECORATE);
+		}
+
+		private Node get(String typeName, IProgressMonitor monitor) throws JavaModelException {
+			Node node = nodes.get(typeName);
+			if (node == null && !monitor.isCanceled()) {
+				node = Node.create(project, typeName, monitor);
+				if (node != null && nodes.size() < MAX_TYPES) {
+					nodes.put(typeName, node);
+				}
+			}
+			return node;
+		}
+
+		/**
+		 * Schedules the indexing of the given types, and of the types they lead
+		 * to, up to the given depths.
+		 */
+		private void schedule(List<Pending> types) {
+			if (types.isEmpty()) {
+				return;
+			}
+			synchronized (pending) {
+				for (Pending type : types) {
+					add(type);
+				}
+			}
+			job.schedule();
+		}
+
+		/**
+		 * Removes the types declared, or inheriting members declared, in the
+		 * given compilation units.
+		 */
+		private void remove(Set<String> units) {
+			nodes.entrySet().removeIf(entry -> {
+				if (Collections.disjoint(entry.getValue().sources(), units)) {
+					return false;
+				}
+				indexedDepths.remove(entry.getKey());
+				return true;
+			});
+		}
+
+		/**
+		 * Adds the given type to the pending types, unless it was indexed up to
+		 * the same depth or deeper, or too many types are waiting already. The
+		 * caller holds the lock of the pending types.
+		 */
+		private void add(Pending type) {
+			if (type.depth() == 0 && nodes.containsKey(type.typeName())) {
+				return;
+			}
+			if (pending.size() < MAX_PENDING_TYPES && indexedDepths.getOrDefault(type.typeName(), -1) < type.depth()) {
+				pending.add(type);
+			}
+		}
+
+		private IStatus index(IProgressMonitor monitor) {
+			for (int i = 0; i < MAX_TYPES_PER_RUN && !monitor.isCanceled(); i++) {
+				if (nodes.size() >= MAX_TYPES || indexedDepths.size() >= MAX_TYPES) {
+					synchronized (pending) {
+						pending.clear();
+					}
+					return Status.OK_STATUS;
+				}
+				Pending next;
+				synchronized (pending) {
+					next = pending.poll();
+				}
+				if (next == null) {
+					return Status.OK_STATUS;
+				}
+				if (indexedDepths.getOrDefault(next.typeName(), -1) >= next.depth()) {
+					// indexed from another type, or by a previous search
+					continue;
+				}
+				indexedDepths.put(next.typeName(), next.depth());
+				try {
+					Node node = get(next.typeName(), monitor);
+					if (node != null && next.depth() > 0) {
+						synchronized (pending) {
+							for (Edge edge : node.edges()) {
+								add(new Pending(edge.typeName(), next.depth() - 1));
+							}
+						}
+					}
+				} catch (JavaModelException e) {
+					JavaLanguageServerPlugin.logException("Failed to index the members of " + next.typeName(), e);
+				}
+			}
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			synchronized (pending) {
+				if (pending.isEmpty()) {
+					return Status.OK_STATUS;
+				}
+			}
+			job.schedule();
+			return Status.OK_STATUS;
+		}
+	}
+
+	/**
+	 * A type, its supertypes, and the instance members of the type and its
+	 * supertypes returning a reference type.
+	 *
+	 * @param supertypes
+	 *            the names of the type and its supertypes
+	 * @param sources
+	 *            the handle identifiers of the compilation units declaring the
+	 *            type and its supertypes
+	 */
+	private record Node(Set<String> supertypes, Set<String> sources, List<Edge> edges) {
+
+		private static Node create(IJavaProject project, String typeName, IProgressMonitor monitor) throws JavaModelException {
+			IType type = project.findType(typeName);
+			if (type == null || !type.exists()) {
+				return null;
+			}
+			ITypeHierarchy hierarchy = type.newSupertypeHierarchy(monitor);
+			List<IType> types = new ArrayList<>();
+			types.add(type);
+			types.addAll(List.of(hierarchy.getAllSupertypes(type)));
+			Set<String> supertypes = new HashSet<>();
+			Set<String> sources = new HashSet<>();
+			// the members of a type hide the members of its supertypes with the same name and parameters
+			Map<String, Edge> edges = new LinkedHashMap<>();
+			for (IType t : types) {
+				String name = t.getFullyQualifiedName('.');
+				supertypes.add(name);
+				if (t.getCompilationUnit() != null) {
+					sources.add(t.getCompilationUnit().getPrimary().getHandleIdentifier());
+				}
+				if (JAVA_LANG_OBJECT.equals(name)) {
+					continue;
+				}
+				boolean isInterface = t.isInterface();
+				for (IField field : t.getFields()) {
+					if (!Flags.isStatic(field.getFlags())) {
+						addEdge(edges, field.getElementName(), field, field.getTypeSignature(), isInterface);
+					}
+				}
+				for (IMethod method : t.getMethods()) {
+					if (!method.isConstructor() && !Flags.isStatic(method.getFlags())) {
+						addEdge(edges, getKey(method), method, method.getReturnType(), isInterface);
+					}
+				}
+			}
+			supertypes.add(JAVA_LANG_OBJECT);
+			return new Node(supertypes, sources, List.copyOf(edges.values()));
+		}
+
+		private static void addEdge(Map<String, Edge> edges, String key, IMember member, String signature, boolean isInterface) throws JavaModelException {
+			if (edges.containsKey(key)) {
+				return;
+			}
+			String elementType = Signature.getElementType(signature);
+			if (Signature.getTypeSignatureKind(elementType) != Signature.CLASS_TYPE_SIGNATURE) {
+				// void, primitive types and type variables
+				return;
+			}
+			String typeName = JavaModelUtil.getResolvedTypeName(Signature.getTypeErasure(elementType), member.getDeclaringType());
+			if (typeName != null) {
+				int flags = isInterface ? member.getFlags() | Flags.AccPublic : member.getFlags();
+				edges.put(key, new Edge(member, typeName, Signature.getArrayCount(signature), flags));
+			}
+		}
+
+		private static String getKey(IMethod method) {
+			StringBuilder key = new StringBuilder(method.getElementName()).append('(');
+			for (String parameterType : method.getParameterTypes()) {
+				key.append(Signature.getSignatureSimpleName(Signature.getTypeErasure(parameterType))).append(',');
+			}
+			return key.append(')').toString();
+		}
+	}
+
+	/**
+	 * An instance member, and the type it returns.
+	 */
+	private record Edge(IMember member, String typeName, int dimension, int flags) {
+	}
+
+	private record Target(String typeName, int dimension) {
+	}
+
+	private record Pending(String typeName, int depth) {
+	}
+
+	/**
+	 * A chain being searched, from its last element to its entry point.
+	 */
+	private record Path(int entrypoint, Path parent, ChainElement element, String typeName, int dimension, int depth) {
+
+		private boolean contains(IJavaElement member) {
+			for (Path path = this; path != null; path = path.parent()) {
+				if (member.equals(path.element().getElement())) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private List<ChainElement> toElements() {
+			LinkedList<ChainElement> elements = new LinkedList<>();
+			for (Path path = this; path != null; path = path.parent()) {
+				elements.addFirst(path.element());
+			}
+			return elements;
+		}
+	}
+}
@@ -58,6 +58,9 @@ public abstract class BaseDiagnosticsHandler implements IProblemRequestor {
 	private final String uri;
 	private final JavaClientConnection connection;
 	private boolean isDefaultProject;
+	private boolean skipUnchanged;
+	private boolean publish = true;
+	private List<Diagnostic> diagnostics;
 
 	public static final int NON_PROJECT_JAVA_FILE = 0x10;
 	public static final int NOT_ON_CLASSPATH = 0x20;
@@ -147,11 +150,55 @@ public abstract class BaseDiagnosticsHandler implements IProblemRequestor {
 			boolean isDiagnosticTagSupported = JavaLanguageServerPlugin.getPreferencesManager().getClientPreferences().isDiagnosticTagSupported();
 			List<Diagnostic> diagnostics = toDiagnosticsArray(this.cu, problems, isDiagnosticTagSupported);
 			collectNonJavaProblems(diagnostics, isDiagnosticTagSupported);
+			this.diagnostics = diagnostics;
+			if (!publish) {
+				return;
+			}
 			PublishDiagnosticsParams $ = new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), diagnostics);
+			if (skipUnchanged && this.connection.isPublished($)) {
+				JavaLanguageServerPlugin.debugTrace("Diagnostics unchanged for " + this.uri.substring(this.uri.lastIndexOf('/')));
+				return;
+			}
 			this.connection.publishDiagnostics($);
 		}
 	}
 
+	/**
+	 * @param publish
+	 *            whether the diagnostics are sent to the client at the end of
+	 *            the reporting, or only kept for {@link #getDiagnostics()}
+	 */
+	public void setPublish(boolean publish) {
+		this.publish = publish;
+	}
+
+	/**
+	 * @return the diagnostics computed at the end of the last reporting, or
+	 *         <code>null</code> if none were computed
+	 */
+	public List<Diagnostic> getDiagnostics() {
+		return diagnostics;
+	}
+
+	/**
+	 * @param skipUnchanged
+	 *            whether diagnostics identical to the ones last published for
+	 *            the same document should not be sent again
+	 */
+	public void setSkipUnchanged(boolean skipUnchanged) {
+		this.skipUnchanged = skipUnchanged;
+	}
+
+	/**
+	 * Forgets the diagnostics last published for the document, so that the next
+	 * report is sent even if it is unchanged.
+	 */
+	public void forgetPublishedDiagnostics() {
+		if (this.connection != null) {
+			this.connection.forgetPublishedDiagnostics(ResourceUtils.toClientUri(uri));
+		}
+	}
+
 	/**
 	 * @param uri the String URI to test
 	 * @param diagnosticFilters a list of patterns to test against
@@ -248,13 +295,14 @@ public abstract class BaseDiagnosticsHandler implements IProblemRequestor {
 
 	public static List<Diagnostic> toDiagnosticsArray(IOpenable openable, List<IProblem> problems, boolean isDiagnosticTagSupported) {
 		List<Diagnostic> array = new ArrayList<>(problems.size());
+		LineIndex lineIndex = problems.isEmpty() ? null : getLineIndex(openable);
 		for (IProblem problem : problems) {
 			Diagnostic diag = new Diagnostic();
 			diag.setSource(JavaLanguageServerPlugin.SERVER_SOURCE_ID);
 			diag.setMessage(problem.getMessage());
 			diag.setCode(Integer.toString(problem.getID()));
 			diag.setSeverity(convertSeverity(problem));
-			diag.setRange(convertRange(openable, problem));
+			diag.setRange(convertRange(openable, lineIndex, problem));
 			Map<String, Object> data = new HashMap<>();
 			if (problem.getID() == IProblem.UndefinedName
 					|| problem.getID() == IProblem.UndefinedType
@@ -364,15 +412,29 @@ public abstract class BaseDiagnosticsHandler implements IProblemRequestor {
 		return DiagnosticSeverity.Information;
 	}
 
-	private static Range convertRange(IOpenable openable, IProblem problem) {
+	private static LineIndex getLineIndex(IOpenable openable) {
 		try {
+			return LineIndex.of(openable.getBuffer());
+		} catch (JavaModelException e) {
+			// convertRange falls back to the problem's line and column
+			return null;
+		}
+	}
+
+	private static Range convertRange(IOpenable openable, LineIndex lineIndex, IProblem problem) {
+		try {
+			int start = problem.getSourceStart();
 			if (problem.getID() == IProblem.UndefinedType && openable instanceof ICompilationUnit cu) {
-				int start = getSourceStart(cu, problem);
-				if (start > -1) {
-					return JDTUtils.toRange(openable, start, problem.getSourceEnd() - start + 1);
+				int annotationStart = getSourceStart(cu, problem);
+				if (annotationStart > -1) {
+					start = annotationStart;
 				}
 			}
-			return JDTUtils.toRange(openable, problem.getSourceStart(), problem.getSourceEnd() - problem.getSourceStart() + 1);
+			int length = problem.getSourceEnd() - start + 1;
+			if (lineIndex != null) {
+				return lineIndex.toRange(start, length);
+			}
+			return JDTUtils.toRange(openable, start, length);
 		} catch (CoreException e) {
 			// In case failed to open the IOpenable's buffer, use the IProblem's information to calculate the range.
 			Position start = new Position();
@@ -14,18 +14,23 @@
 package org.eclipse.jdt.ls.core.internal.handlers;
 
 import java.io.File;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import org.eclipse.core.internal.resources.Workspace;
@@ -36,6 +41,7 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -57,16 +63,22 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.internal.core.OpenableElementInfo;
 import org.eclipse.jdt.internal.core.PackageFragment;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.util.JdtFlags;
 import org.eclipse.jdt.ls.core.internal.DocumentAdapter;
+import org.eclipse.jdt.ls.core.internal.EventNotification;
+import org.eclipse.jdt.ls.core.internal.EventType;
+import org.eclipse.jdt.ls.core.internal.JDTEnvironmentUtils;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
-import org.eclipse.jdt.ls.core.internal.MovingAverage;
+import org.eclipse.jdt.ls.core.internal.LargeFilePolicy;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalUtils;
 import org.eclipse.jdt.ls.core.internal.corrections.DiagnosticsHelper;
@@ -75,6 +87,7 @@ import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
@@ -101,61 +114,62 @@ public abstract class BaseDocumentLifeCycleHandler {
 	public static final String RENAME_FILE_TO_TYPE = "renameFileToType";
 
 	/**
-	 * The max & init value of adaptive debounce time for document lifecycle job.
+	 * The max number of units reconciled at the same time, across all projects.
 	 */
-	private static final long DOCUMENT_LIFECYCLE_MAX_DEBOUNCE = 400; /*ms*/
+	private static final int MAX_PARALLEL_RECONCILES = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
 
 	/**
-	 * The min & init value of adaptive debounce time for publish diagnostic job.
+	 * The documents opened within this delay of the previous one are handled as
+	 * a batch, e.g. when the client restores a session.
 	 */
-	private static final long PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE = 400; /*ms*/
+	private static final long OPEN_BATCH_WINDOW = 100; /*ms*/
 
+	private CoreASTProvider sharedASTProvider;
+	private boolean delayValidation;
+	private Job pendingDiagnosticsJob;
+	private Job openBatchJob;
 	/**
-	 * The max value of adaptive debounce time for publish diagnostic job.
+	 * The documents opened within the batch window, by location. Only their
+	 * text is kept until the {@link OpenBatchJob} opens their working copies.
 	 */
-	private static final long PUBLISH_DIAGNOSTICS_MAX_DEBOUNCE = 2000; /*ms*/
-
-	private CoreASTProvider sharedASTProvider;
-	private Job validationTimer;
-	private Job publishDiagnosticsJob;
+	private Map<URI, DidOpenTextDocumentParams> openBatch = new LinkedHashMap<>();
+	/**
+	 * The locations of the documents being opened by the {@link OpenBatchJob},
+	 * guarded by {@link #openBatch}
+	 */
+	private Set<URI> openingBatch = Collections.emptySet();
+	private long lastOpenTime;
+	private long openBatchWindow = OPEN_BATCH_WINDOW;
+	private Map<ICompilationUnit, Job> validationJobs = new ConcurrentHashMap<>();
+	private Map<ICompilationUnit, Job> publishDiagnosticsJobs = new ConcurrentHashMap<>();
+	private Map<ICompilationUnit, Job> syntaxDiagnosticsJobs = new ConcurrentHashMap<>();
+	private Map<ICompilationUnit, Long> documentActivity = new ConcurrentHashMap<>();
+	private AtomicLong activityCounter = new AtomicLong();
+	/**
+	 * The stamp of the diagnostics of each open unit, changed when the unit is
+	 * reconciled, when its markers change, or when a unit it depends on
+	 * changes, see {@link #getDiagnosticsResultId(String)}.
+	 */
+	private Map<ICompilationUnit, Long> diagnosticsStamps = new ConcurrentHashMap<>();
+	private AtomicLong diagnosticsStamp = new AtomicLong();
 	private Set<ICompilationUnit> toReconcile = new HashSet<>();
 	private Set<ICompilationUnit> toValidate = ConcurrentHashMap.newKeySet();
 	private Map<String, Integer> documentVersions = new HashMap<>();
 	private Map<String, Integer> lastSyncedDocumentLengths = new ConcurrentHashMap<>();
-	private MovingAverage movingAverageForValidation = new MovingAverage(DOCUMENT_LIFECYCLE_MAX_DEBOUNCE);
-	private MovingAverage movingAverageForDiagnostics = new MovingAverage(PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE);
+	private DebounceController debounceController = new DebounceController();
 	protected final PreferenceManager preferenceManager;
-	private Object reconcileLock = new Object();
+	private Map<String, Object> reconcileLocks = new ConcurrentHashMap<>();
+	private Semaphore reconcilePermits = new Semaphore(MAX_PARALLEL_RECONCILES);
+	private WorkingCopyDependencyIndex dependencyIndex = new WorkingCopyDependencyIndex();
 
 	public BaseDocumentLifeCycleHandler(PreferenceManager preferenceManager, boolean delayValidation) {
 		this.preferenceManager = preferenceManager;
 		this.sharedASTProvider = CoreASTProvider.getInstance();
+		this.delayValidation = delayValidation;
 		if (delayValidation) {
-			this.validationTimer = new Job("Validate documents") {
-				@Override
-				protected IStatus run(IProgressMonitor monitor) {
-					try {
-						long startTime = System.nanoTime();
-						IStatus status = performValidation(monitor);
-						if (status.getSeverity() != IStatus.CANCEL) {
-							long elapsedTime = System.nanoTime() - startTime;
-							movingAverageForValidation.update(elapsedTime / 1_000_000);
-						}
-						return status;
-					} catch (JavaModelException e) {
-						return e.getStatus();
-					}
-				}
-
-				/* (non-Javadoc)
-				 * @see org.eclipse.core.runtime.jobs.Job#belongsTo(java.lang.Object)
-				 */
-				@Override
-				public boolean belongsTo(Object family) {
-					return DOCUMENT_LIFE_CYCLE_JOBS.equals(family);
-				}
-			};
-			this.publishDiagnosticsJob = new PublishDiagnosticJob();
+			this.pendingDiagnosticsJob = new PublishDiagnosticJob(null);
+			this.pendingDiagnosticsJob.setPriority(Job.DECORATE);
+			this.openBatchJob = new OpenBatchJob();
 		}
 	}
 
@@ -165,8 +179,16 @@ public abstract class BaseDocumentLifeCycleHandler {
 
 	public abstract ICompilationUnit resolveCompilationUnit(String uri);
 
+	/**
+	 * @return <code>true</code> if the client pulls the diagnostics of the open
+	 *         documents, in which case they are not published after reconcile.
+	 */
+	public boolean isDiagnosticPullEnabled() {
+		return false;
+	}
+
 	protected void triggerValidation(ICompilationUnit cu) throws JavaModelException {
-		triggerValidation(cu, getDocumentLifecycleDelay());
+		triggerValidation(cu, debounceController.getValidationDelay(cu));
 	}
 
 	protected void triggerValidation(ICompilationUnit cu, long delay) throws JavaModelException {
@@ -177,82 +199,152 @@ public abstract class BaseDocumentLifeCycleHandler {
 			}
 			sharedASTProvider.setActiveJavaElement(cu);
 		}
-		if (validationTimer != null) {
-			validationTimer.cancel();
-			if (publishDiagnosticsJob != null) {
-				publishDiagnosticsJob.cancel();
-				publishDiagnosticsJob = new PublishDiagnosticJob();
-			}
-			validationTimer.schedule(delay);
+		invalidateDiagnostics(cu);
+		if (delayValidation) {
+			// Only the work queued for this unit is cancelled, the other open units keep their own schedule.
+			// The background validation of the remaining open buffers always yields to the edited unit.
+			pendingDiagnosticsJob.cancel();
+			cancelJob(publishDiagnosticsJobs.get(cu));
+			Job validationJob = validationJobs.computeIfAbsent(cu, ValidationJob::new);
+			validationJob.cancel();
+			validationJob.setPriority(getPriority(cu));
+			validationJob.schedule(delay);
 		} else {
-			performValidation(new NullProgressMonitor());
+			performValidation(cu, new NullProgressMonitor());
 		}
 	}
 
-	private long getDocumentLifecycleDelay() {
-		return Math.min(DOCUMENT_LIFECYCLE_MAX_DEBOUNCE, Math.round(1.5 * movingAverageForValidation.value));
+	/**
+	 * Changes the result id of the diagnostics of the given unit, so that the
+	 * next pull reports them in full.
+	 */
+	private void invalidateDiagnostics(ICompilationUnit cu) {
+		diagnosticsStamps.put(cu, diagnosticsStamp.incrementAndGet());
+	}
+
+	/**
+	 * Records a focus or edit activity on the given unit, used to rank the
+	 * pending validations.
+	 */
+	private void markActive(ICompilationUnit cu) {
+		documentActivity.put(cu, activityCounter.incrementAndGet());
+	}
+
+	/**
+	 * @return the job priority of the given unit: the most recently focused or
+	 *         edited unit is {@link Job#INTERACTIVE}, the others are
+	 *         {@link Job#SHORT}.
+	 */
+	private int getPriority(ICompilationUnit cu) {
+		Long activity = documentActivity.get(cu);
+		return activity != null && activity.longValue() == activityCounter.get() ? Job.INTERACTIVE : Job.SHORT;
 	}
 
 	/**
-	 * @return the delay time of the publish diagnostics job. The value ranges in
-	 * ({@link #PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE}, {@link #PUBLISH_DIAGNOSTICS_MAX_DEBOUNCE}) ms.
+	 * @return the given units, ordered from the most to the least recently
+	 *         focused or edited one.
 	 */
-	private long getPublishDiagnosticsDelay() {
-		return Math.min(
-			Math.max(PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE, Math.round(1.5 * movingAverageForDiagnostics.value)),
-			PUBLISH_DIAGNOSTICS_MAX_DEBOUNCE
-		);
+	private List<ICompilationUnit> sortByActivity(Collection<ICompilationUnit> units) {
+		List<ICompilationUnit> sorted = new ArrayList<>(units);
+		sorted.sort(Comparator.comparingLong((ICompilationUnit cu) -> documentActivity.getOrDefault(cu, 0L)).reversed());
+		return sorted;
+	}
+
+	/**
+	 * Schedules an immediate parser-only pass publishing the syntax errors of
+	 * the given unit, ahead of the debounced semantic reconcile.
+	 */
+	private void triggerSyntaxValidation(ICompilationUnit cu) {
+		if (!delayValidation || isDiagnosticPullEnabled() || !preferenceManager.getPreferences().isSyntaxDiagnosticsPassEnabled() || isSyntaxMode(cu) || isLargeFile(cu)) {
+			return;
+		}
+		Job syntaxJob = syntaxDiagnosticsJobs.computeIfAbsent(cu, SyntaxDiagnosticJob::new);
+		syntaxJob.cancel();
+		syntaxJob.setPriority(Job.INTERACTIVE);
+		syntaxJob.schedule();
+	}
+
+	private static void cancelJob(Job job) {
+		if (job != null) {
+			job.cancel();
+		}
 	}
 
-	private IStatus performValidation(IProgressMonitor monitor) throws JavaModelException {
+	/**
+	 * @return the controller of the debounce delays of the validation and
+	 *         publish diagnostics jobs
+	 */
+	public DebounceController getDebounceController() {
+		return debounceController;
+	}
+
+	private IStatus performValidation(ICompilationUnit cu, IProgressMonitor monitor) throws JavaModelException {
 		long start = System.currentTimeMillis();
 
-		List<ICompilationUnit> cusToReconcile;
 		synchronized (toReconcile) {
-			if (toReconcile.isEmpty()) {
+			if (!toReconcile.remove(cu)) {
 				return Status.OK_STATUS;
 			}
-			cusToReconcile = new ArrayList<>(toReconcile.size());
-			cusToReconcile.addAll(toReconcile);
-			toReconcile.clear();
 		}
 		if (monitor.isCanceled()) {
+			requeue(cu);
 			return Status.CANCEL_STATUS;
 		}
-		// first reconcile all units with content changes
-		SubMonitor progress = SubMonitor.convert(monitor, cusToReconcile.size() + 1);
-		synchronized(reconcileLock) {
-			for (ICompilationUnit cu : cusToReconcile) {
-				if (monitor.isCanceled()) {
-					return Status.CANCEL_STATUS;
-				}
-				cu.makeConsistent(progress);
-				toValidate.add(cu);
-				//cu.reconcile(ICompilationUnit.NO_AST, false, null, progress.newChild(1));
+		synchronized (getReconcileLock(cu)) {
+			if (monitor.isCanceled()) {
+				requeue(cu);
+				return Status.CANCEL_STATUS;
 			}
+			reconcilePermits.acquireUninterruptibly();
+			try {
+				cu.makeConsistent(monitor);
+			} finally {
+				reconcilePermits.release();
+			}
+			if (isDiagnosticPullEnabled()) {
+				// the client pulls the diagnostics when it needs them, only the
+				// result ids of the dependent units change
+				addDependentUnits(cu);
+				return Status.OK_STATUS;
+			}
+			toValidate.add(cu);
 		}
 
-		JavaLanguageServerPlugin.logInfo("Reconciled " + cusToReconcile.size() + ". Took " + (System.currentTimeMillis() - start) + " ms");
+		JavaLanguageServerPlugin.logInfo("Reconciled " + cu.getElementName() + ". Took " + (System.currentTimeMillis() - start) + " ms");
 		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
 		}
-		if (publishDiagnosticsJob != null) {
-			publishDiagnosticsJob.cancel();
+		if (delayValidation) {
+			Job publishJob = publishDiagnosticsJobs.computeIfAbsent(cu, PublishDiagnosticJob::new);
+			publishJob.cancel();
 			try {
-				publishDiagnosticsJob.join();
+				publishJob.join();
 			} catch (InterruptedException e) {
 				// ignore
 			}
 			if (monitor.isCanceled()) {
 				return Status.CANCEL_STATUS;
 			}
-			publishDiagnosticsJob.schedule(getPublishDiagnosticsDelay());
+			publishJob.setPriority(getPriority(cu));
+			publishJob.schedule(debounceController.getPublishDiagnosticsDelay(cu));
 		} else {
 			return publishDiagnostics(new NullProgressMonitor());
 		}
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * Puts back a unit whose validation was cancelled before it was reconciled,
+	 * so that the next scheduled run still picks it up.
+	 */
+	private void requeue(ICompilationUnit cu) {
+		synchronized (toReconcile) {
+			if (cu.isWorkingCopy()) {
+				toReconcile.add(cu);
+			}
+		}
+	}
+
 	public IStatus validateDocument(String uri, boolean debounce, IProgressMonitor monitor) throws JavaModelException {
 		ICompilationUnit unit = resolveCompilationUnit(uri);
 		if (unit == null || unit.getResource() == null || unit.getResource().isDerived()) {
@@ -260,33 +352,34 @@ public abstract class BaseDocumentLifeCycleHandler {
 		}
 
 		toValidate.add(unit);
+		markActive(unit);
 		if (!unit.equals(sharedASTProvider.getActiveJavaElement())) {
 			sharedASTProvider.disposeAST();
 		}
 		sharedASTProvider.setActiveJavaElement(unit);
-		if (debounce && publishDiagnosticsJob != null) {
-			publishDiagnosticsJob.cancel();
-			publishDiagnosticsJob.setRule(null);
+		if (debounce && delayValidation) {
+			Job publishJob = publishDiagnosticsJobs.computeIfAbsent(unit, PublishDiagnosticJob::new);
+			publishJob.cancel();
+			publishJob.setRule(null);
 			if (monitor.isCanceled()) {
 				return Status.CANCEL_STATUS;
 			}
-			publishDiagnosticsJob.schedule(getPublishDiagnosticsDelay());
+			publishJob.setPriority(getPriority(unit));
+			publishJob.schedule(debounceController.getPublishDiagnosticsDelay(unit));
 			return Status.OK_STATUS;
 		}
 
 		return publishDiagnostics(monitor);
 	}
+
 	public IStatus publishDiagnostics(IProgressMonitor monitor) throws JavaModelException {
 		long start = System.currentTimeMillis();
 		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
 		}
-		Set<ICompilationUnit> validateCopy = new LinkedHashSet<>(toValidate);
-		// LinkedHashSet ensures explicitly requested CUs to validate are processed first
+		// the most recently focused or edited units are processed first
 		// as they're likely to be the one user is editing at the moment.
-		if (preferenceManager.getPreferences().isValidateAllOpenBuffersOnChanges()) {
-			toValidate.addAll(Arrays.asList(JavaCore.getWorkingCopies(null)));
-		}
+		List<ICompilationUnit> validateCopy = sortByActivity(toValidate);
 		if (validateCopy.isEmpty()) {
 			return Status.OK_STATUS;
 		}
@@ -300,13 +393,208 @@ public abstract class BaseDocumentLifeCycleHandler {
 			}
 			publishDiagnostics(rootToValidate, progress.newChild(1));
 			toValidate.remove(rootToValidate);
+			addDependentUnits(rootToValidate);
 		}
 		JavaLanguageServerPlugin.logInfo("Validated " + validateCopy.size() + ". Took " + (System.currentTimeMillis() - start) + " ms");
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * Publishes the diagnostics of a single unit. The other pending units,
+	 * including the open buffers depending on the unit revalidated because of
+	 * {@link org.eclipse.jdt.ls.core.internal.preferences.Preferences#isValidateAllOpenBuffersOnChanges()},
+	 * are left to a low priority background job.
+	 */
+	private IStatus publishUnitDiagnostics(ICompilationUnit unit, IProgressMonitor monitor) throws JavaModelException {
+		long start = System.currentTimeMillis();
+		if (monitor.isCanceled() || !toValidate.contains(unit)) {
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+		publishDiagnostics(unit, monitor);
+		if (monitor.isCanceled()) {
+			return Status.CANCEL_STATUS;
+		}
+		toValidate.remove(unit);
+		JavaLanguageServerPlugin.logInfo("Validated " + unit.getElementName() + ". Took " + (System.currentTimeMillis() - start) + " ms");
+		addDependentUnits(unit);
+		if (!toValidate.isEmpty()) {
+			pendingDiagnosticsJob.schedule(debounceController.getPublishDiagnosticsDelay(null));
+		}
+		return Status.OK_STATUS;
+	}
+
 	private void publishDiagnostics(ICompilationUnit unit, IProgressMonitor monitor) throws JavaModelException {
-		final BaseDiagnosticsHandler handler = createDiagnosticsHandler(unit);
+		if (isLargeFile(unit)) {
+			reportSyntaxDiagnostics(unit, createDiagnosticsHandler(unit), monitor);
+			return;
+		}
+		reconcileAndIndex(unit, createDiagnosticsHandler(unit), monitor);
+	}
+
+	/**
+	 * Reconciles the given unit, and records the types it references when the
+	 * open units depending on it are revalidated on changes.
+	 */
+	private void reconcileAndIndex(ICompilationUnit unit, BaseDiagnosticsHandler handler, IProgressMonitor monitor) throws JavaModelException {
+		// the dependencies of the open units are only needed to revalidate them
+		boolean indexDependencies = preferenceManager.getPreferences().isValidateAllOpenBuffersOnChanges() && unit.isWorkingCopy();
+		CompilationUnit astRoot = reconcile(unit, handler, indexDependencies ? IASTSharedValues.SHARED_AST_LEVEL : ICompilationUnit.NO_AST, monitor);
+		if (astRoot != null && !monitor.isCanceled()) {
+			dependencyIndex.updateReferences(unit, astRoot);
+		}
+	}
+
+	/**
+	 * Queues the validation of the open units which reference the types
+	 * declared by the given unit, when the signatures of these types changed.
+	 * When the client pulls the diagnostics, only their result ids change.
+	 */
+	private void addDependentUnits(ICompilationUnit unit) throws JavaModelException {
+		if (!preferenceManager.getPreferences().isValidateAllOpenBuffersOnChanges() || !unit.isWorkingCopy()) {
+			return;
+		}
+		Set<String> changedTypes = dependencyIndex.updateDeclarations(unit);
+		if (!changedTypes.isEmpty()) {
+			Set<ICompilationUnit> dependents = dependencyIndex.getDependents(unit, changedTypes, Arrays.asList(JavaCore.getWorkingCopies(null)));
+			for (ICompilationUnit dependent : dependents) {
+				invalidateDiagnostics(dependent);
+			}
+			if (!isDiagnosticPullEnabled()) {
+				toValidate.addAll(dependents);
+			}
+		}
+	}
+
+	/**
+	 * Parses the given unit, without resolving any binding, and publishes its
+	 * syntax errors. Nothing is published when the unit has no syntax error,
+	 * so that the diagnostics of the last semantic pass are kept, or when its
+	 * semantic reconcile already started: the full report of the semantic pass
+	 * replaces this one.
+	 */
+	private IStatus publishSyntaxDiagnostics(ICompilationUnit unit, IProgressMonitor monitor) throws JavaModelException {
+		long start = System.currentTimeMillis();
+		IProblem[] problems = parse(unit, monitor);
+		if (problems == null) {
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+		BaseDiagnosticsHandler handler = createDiagnosticsHandler(unit);
+		// the other problems of the parse, e.g. the task tags, are left to the semantic pass
+		problems = Stream.of(problems).filter(handler::isSyntaxLikeError).toArray(IProblem[]::new);
+		if (problems.length == 0) {
+			return Status.OK_STATUS;
+		}
+		synchronized (toReconcile) {
+			if (!toReconcile.contains(unit)) {
+				return Status.OK_STATUS;
+			}
+			reportSyntaxProblems(handler, problems);
+		}
+		JavaLanguageServerPlugin.logInfo("Parsed " + unit.getElementName() + ". Took " + (System.currentTimeMillis() - start) + " ms");
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * Reports the syntax errors of a unit in large file mode, in place of its
+	 * semantic reconcile. The report is made even when the unit parses cleanly,
+	 * to clear the errors previously reported.
+	 */
+	private void reportSyntaxDiagnostics(ICompilationUnit unit, BaseDiagnosticsHandler handler, IProgressMonitor monitor) throws JavaModelException {
+		long start = System.currentTimeMillis();
+		IProblem[] problems = parse(unit, monitor);
+		if (problems == null) {
+			return;
+		}
+		synchronized (getReconcileLock(unit)) {
+			reportSyntaxProblems(handler, problems);
+		}
+		JavaLanguageServerPlugin.logInfo("Parsed large file " + unit.getElementName() + ". Took " + (System.currentTimeMillis() - start) + " ms");
+	}
+
+	/**
+	 * Parses the given unit without resolving any binding.
+	 *
+	 * @return the problems of the parse, or <code>null</code> if the unit has
+	 *         no buffer or the monitor was cancelled
+	 */
+	private static IProblem[] parse(ICompilationUnit unit, IProgressMonitor monitor) throws JavaModelException {
+		IBuffer buffer = unit.getBuffer();
+		if (buffer == null || monitor.isCanceled()) {
+			return null;
+		}
+		ASTParser parser = ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+		parser.setSource(buffer.getCharacters());
+		parser.setUnitName(unit.getElementName());
+		parser.setCompilerOptions(unit.getJavaProject().getOptions(true));
+		parser.setResolveBindings(false);
+		parser.setStatementsRecovery(true);
+		CompilationUnit astRoot = (CompilationUnit) parser.createAST(monitor);
+		return monitor.isCanceled() ? null : astRoot.getProblems();
+	}
+
+	private static void reportSyntaxProblems(BaseDiagnosticsHandler handler, IProblem[] problems) {
+		handler.beginReporting();
+		for (IProblem problem : problems) {
+			if (handler.isSyntaxLikeError(problem)) {
+				handler.acceptProblem(problem);
+			}
+		}
+		handler.endReporting();
+	}
+
+	/**
+	 * Reconciles the given unit and returns its diagnostics, without publishing
+	 * them.
+	 *
+	 * @param unit
+	 *            the compilation unit
+	 * @param monitor
+	 *            the progress monitor
+	 * @return the diagnostics of the unit, never <code>null</code>
+	 * @throws JavaModelException
+	 */
+	public List<Diagnostic> computeDiagnostics(ICompilationUnit unit, IProgressMonitor monitor) throws JavaModelException {
+		BaseDiagnosticsHandler handler = createDiagnosticsHandler(unit);
+		handler.setPublish(false);
+		if (isLargeFile(unit)) {
+			reportSyntaxDiagnostics(unit, handler, monitor);
+		} else if (unit.isWorkingCopy()) {
+			reconcileAndIndex(unit, handler, monitor);
+		} else if (unit.getResource() != null && unit.getResource().isAccessible()) {
+			// the diagnostics of a unit which isn't open are the ones of its markers
+			try {
+				IMarker[] markers = unit.getResource().findMarkers(null, false, IResource.DEPTH_ONE);
+				IDocument document = JsonRpcHelpers.toDocument(unit.getBuffer());
+				return WorkspaceDiagnosticsHandler.toDiagnosticsArray(document, markers, preferenceManager.getClientPreferences().isDiagnosticTagSupported());
+			} catch (CoreException e) {
+				throw new JavaModelException(e);
+			}
+		}
+		List<Diagnostic> diagnostics = handler.getDiagnostics();
+		return diagnostics == null ? Collections.emptyList() : diagnostics;
+	}
+
+	/**
+	 * Returns an identifier of the diagnostics of the given document: it
+	 * changes with the version of the document, when it's reconciled, when its
+	 * markers change, and when an open unit it depends on changes.
+	 *
+	 * @param uri
+	 *            the document URI
+	 * @return the diagnostics identifier, or <code>null</code> if the document
+	 *         isn't open, in which case its diagnostics are always reported in
+	 *         full
+	 */
+	public String getDiagnosticsResultId(String uri) {
+		Integer version = documentVersions.get(uri);
+		ICompilationUnit unit = version == null ? null : resolveCompilationUnit(uri);
+		if (unit == null) {
+			return null;
+		}
+		return version + ":" + diagnosticsStamps.getOrDefault(unit, 0L);
+	}
+
+	private CompilationUnit reconcile(ICompilationUnit unit, BaseDiagnosticsHandler handler, int astLevel, IProgressMonitor monitor) throws JavaModelException {
 		WorkingCopyOwner wcOwner = new WorkingCopyOwner() {
 
 			/* (non-Javadoc)
@@ -334,21 +622,52 @@ public abstract class BaseDocumentLifeCycleHandler {
 
 		};
 		int flags = ICompilationUnit.FORCE_PROBLEM_DETECTION | ICompilationUnit.ENABLE_BINDINGS_RECOVERY | ICompilationUnit.ENABLE_STATEMENTS_RECOVERY;
-		synchronized(reconcileLock) {
-			unit.reconcile(ICompilationUnit.NO_AST, flags, wcOwner, monitor);
+		synchronized (getReconcileLock(unit)) {
+			reconcilePermits.acquireUninterruptibly();
+			try {
+				return unit.reconcile(astLevel, flags, wcOwner, monitor);
+			} finally {
+				reconcilePermits.release();
+			}
 		}
 	}
 
+	/**
+	 * Returns the lock guarding the reconciliation of the given unit. Units of
+	 * the same project are reconciled one at a time, while units of different
+	 * projects can be reconciled in parallel, up to
+	 * {@link #MAX_PARALLEL_RECONCILES}.
+	 *
+	 * @param unit
+	 *            the compilation unit to reconcile
+	 * @return the lock shared by all the units of the project of the given unit
+	 */
+	private Object getReconcileLock(ICompilationUnit unit) {
+		IJavaProject javaProject = unit.getJavaProject();
+		String key = javaProject == null ? "" : javaProject.getElementName();
+		return reconcileLocks.computeIfAbsent(key, k -> new Object());
+	}
+
 	public void didClose(DidCloseTextDocumentParams params) {
 		documentVersions.remove(params.getTextDocument().getUri());
 		lastSyncedDocumentLengths.remove(params.getTextDocument().getUri());
-		handleClosed(params);
+		if (removeFromOpenBatch(params.getTextDocument().getUri()) == null) {
+			handleClosed(params);
+		}
 	}
 
 	public void didOpen(DidOpenTextDocumentParams params) {
 		String uri = params.getTextDocument().getUri();
 		documentVersions.put(uri, params.getTextDocument().getVersion());
 		lastSyncedDocumentLengths.remove(params.getTextDocument().getUri());
+		if (addToOpenBatch(params)) {
+			return;
+		}
+		open(params);
+	}
+
+	private void open(DidOpenTextDocumentParams params) {
+		String uri = params.getTextDocument().getUri();
 		IFile resource = JDTUtils.findFile(uri);
 		if (resource != null) { // Open a managed file from the existing projects.
 			handleOpen(params);
@@ -363,12 +682,14 @@ public abstract class BaseDocumentLifeCycleHandler {
 
 	public void didChange(DidChangeTextDocumentParams params) {
 		documentVersions.put(params.getTextDocument().getUri(), params.getTextDocument().getVersion());
+		completeOpen(params.getTextDocument().getUri());
 		handleChanged(params);
 	}
 
 	public void didSave(DidSaveTextDocumentParams params) {
 		String documentUri = params.getTextDocument().getUri();
 		lastSyncedDocumentLengths.remove(documentUri);
+		completeOpen(documentUri);
 		IFile file = JDTUtils.findFile(params.getTextDocument().getUri());
 		if (file != null && !Objects.equals(ProjectsManager.getDefaultProject(), file.getProject())) {
 			// no need for a workspace runnable, change is trivial
@@ -427,33 +748,9 @@ public abstract class BaseDocumentLifeCycleHandler {
 			return unit;
 		}
 		try {
-			// The open event can happen before the workspace element added event when a new file is added.
-			// checks if the underlying resource exists and refreshes to sync the newly created file.
-			if (!unit.getResource().isAccessible()) {
-				try {
-					refreshLocalResource(unit.getResource(), IResource.DEPTH_ZERO, new NullProgressMonitor());
-					if (unit.getResource().exists()) {
-						IJavaElement parent = unit.getParent();
-						if (parent instanceof PackageFragment pkg) {
-							OpenableElementInfo elementInfo = (OpenableElementInfo) pkg.getElementInfo();
-							elementInfo.addChild(unit);
-						}
-					}
-				} catch (CoreException e) {
-					// ignored
-				}
-			}
-
-			// Update the static imports of current file as the favorite static members.
-			CompletionProposalUtils.addStaticImportsAsFavoriteImports(unit);
-			//			DiagnosticsHandler problemRequestor = new DiagnosticsHandler(connection, unit.getResource(), reportOnlySyntaxErrors);
-			unit.becomeWorkingCopy(new NullProgressMonitor());
-			IBuffer buffer = unit.getBuffer();
-			String newContent = params.getTextDocument().getText();
-			if (buffer != null && !buffer.getContents().equals(newContent)) {
-				buffer.setContents(newContent);
-			}
+			openWorkingCopy(uri, unit, params.getTextDocument().getText());
 			triggerValidation(unit);
+			triggerSyntaxValidation(unit);
 			// see https://github.com/redhat-developer/vscode-java/issues/274
 			checkPackageDeclaration(uri, unit);
 			inferInvisibleProjectSourceRoot(unit);
@@ -464,6 +761,41 @@ public abstract class BaseDocumentLifeCycleHandler {
 		return unit;
 	}
 
+	/**
+	 * Makes the given unit a working copy holding the given text.
+	 */
+	private void openWorkingCopy(String uri, ICompilationUnit unit, String text) throws JavaModelException {
+		// The open event can happen before the workspace element added event when a new file is added.
+		// checks if the underlying resource exists and refreshes to sync the newly created file.
+		if (!unit.getResource().isAccessible()) {
+			try {
+				refreshLocalResource(unit.getResource(), IResource.DEPTH_ZERO, new NullProgressMonitor());
+				if (unit.getResource().exists()) {
+					IJavaElement parent = unit.getParent();
+					if (parent instanceof PackageFragment pkg) {
+						OpenableElementInfo elementInfo = (OpenableElementInfo) pkg.getElementInfo();
+						elementInfo.addChild(unit);
+					}
+				}
+			} catch (CoreException e) {
+				// ignored
+			}
+		}
+
+		// A reopened document is always sent its diagnostics, even if unchanged.
+		createDiagnosticsHandler(unit).forgetPublishedDiagnostics();
+		// Update the static imports of current file as the favorite static members.
+		CompletionProposalUtils.addStaticImportsAsFavoriteImports(unit);
+		//			DiagnosticsHandler problemRequestor = new DiagnosticsHandler(connection, unit.getResource(), reportOnlySyntaxErrors);
+		unit.becomeWorkingCopy(new NullProgressMonitor());
+		IBuffer buffer = unit.getBuffer();
+		if (buffer != null && !buffer.getContents().equals(text)) {
+			buffer.setContents(text);
+		}
+		updateLargeFileMode(uri, unit);
+		markActive(unit);
+	}
+
 	public ICompilationUnit handleChanged(DidChangeTextDocumentParams params) {
 		String uri = params.getTextDocument().getUri();
 		ICompilationUnit unit = JDTUtils.resolveCompilationUnit(uri);
@@ -472,6 +804,7 @@ public abstract class BaseDocumentLifeCycleHandler {
 			return unit;
 		}
 
+		SpeculativeCompletion.cancel(uri);
 		try {
 			if (unit.equals(sharedASTProvider.getActiveJavaElement())) {
 				// We call clearReconciliation here in an attempt to prevent getAST calls on other threads
@@ -484,6 +817,8 @@ public abstract class BaseDocumentLifeCycleHandler {
 				CodeActionHandler.codeActionStore.clear();
 			}
 
+			// the offset following a member access or an annotation typed last
+			int triggerOffset = -1;
 			if (!preferenceManager.getClientPreferences().skipTextEventPropagation()) {
 				int currentBufferLength = unit.getBuffer().getLength();
 				if (lastSyncedDocumentLengths.containsKey(uri) && lastSyncedDocumentLengths.get(uri) != currentBufferLength) {
@@ -510,7 +845,7 @@ public abstract class BaseDocumentLifeCycleHandler {
 						length = DiagnosticsHelper.getLength(unit, range);
 					} else {
 						// range is optional and if not given, the whole file content is replaced
-						length = unit.getSource().length();
+						length = document.getLength();
 						startOffset = 0;
 					}
 
@@ -524,10 +859,17 @@ public abstract class BaseDocumentLifeCycleHandler {
 						edit = new ReplaceEdit(startOffset, length, text);
 					}
 					edit.apply(document, TextEdit.NONE);
+					triggerOffset = ".".equals(text) || "@".equals(text) ? startOffset + 1 : -1;
 				}
 				lastSyncedDocumentLengths.put(uri, unit.getBuffer().getLength());
 			}
+			markActive(unit);
+			debounceController.recordChange(unit);
 			triggerValidation(unit);
+			triggerSyntaxValidation(unit);
+			if (triggerOffset >= 0 && preferenceManager.getPreferences().isSpeculativeCompletionEnabled() && !JDTEnvironmentUtils.isSyntaxServer()) {
+				SpeculativeCompletion.schedule(unit, uri, params.getTextDocument().getVersion(), unit.getBuffer().getContents(), triggerOffset, preferenceManager);
+			}
 		} catch (JavaModelException | MalformedTreeException | BadLocationException e) {
 			JavaLanguageServerPlugin.logException("Error while handling document change. URI: " + uri, e);
 		}
@@ -546,6 +888,11 @@ public abstract class BaseDocumentLifeCycleHandler {
 				toReconcile.remove(unit);
 			}
 			toValidate.remove(unit);
+			cancelJob(validationJobs.remove(unit));
+			cancelJob(publishDiagnosticsJobs.remove(unit));
+			cancelJob(syntaxDiagnosticsJobs.remove(unit));
+			documentActivity.remove(unit);
+			JavaLanguageServerPlugin.getLargeFilePolicy().remove(unit);
 			if (isSyntaxMode(unit) || !unit.exists() || unit.getResource().isDerived()) {
 				createDiagnosticsHandler(unit).clearDiagnostics();
 			} else if (hasUnsavedChanges(unit)) {
@@ -555,6 +902,11 @@ public abstract class BaseDocumentLifeCycleHandler {
 			}
 			sharedASTProvider.disposeAST();
 			unit.discardWorkingCopy();
+			// the diagnostics of a closed document are only compared again once it's reopened
+			createDiagnosticsHandler(unit).forgetPublishedDiagnostics();
+			dependencyIndex.remove(unit);
+			diagnosticsStamps.remove(unit);
+			debounceController.remove(unit);
 			if (JDTUtils.isDefaultProject(unit)) {
 				File f = new File(unit.getUnderlyingResource().getLocationURI());
 				if (!f.exists()) {
@@ -568,6 +920,26 @@ public abstract class BaseDocumentLifeCycleHandler {
 		return unit;
 	}
 
+	private static boolean isLargeFile(ICompilationUnit unit) {
+		return JavaLanguageServerPlugin.getLargeFilePolicy().isLargeFile(unit);
+	}
+
+	/**
+	 * Measures the given unit when it is opened, and notifies the client when
+	 * it enters or leaves the large file mode.
+	 */
+	private void updateLargeFileMode(String uri, ICompilationUnit unit) throws JavaModelException {
+		LargeFilePolicy.Measures measures = JavaLanguageServerPlugin.getLargeFilePolicy().update(unit, preferenceManager.getPreferences());
+		if (measures == null) {
+			return;
+		}
+		JavaLanguageServerPlugin.logInfo((measures.isLarge() ? "Large file mode enabled for " : "Large file mode disabled for ") + unit.getElementName());
+		JavaClientConnection connection = JavaLanguageServerPlugin.getInstance().getClientConnection();
+		if (connection != null) {
+			connection.sendEventNotification(new EventNotification().withType(EventType.LargeFileModeChanged).withData(measures.toData(uri)));
+		}
+	}
+
 	private boolean hasUnsavedChanges(ICompilationUnit unit) throws CoreException {
 		if (!unit.hasUnsavedChanges()) {
 			return false;
@@ -651,6 +1023,154 @@ public abstract class BaseDocumentLifeCycleHandler {
 		return unit;
 	}
 
+	/**
+	 * Defers the opening of a document opened right after another one, along
+	 * with the other documents of the same batch, see {@link #OPEN_BATCH_WINDOW}.
+	 * Only its text is kept until then.
+	 *
+	 * @return <code>true</code> if the document is part of a batch, which is
+	 *         then opened by the {@link OpenBatchJob}
+	 */
+	private boolean addToOpenBatch(DidOpenTextDocumentParams params) {
+		if (!delayValidation) {
+			return false;
+		}
+		URI location = JDTUtils.toURI(params.getTextDocument().getUri());
+		if (location == null) {
+			return false;
+		}
+		long now = System.currentTimeMillis();
+		synchronized (openBatch) {
+			boolean batched = now - lastOpenTime < openBatchWindow;
+			lastOpenTime = now;
+			if (!batched) {
+				return false;
+			}
+			openBatch.put(location, params);
+		}
+		// wait until the batch is complete
+		if (openBatchJob.getState() != Job.RUNNING) {
+			openBatchJob.cancel();
+		}
+		openBatchJob.schedule(openBatchWindow);
+		return true;
+	}
+
+	/**
+	 * Removes the given document from the batch it's part of, and waits for its
+	 * opening if the {@link OpenBatchJob} is handling it.
+	 *
+	 * @return the open parameters of the document if it wasn't opened yet,
+	 *         <code>null</code> otherwise
+	 */
+	private DidOpenTextDocumentParams removeFromOpenBatch(String uri) {
+		URI location = JDTUtils.toURI(uri);
+		if (location == null) {
+			return null;
+		}
+		boolean opening;
+		synchronized (openBatch) {
+			DidOpenTextDocumentParams params = openBatch.remove(location);
+			if (params != null) {
+				return params;
+			}
+			opening = openingBatch.contains(location);
+		}
+		if (opening) {
+			try {
+				openBatchJob.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Opens the given document right away if it's still part of a batch, so
+	 * that the notifications about it apply to its working copy.
+	 */
+	private void completeOpen(String uri) {
+		DidOpenTextDocumentParams params = removeFromOpenBatch(uri);
+		if (params != null) {
+			open(params);
+		}
+	}
+
+	/**
+	 * Sets the delay within which the opened documents are handled as a batch.
+	 * For tests only.
+	 */
+	void setOpenBatchWindow(long openBatchWindow) {
+		this.openBatchWindow = openBatchWindow;
+	}
+
+	/**
+	 * Opens a batch of documents in a single workspace operation, including the
+	 * unmanaged files linked to the default or an invisible project. The source
+	 * roots are then inferred once per folder, and all the documents are
+	 * validated in a single pass, the most recently opened one first.
+	 */
+	private IStatus handleOpenBatch(IProgressMonitor monitor) throws CoreException {
+		List<DidOpenTextDocumentParams> batch;
+		synchronized (openBatch) {
+			batch = new ArrayList<>(openBatch.values());
+			openingBatch = new HashSet<>(openBatch.keySet());
+			openBatch.clear();
+		}
+		try {
+			List<ICompilationUnit> units = new ArrayList<>(batch.size());
+			for (DidOpenTextDocumentParams params : batch) {
+				String uri = params.getTextDocument().getUri();
+				ICompilationUnit unit = resolveCompilationUnit(uri);
+				if (unit == null || unit.getResource() == null || unit.getResource().isDerived()) {
+					continue;
+				}
+				try {
+					openWorkingCopy(uri, unit, params.getTextDocument().getText());
+					units.add(unit);
+				} catch (JavaModelException e) {
+					JavaLanguageServerPlugin.logException("Error while opening document. URI: " + uri, e);
+				}
+			}
+			return handleOpenBatch(sortByActivity(units), monitor);
+		} finally {
+			synchronized (openBatch) {
+				openingBatch = Collections.emptySet();
+			}
+		}
+	}
+
+	private IStatus handleOpenBatch(List<ICompilationUnit> units, IProgressMonitor monitor) throws CoreException {
+		if (units.isEmpty()) {
+			return Status.OK_STATUS;
+		}
+		Set<IPath> folders = new HashSet<>();
+		for (int i = 0; i < units.size(); i++) {
+			ICompilationUnit unit = units.get(i);
+			// see https://github.com/redhat-developer/vscode-java/issues/274
+			unit = checkPackageDeclaration(JDTUtils.toURI(unit), unit);
+			units.set(i, unit);
+			IPath location = unit.getResource() == null ? null : unit.getResource().getLocation();
+			if (location != null && folders.add(location.removeLastSegments(1))) {
+				inferInvisibleProjectSourceRoot(unit);
+			}
+		}
+		ICompilationUnit active = units.get(0);
+		if (isDiagnosticPullEnabled()) {
+			for (int i = units.size() - 1; i >= 0; i--) {
+				triggerValidation(units.get(i));
+			}
+		} else {
+			// the other documents are left to the pending diagnostics job,
+			// scheduled once the active one is published
+			toValidate.addAll(units.subList(1, units.size()));
+			triggerValidation(active);
+		}
+		triggerSyntaxValidation(active);
+		return Status.OK_STATUS;
+	}
+
 	/**
 	 * Infer the source root when the input compilation unit belongs to an
 	 * invisible project. See {@link BaseDocumentLifeCycleHandler#needInferSourceRoot()}
@@ -780,25 +1300,135 @@ public abstract class BaseDocumentLifeCycleHandler {
 	}
 
 	/**
+	 * Reconciles a single unit and schedules the publication of its diagnostics.
+	 */
+	private final class ValidationJob extends Job {
+
+		private final ICompilationUnit unit;
+
+		private ValidationJob(ICompilationUnit unit) {
+			super("Validate " + unit.getElementName());
+			this.unit = unit;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				long startTime = System.nanoTime();
+				IStatus status = performValidation(unit, monitor);
+				if (status.getSeverity() != IStatus.CANCEL) {
+					long elapsedTime = System.nanoTime() - startTime;
+					debounceController.recordValidation(unit, elapsedTime / 1_000_000);
+				}
+				return status;
+			} catch (JavaModelException e) {
+				return e.getStatus();
+			}
+		}
+
+		/* (non-Javadoc)
+		 * @see org.eclipse.core.runtime.jobs.Job#belongsTo(java.lang.Object)
+		 */
+		@Override
+		public boolean belongsTo(Object family) {
+			return DOCUMENT_LIFE_CYCLE_JOBS.equals(family) || unit.equals(family);
+		}
+	}
+
+	/**
+	 * Completes the opening of the documents of a batch, see
+	 * {@link BaseDocumentLifeCycleHandler#addToOpenBatch(ICompilationUnit)}.
+	 */
+	private final class OpenBatchJob extends WorkspaceJob {
+
+		private OpenBatchJob() {
+			super("Open Documents");
+			setSystem(true);
+		}
+
+		@Override
+		public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
+			return handleOpenBatch(monitor);
+		}
+
+		/* (non-Javadoc)
+		 * @see org.eclipse.core.runtime.jobs.Job#belongsTo(java.lang.Object)
+		 */
+		@Override
+		public boolean belongsTo(Object family) {
+			if (DOCUMENT_LIFE_CYCLE_JOBS.equals(family)) {
+				return true;
+			}
+			if (family instanceof ICompilationUnit unit) {
+				URI location = JDTUtils.toURI(JDTUtils.toURI(unit));
+				synchronized (openBatch) {
+					return location != null && (openBatch.containsKey(location) || openingBatch.contains(location));
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Publishes the syntax errors of a single unit, before its semantic
+	 * reconcile.
+	 */
+	private final class SyntaxDiagnosticJob extends Job {
+
+		private final ICompilationUnit unit;
+
+		private SyntaxDiagnosticJob(ICompilationUnit unit) {
+			super("Publish Syntax Diagnostics");
+			this.unit = unit;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				return publishSyntaxDiagnostics(unit, monitor);
+			} catch (JavaModelException e) {
+				return e.getStatus();
+			}
+		}
+
+		/* (non-Javadoc)
+		 * @see org.eclipse.core.runtime.jobs.Job#belongsTo(java.lang.Object)
+		 */
+		@Override
+		public boolean belongsTo(Object family) {
+			return DOCUMENT_LIFE_CYCLE_JOBS.equals(family) || unit.equals(family);
+		}
+	}
+
+	/**
+	 * Publishes the diagnostics of a single unit, or of all the pending units
+	 * when no unit is given.
+	 *
 	 * @author mistria
 	 *
 	 */
 	private final class PublishDiagnosticJob extends Job {
+
+		private final ICompilationUnit unit;
+
 		/**
-		 * @param rule
+		 * @param unit
+		 *            the unit to publish the diagnostics for, or
+		 *            <code>null</code> for all the pending units
 		 */
-		private PublishDiagnosticJob() {
+		private PublishDiagnosticJob(ICompilationUnit unit) {
 			super("Publish Diagnostics");
+			this.unit = unit;
 		}
 
 		@Override
 		public IStatus run(IProgressMonitor monitor) {
 			try {
 				long startTime = System.nanoTime();
-				IStatus status = publishDiagnostics(monitor);
+				IStatus status = unit == null ? publishDiagnostics(monitor) : publishUnitDiagnostics(unit, monitor);
 				if (status.getSeverity() != IStatus.CANCEL) {
 					long elapsedTime = System.nanoTime() - startTime;
-					movingAverageForDiagnostics.update(elapsedTime / 1_000_000);
+					debounceController.recordPublish(unit, elapsedTime / 1_000_000);
 				}
 				return status;
 			} catch (JavaModelException e) {
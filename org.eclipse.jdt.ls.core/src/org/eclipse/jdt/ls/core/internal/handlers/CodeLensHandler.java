@@ -182,7 +182,7 @@ public class CodeLensHandler {
 				return Collections.emptyList();
 			}
 		} else {
-			if (!unit.getResource().exists() || monitor.isCanceled()) {
+			if (!unit.getResource().exists() || monitor.isCanceled() || JavaLanguageServerPlugin.getLargeFilePolicy().isLargeFile(unit)) {
 				return Collections.emptyList();
 			}
 		}
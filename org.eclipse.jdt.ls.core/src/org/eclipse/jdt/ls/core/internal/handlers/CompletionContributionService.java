@@ -12,19 +12,61 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
-import org.eclipse.jdt.ls.core.contentassist.ICompletionRankingProvider;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.CompletionContext;
+import org.eclipse.jdt.core.CompletionProposal;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.ls.core.contentassist.CompletionRanking;
 import org.eclipse.jdt.ls.core.contentassist.ICompletionContributionService;
+import org.eclipse.jdt.ls.core.contentassist.ICompletionRankingProvider;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 
 public class CompletionContributionService implements ICompletionContributionService {
 
+	/**
+	 * The providers of a request rank in parallel
+	 */
+	private static final int MAX_THREADS = 4;
+
+	/**
+	 * The rankings waiting for a thread, from requests typed in quick
+	 * succession. Beyond that, the providers are skipped.
+	 */
+	private static final int MAX_QUEUED_RANKINGS = 16;
+
+	private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+	/**
+	 * The time given to the providers to rank the proposals of a request, in
+	 * ms. The rankings of the providers which don't answer in time are
+	 * dropped.
+	 */
+	private static long timeout = Long.getLong("completion.ranking.timeout", 200);
+
 	private List<ICompletionRankingProvider> providers;
 
+	private final Map<ICompletionRankingProvider, ProviderStatistics> statistics = new ConcurrentHashMap<>();
 
 	public CompletionContributionService() {
-		this.providers = new LinkedList<>();
+		this.providers = new CopyOnWriteArrayList<>();
 	}
 
 	public List<ICompletionRankingProvider> getRankingProviders() {
@@ -50,5 +92,139 @@ public class CompletionContributionService implements ICompletionContributionSer
 			return;
 		}
 		this.providers.removeIf(p -> p.equals(provider));
+		this.statistics.keySet().removeIf(p -> p.equals(provider));
+	}
+
+	/**
+	 * Ranks the proposals with the registered providers. The providers rank in
+	 * parallel, and are given the ranking timeout in total: the rankings of the
+	 * providers which fail, or don't answer in time, are dropped, and the late
+	 * providers see their monitor cancelled.
+	 *
+	 * @return the rankings of the providers which answered in time, in the
+	 *         order of the providers. Each has one element per proposal.
+	 */
+	public List<CompletionRanking[]> rank(List<CompletionProposal> proposals, CompletionContext context, ICompilationUnit unit, IProgressMonitor monitor) {
+		if (providers.isEmpty()) {
+			return Collections.emptyList();
+		}
+		// the proposals are sorted once ranked, while the late providers may still read them
+		List<CompletionProposal> snapshot = Collections.unmodifiableList(new ArrayList<>(proposals));
+		RankingMonitor rankingMonitor = new RankingMonitor(monitor);
+		Map<ICompletionRankingProvider, CompletableFuture<CompletionRanking[]>> futures = new LinkedHashMap<>();
+		for (ICompletionRankingProvider provider : providers) {
+			ProviderStatistics providerStatistics = getStatistics(provider);
+			providerStatistics.calls.incrementAndGet();
+			try {
+				futures.put(provider, CompletableFuture.supplyAsync(() -> {
+					long start = System.nanoTime();
+					try {
+						return provider.rank(snapshot, context, unit, rankingMonitor);
+					} finally {
+						providerStatistics.latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+					}
+				}, EXECUTOR));
+			} catch (RejectedExecutionException e) {
+				providerStatistics.rejected.incrementAndGet();
+			}
+		}
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+		List<CompletionRanking[]> result = new ArrayList<>(futures.size());
+		try {
+			for (Map.Entry<ICompletionRankingProvider, CompletableFuture<CompletionRanking[]>> entry : futures.entrySet()) {
+				ProviderStatistics providerStatistics = getStatistics(entry.getKey());
+				try {
+					CompletionRanking[] rankings = entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+					if (rankings != null && rankings.length == snapshot.size()) {
+						result.add(rankings);
+					}
+				} catch (TimeoutException e) {
+					providerStatistics.timeouts.incrementAndGet();
+				} catch (ExecutionException e) {
+					providerStatistics.failures.incrementAndGet();
+					JavaLanguageServerPlugin.logException("Failed to rank the completion proposals with " + entry.getKey().getClass().getName(), e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			rankingMonitor.setCanceled(true);
+		}
+		return result;
+	}
+
+	/**
+	 * @return the number of calls, timeouts, failures and rejections, and the
+	 *         latency in ms, of each provider
+	 */
+	public Map<String, Object> getStatistics() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("timeout", timeout);
+		result.put("activeThreads", EXECUTOR.getActiveCount());
+		result.put("queuedRankings", EXECUTOR.getQueue().size());
+		Map<String, Object> providerStatistics = new LinkedHashMap<>();
+		for (ICompletionRankingProvider provider : providers) {
+			ProviderStatistics s = getStatistics(provider);
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put("calls", s.calls.get());
+			map.put("timeouts", s.timeouts.get());
+			map.put("failures", s.failures.get());
+			map.put("rejected", s.rejected.get());
+			map.put("latency", s.latency.toMap());
+			providerStatistics.put(provider.getClass().getName(), map);
+		}
+		result.put("providers", providerStatistics);
+		return result;
+	}
+
+	/**
+	 * Sets the time given to the providers to rank the proposals of a request.
+	 *
+	 * @param timeout
+	 *            the timeout in ms, or a value &lt;= 0 to restore the default
+	 */
+	public static void setTimeout(long timeout) {
+		CompletionContributionService.timeout = timeout > 0 ? timeout : Long.getLong("completion.ranking.timeout", 200);
+	}
+
+	private ProviderStatistics getStatistics(ICompletionRankingProvider provider) {
+		return statistics.computeIfAbsent(provider, p -> new ProviderStatistics());
+	}
+
+	private static ThreadPoolExecutor createExecutor() {
+		AtomicInteger threadCount = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(MAX_QUEUED_RANKINGS), r -> {
+			Thread thread = new Thread(r, "Completion Ranking-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	private static final class ProviderStatistics {
+		private final AtomicLong calls = new AtomicLong();
+		private final AtomicLong timeouts = new AtomicLong();
+		private final AtomicLong failures = new AtomicLong();
+		private final AtomicLong rejected = new AtomicLong();
+		private final LatencyStatistics latency = new LatencyStatistics();
+	}
+
+	/**
+	 * The monitor of the providers, cancelled with the request, or once the
+	 * rankings were collected.
+	 */
+	private static final class RankingMonitor extends NullProgressMonitor {
+
+		private final IProgressMonitor monitor;
+
+		private RankingMonitor(IProgressMonitor monitor) {
+			this.monitor = monitor;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return super.isCanceled() || (monitor != null && monitor.isCanceled());
+		}
 	}
 }
@@ -45,10 +45,11 @@ import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.contentassist.ChainCompletionProposalComputer;
 import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalRequestor;
-import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalUtils;
+import org.eclipse.jdt.ls.core.internal.contentassist.FavoriteMembersIndex;
 import org.eclipse.jdt.ls.core.internal.contentassist.JavadocCompletionProposal;
 import org.eclipse.jdt.ls.core.internal.contentassist.SnippetCompletionProposal;
 import org.eclipse.jdt.ls.core.internal.contentassist.SortTextHelper;
+import org.eclipse.jdt.ls.core.internal.handlers.CompletionStatistics.Phase;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.syntaxserver.ModelBasedCompletionEngine;
 import org.eclipse.lsp4j.Command;
@@ -60,6 +61,7 @@ import org.eclipse.lsp4j.CompletionOptions;
 import org.eclipse.lsp4j.CompletionParams;
 import org.eclipse.lsp4j.CompletionTriggerKind;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 
@@ -105,6 +107,12 @@ public class CompletionHandler{
 	// be used by features like inlay hint.
 	public static CompletionProposal selectedProposal;
 
+	/**
+	 * The proposals of the last completion request, refined by the next request
+	 * when only identifier characters were typed since.
+	 */
+	private static volatile CompletionSession session;
+
 	private PreferenceManager manager;
 
 	public CompletionHandler(PreferenceManager manager) {
@@ -114,6 +122,7 @@ public class CompletionHandler{
 	public Either<List<CompletionItem>, CompletionList> completion(CompletionParams params,
 			IProgressMonitor monitor) {
 		long startTime = System.currentTimeMillis();
+		long start = System.nanoTime();
 		CompletionList $ = null;
 		try {
 			ICompilationUnit unit = JDTUtils.resolveCompilationUnit(params.getTextDocument().getUri());
@@ -169,6 +178,7 @@ public class CompletionHandler{
 			}
 			completionResponse.setCommonData(CompletionRanking.COMPLETION_EXECUTION_TIME, String.valueOf(executionTime));
 		}
+		CompletionStatistics.record(Phase.TOTAL, start);
 		return Either.forRight($);
 	}
 
@@ -181,8 +191,7 @@ public class CompletionHandler{
 		int pId = Integer.parseInt(proposalId);
 		long rId = Long.parseLong(requestId);
 		CompletionResponse completionResponse = CompletionResponses.get(rId);
-		if (completionResponse == null || completionResponse.getItems().size() <= pId
-				|| completionResponse.getProposals().size() <= pId) {
+		if (completionResponse == null || completionResponse.getProposals().size() <= pId) {
 			throw ExceptionFactory.newException("Cannot get completion responses.");
 		}
 
@@ -196,7 +205,7 @@ public class CompletionHandler{
 				|| proposal.getKind() == CompletionProposal.METHOD_REF_WITH_CASTED_RECEIVER) {
 			selectedProposal = proposal;
 		}
-		CompletionItem item = completionResponse.getItems().get(pId);
+		CompletionItem item = completionResponse.getItem(pId);
 		if (item == null) {
 			throw ExceptionFactory.newException("Cannot get the completion item.");
 		}
@@ -243,30 +252,45 @@ public class CompletionHandler{
 			}
 		}
 
-		CompletionProposalUtils.addStaticImportsAsFavoriteImports(unit);
+		FavoriteMembersIndex favoriteMembersIndex = JavaLanguageServerPlugin.getFavoriteMembersIndex();
+		if (favoriteMembersIndex != null) {
+			favoriteMembersIndex.ensureIndexed(unit);
+		}
 		List<CompletionItem> proposals = new ArrayList<>();
 
 		final int offset = JsonRpcHelpers.toOffset(unit.getBuffer(), params.getPosition().getLine(), params.getPosition().getCharacter());
-		CompletionProposalRequestor collector = new CompletionProposalRequestor(unit, offset, manager);
-		// Allow completions for unresolved types - since 3.3
-		collector.setAllowsRequiredProposals(CompletionProposal.FIELD_REF, CompletionProposal.TYPE_REF, true);
-		collector.setAllowsRequiredProposals(CompletionProposal.FIELD_REF, CompletionProposal.TYPE_IMPORT, true);
-		collector.setAllowsRequiredProposals(CompletionProposal.FIELD_REF, CompletionProposal.FIELD_IMPORT, true);
-
-		collector.setAllowsRequiredProposals(CompletionProposal.METHOD_REF, CompletionProposal.TYPE_REF, true);
-		collector.setAllowsRequiredProposals(CompletionProposal.METHOD_REF, CompletionProposal.TYPE_IMPORT, true);
-		collector.setAllowsRequiredProposals(CompletionProposal.METHOD_REF, CompletionProposal.METHOD_IMPORT, true);
-
-		collector.setAllowsRequiredProposals(CompletionProposal.CONSTRUCTOR_INVOCATION, CompletionProposal.TYPE_REF, true);
-
-		collector.setAllowsRequiredProposals(CompletionProposal.ANONYMOUS_CLASS_CONSTRUCTOR_INVOCATION, CompletionProposal.TYPE_REF, true);
-		collector.setAllowsRequiredProposals(CompletionProposal.ANONYMOUS_CLASS_DECLARATION, CompletionProposal.TYPE_REF, true);
-
-		collector.setAllowsRequiredProposals(CompletionProposal.TYPE_REF, CompletionProposal.TYPE_REF, true);
-		collector.setFavoriteReferences(getFavoriteStaticMembers());
+		String uri = params.getTextDocument().getUri();
+		IBuffer buffer = unit.getBuffer();
+		String contents = buffer == null ? null : buffer.getContents();
+		// the chain completions depend on the prefix, a session can't be refined when they are computed
+		boolean chainCompletion = manager.getPreferences().isChainCompletionEnabled() && (params.getContext() == null || params.getContext().getTriggerKind() != CompletionTriggerKind.TriggerCharacter)
+				&& !JavaLanguageServerPlugin.getLargeFilePolicy().isLargeFile(unit);
+		CompletionSession previousSession = session;
+		session = null;
+		CompletionProposalRequestor collector = null;
+		if (previousSession != null && contents != null && offset > -1 && !completionForConstructor && !chainCompletion) {
+			long start = System.nanoTime();
+			collector = previousSession.refine(uri, contents, offset, manager.getPreferences(), manager.getClientPreferences());
+			CompletionStatistics.record(Phase.REFINE, start);
+		}
+		boolean refined = collector != null;
+		boolean speculative = false;
+		if (!refined && contents != null && offset > -1 && !completionForConstructor) {
+			// the proposals computed in the background since a trigger character was typed
+			long start = System.nanoTime();
+			collector = SpeculativeCompletion.take(uri, contents, offset, manager.getPreferences(), manager.getClientPreferences(), monitor);
+			speculative = collector != null;
+			if (speculative) {
+				CompletionStatistics.record(Phase.CODE_COMPLETE, start);
+			}
+		} else {
+			SpeculativeCompletion.cancel(null);
+		}
+		if (collector == null) {
+			collector = createCollector(unit, offset, manager);
+		}
 
 		if (offset >-1 && !monitor.isCanceled()) {
-			IBuffer buffer = unit.getBuffer();
 			if (buffer != null && buffer.getLength() >= offset) {
 				IProgressMonitor subMonitor = new ProgressMonitorWrapper(monitor) {
 					private long timeLimit;
@@ -284,21 +308,54 @@ public class CompletionHandler{
 
 				};
 				try {
-					if (isIndexEngineEnabled()) {
-						unit.codeComplete(offset, collector, subMonitor);
+					// the proposals of chain completions and Javadoc depend on the prefix, they can't be refined
+					boolean refinable = !completionForConstructor;
+					if (!refined) {
+						if (speculative) {
+							// starts the timeout of the chain completions and the snippets
+							subMonitor.beginTask("", IProgressMonitor.UNKNOWN);
+						} else {
+							long start = System.nanoTime();
+							if (isIndexEngineEnabled()) {
+								unit.codeComplete(offset, collector, subMonitor);
+							} else {
+								ModelBasedCompletionEngine.codeComplete(unit, offset, collector, DefaultWorkingCopyOwner.PRIMARY, subMonitor);
+							}
+							CompletionStatistics.record(Phase.CODE_COMPLETE, start);
+						}
+						// chain completions are added into collector while computing, so we need me compute before adding completion items to proposals.
+						if (chainCompletion) {
+							start = System.nanoTime();
+							ChainCompletionProposalComputer chain = new ChainCompletionProposalComputer(unit, collector, this.isSnippetStringSupported());
+							chain.computeCompletionProposals(subMonitor);
+							CompletionStatistics.record(Phase.CHAIN_SEARCH, start);
+							refinable = false;
+						}
 					} else {
-						ModelBasedCompletionEngine.codeComplete(unit, offset, collector, DefaultWorkingCopyOwner.PRIMARY, subMonitor);
-					}
-					// chain completions are added into collector while computing, so we need me compute before adding completion items to proposals.
-					if (manager.getPreferences().isChainCompletionEnabled() && params.getContext().getTriggerKind() != CompletionTriggerKind.TriggerCharacter) {
-						ChainCompletionProposalComputer chain = new ChainCompletionProposalComputer(unit, collector, this.isSnippetStringSupported());
-						chain.computeCompletionProposals();
+						// starts the timeout of the snippets
+						subMonitor.beginTask("", IProgressMonitor.UNKNOWN);
 					}
 					proposals.addAll(collector.getCompletionItems());
 					if (isSnippetStringSupported() && !UNSUPPORTED_RESOURCES.contains(unit.getResource().getName())) {
-						proposals.addAll(SnippetCompletionProposal.getSnippets(unit, collector, subMonitor));
+						long start = System.nanoTime();
+						List<CompletionItem> snippets = SnippetCompletionProposal.getSnippets(unit, collector, subMonitor);
+						CompletionStatistics.record(Phase.SNIPPETS, start);
+						if (refined) {
+							extendTextEdits(snippets, params.getPosition());
+						}
+						proposals.addAll(snippets);
+					}
+					if (!refined) {
+						long start = System.nanoTime();
+						List<CompletionItem> javadocProposals = new JavadocCompletionProposal().getProposals(unit, offset, collector, subMonitor);
+						CompletionStatistics.record(Phase.JAVADOC, start);
+						refinable &= javadocProposals.isEmpty();
+						proposals.addAll(javadocProposals);
+					}
+					if (!subMonitor.isCanceled() && contents != null) {
+						session = refined ? previousSession.next(contents, offset, collector)
+								: refinable ? CompletionSession.create(uri, contents, offset, manager.getPreferences(), manager.getClientPreferences(), collector) : null;
 					}
-					proposals.addAll(new JavadocCompletionProposal().getProposals(unit, offset, collector, subMonitor));
 				} catch (OperationCanceledException e) {
 					monitor.setCanceled(true);
 				}
@@ -336,7 +393,48 @@ public class CompletionHandler{
 		return list;
 	}
 
-	private String[] getFavoriteStaticMembers() {
+	/**
+	 * The snippets of a refined completion are computed from the context of the
+	 * first request of its session: their text edits are extended over the
+	 * characters typed since.
+	 */
+	private static void extendTextEdits(List<CompletionItem> items, Position position) {
+		for (CompletionItem item : items) {
+			if (item.getTextEdit() != null && item.getTextEdit().isLeft()) {
+				Range range = item.getTextEdit().getLeft().getRange();
+				if (range.getEnd().getLine() == position.getLine()) {
+					range.setEnd(position);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return a requestor collecting the proposals of the completion engine at
+	 *         the given offset
+	 */
+	static CompletionProposalRequestor createCollector(ICompilationUnit unit, int offset, PreferenceManager manager) {
+		CompletionProposalRequestor collector = new CompletionProposalRequestor(unit, offset, manager);
+		// Allow completions for unresolved types - since 3.3
+		collector.setAllowsRequiredProposals(CompletionProposal.FIELD_REF, CompletionProposal.TYPE_REF, true);
+		collector.setAllowsRequiredProposals(CompletionProposal.FIELD_REF, CompletionProposal.TYPE_IMPORT, true);
+		collector.setAllowsRequiredProposals(CompletionProposal.FIELD_REF, CompletionProposal.FIELD_IMPORT, true);
+
+		collector.setAllowsRequiredProposals(CompletionProposal.METHOD_REF, CompletionProposal.TYPE_REF, true);
+		collector.setAllowsRequiredProposals(CompletionProposal.METHOD_REF, CompletionProposal.TYPE_IMPORT, true);
+		collector.setAllowsRequiredProposals(CompletionProposal.METHOD_REF, CompletionProposal.METHOD_IMPORT, true);
+
+		collector.setAllowsRequiredProposals(CompletionProposal.CONSTRUCTOR_INVOCATION, CompletionProposal.TYPE_REF, true);
+
+		collector.setAllowsRequiredProposals(CompletionProposal.ANONYMOUS_CLASS_CONSTRUCTOR_INVOCATION, CompletionProposal.TYPE_REF, true);
+		collector.setAllowsRequiredProposals(CompletionProposal.ANONYMOUS_CLASS_DECLARATION, CompletionProposal.TYPE_REF, true);
+
+		collector.setAllowsRequiredProposals(CompletionProposal.TYPE_REF, CompletionProposal.TYPE_REF, true);
+		collector.setFavoriteReferences(getFavoriteStaticMembers());
+		return collector;
+	}
+
+	private static String[] getFavoriteStaticMembers() {
 		PreferenceManager preferenceManager = JavaLanguageServerPlugin.getPreferencesManager();
 		if (preferenceManager != null) {
 			return preferenceManager.getPreferences().getJavaCompletionFavoriteMembers();
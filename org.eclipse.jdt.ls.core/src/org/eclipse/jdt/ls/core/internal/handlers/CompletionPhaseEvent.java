@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import org.eclipse.jdt.ls.core.internal.handlers.CompletionStatistics.Phase;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A phase of a completion request, reported to Java Flight Recorder. The
+ * event is disabled unless a recording enables it.
+ */
+@Name("org.eclipse.jdt.ls.CompletionPhase")
+@Label("Completion Phase")
+@Description("The latency of a phase of a completion request")
+@Category({ "Java Language Server", "Completion" })
+@Enabled(false)
+@StackTrace(false)
+final class CompletionPhaseEvent extends Event {
+
+	@Label("Phase")
+	String phase;
+
+	@Label("Elapsed")
+	@Timespan(Timespan.MICROSECONDS)
+	long elapsed;
+
+	static void report(Phase phase, long elapsed) {
+		CompletionPhaseEvent event = new CompletionPhaseEvent();
+		if (event.isEnabled()) {
+			event.phase = phase.getLabel();
+			event.elapsed = elapsed;
+			event.commit();
+		}
+	}
+}
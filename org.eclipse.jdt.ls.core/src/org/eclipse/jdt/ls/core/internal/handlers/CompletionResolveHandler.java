@@ -87,6 +87,11 @@ public class CompletionResolveHandler {
 	public static final String DATA_FIELD_URI = "uri";
 	public static final String DATA_FIELD_REQUEST_ID = "rid";
 	public static final String DATA_FIELD_PROPOSAL_ID = "pid";
+	/**
+	 * The number of fully built items of a completion response, the text edits
+	 * of the following items are computed when they are resolved.
+	 */
+	public static final String DATA_FIELD_MAX_RESOLVED = "maxResolved";
 
 	public CompletionItem resolve(CompletionItem param, IProgressMonitor monitor) {
 
@@ -115,6 +120,10 @@ public class CompletionResolveHandler {
 		}
 
 		CompletionProposal proposal = completionResponse.getProposals().get(proposalId);
+		if (proposal == null) {
+			// dropped from the cached response
+			return param;
+		}
 		// generic snippets
 		if (param.getKind() == CompletionItemKind.Snippet) {
 			try {
@@ -161,7 +170,9 @@ public class CompletionResolveHandler {
 			return param;
 		}
 
-		if (manager.getClientPreferences().isResolveAdditionalTextEditsSupport()) {
+		String maxResolved = completionResponse.getCommonData(DATA_FIELD_MAX_RESOLVED);
+		boolean unresolved = maxResolved != null && proposalId >= Integer.parseInt(maxResolved);
+		if (unresolved || manager.getClientPreferences().isResolveAdditionalTextEditsSupport()) {
 			CompletionProposalReplacementProvider proposalProvider = new CompletionProposalReplacementProvider(
 				unit,
 				completionResponse.getContext(),
@@ -170,6 +181,11 @@ public class CompletionResolveHandler {
 				manager.getClientPreferences(),
 				true
 			);
+			if (unresolved) {
+				// the placeholders of the text edit
+				param.setInsertText(null);
+				param.setTextEditText(null);
+			}
 			proposalProvider.updateReplacement(proposal, param, '\0');
 		}
 
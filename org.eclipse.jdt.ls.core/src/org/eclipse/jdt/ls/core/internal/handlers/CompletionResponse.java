@@ -12,6 +12,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -21,15 +23,24 @@ import java.util.concurrent.atomic.AtomicLong;
 import org.eclipse.jdt.core.CompletionContext;
 import org.eclipse.jdt.core.CompletionProposal;
 import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionItemKind;
+import org.eclipse.lsp4j.InsertReplaceEdit;
+import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 /**
  * Class representing {@link CompletionProposal} responses to for a given {@link CompletionContext}.
+ * The proposals are kept in an array indexed by the proposal id. Of the
+ * completion items, only the fields needed when an item is selected are kept,
+ * the items being sent to the client.
  *
  * @author Fred Bricon
  */
 public class CompletionResponse {
 
 	private static AtomicLong idSeed = new AtomicLong(0);
+	private static final int REFERENCE_SIZE = 8;
+	private static final int OBJECT_SIZE = 64;
 	private Long id;
 	private int offset;
 	private CompletionContext context;
@@ -37,8 +48,17 @@ public class CompletionResponse {
 	 * Stores the data that are common among the completion items.
 	 */
 	private Map<String, String> commonData = new HashMap<>();
-	private List<CompletionProposal> proposals;
-	private List<CompletionItem> items;
+	private CompletionProposal[] proposals;
+	private String[] labels;
+	private CompletionItemKind[] kinds;
+	private String[] details;
+	private String[] sortTexts;
+	private String[] filterTexts;
+	private List<Either<TextEdit, InsertReplaceEdit>> textEdits;
+	/**
+	 * The estimated number of bytes retained by the response.
+	 */
+	private long size = -1;
 	/**
 	 * Stores the data that are specific to each completion item.
 	 * Those data are contributed by the ranking providers.
@@ -81,13 +101,14 @@ public class CompletionResponse {
 	 * @return the proposals
 	 */
 	public List<CompletionProposal> getProposals() {
-		return proposals;
+		return proposals == null ? null : Arrays.asList(proposals);
 	}
 	/**
 	 * @param proposals the proposals to set
 	 */
 	public void setProposals(List<CompletionProposal> proposals) {
-		this.proposals = proposals;
+		this.proposals = proposals.toArray(new CompletionProposal[proposals.size()]);
+		this.size = -1;
 	}
 	/**
 	 * @return the offset
@@ -103,17 +124,52 @@ public class CompletionResponse {
 	}
 
 	/**
-	 * @return the completion items.
+	 * Returns a completion item holding the label, the kind, the detail, the
+	 * sort and filter texts, the text edit and the data of the item sent to
+	 * the client with the given proposal id.
+	 *
+	 * @param index
+	 *            the proposal id
+	 * @return the completion item, or <code>null</code> if there is none with
+	 *         the given proposal id.
 	 */
-	public List<CompletionItem> getItems() {
-		return items;
+	public CompletionItem getItem(int index) {
+		if (labels == null || index < 0 || index >= labels.length) {
+			return null;
+		}
+		CompletionItem item = new CompletionItem(labels[index]);
+		item.setKind(kinds[index]);
+		item.setDetail(details[index]);
+		item.setSortText(sortTexts[index]);
+		item.setFilterText(filterTexts[index]);
+		item.setTextEdit(textEdits.get(index));
+		Map<String, String> data = new HashMap<>();
+		data.put(CompletionResolveHandler.DATA_FIELD_REQUEST_ID, String.valueOf(id));
+		data.put(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID, String.valueOf(index));
+		item.setData(data);
+		return item;
 	}
 
 	/**
 	 * @param items the completion items
 	 */
 	public void setItems(List<CompletionItem> items) {
-		this.items = items;
+		labels = new String[items.size()];
+		kinds = new CompletionItemKind[items.size()];
+		details = new String[items.size()];
+		sortTexts = new String[items.size()];
+		filterTexts = new String[items.size()];
+		textEdits = new ArrayList<>(items.size());
+		for (int i = 0; i < labels.length; i++) {
+			CompletionItem item = items.get(i);
+			labels[i] = item.getLabel();
+			kinds[i] = item.getKind();
+			details[i] = item.getDetail();
+			sortTexts[i] = item.getSortText();
+			filterTexts[i] = item.getFilterText();
+			textEdits.add(item.getTextEdit());
+		}
+		this.size = -1;
 	}
 
 	public Map<String, String> getCompletionItemData(int index) {
@@ -124,6 +180,92 @@ public class CompletionResponse {
 	}
 
 	public void setCompletionItemData(List<Map<String, String>> completionItemData) {
-		this.completionItemData = completionItemData;
+		this.completionItemData = completionItemData == null ? null : new ArrayList<>(completionItemData);
+		this.size = -1;
+	}
+
+	/**
+	 * @return the estimated number of bytes retained by the response
+	 */
+	long getSize() {
+		if (size < 0) {
+			size = OBJECT_SIZE;
+			if (proposals != null) {
+				for (CompletionProposal proposal : proposals) {
+					size += getSize(proposal);
+				}
+			}
+			if (labels != null) {
+				for (int i = 0; i < labels.length; i++) {
+					size += REFERENCE_SIZE * 6 + getSize(labels[i]) + getSize(details[i]) + getSize(sortTexts[i]) + getSize(filterTexts[i]) + getTextEditSize(textEdits.get(i));
+				}
+			}
+			if (completionItemData != null) {
+				for (Map<String, String> data : completionItemData) {
+					size += REFERENCE_SIZE + (data == null ? 0 : OBJECT_SIZE * (1 + data.size()));
+				}
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Drops the lowest ranked proposals until the response retains at most the
+	 * given number of bytes. The items of the dropped proposals can't be
+	 * resolved.
+	 *
+	 * @param maxSize
+	 *            the number of bytes the response may retain
+	 * @return the number of dropped proposals
+	 */
+	int trim(long maxSize) {
+		int dropped = 0;
+		if (proposals == null) {
+			return dropped;
+		}
+		long size = getSize();
+		for (int i = proposals.length - 1; i >= 0 && size > maxSize; i--) {
+			if (proposals[i] != null) {
+				size -= getSize(proposals[i]);
+				proposals[i] = null;
+				dropped++;
+			}
+		}
+		this.size = size;
+		return dropped;
+	}
+
+	/**
+	 * @return the estimated number of bytes retained by the proposal, and its
+	 *         required proposals
+	 */
+	private static long getSize(CompletionProposal proposal) {
+		if (proposal == null) {
+			return REFERENCE_SIZE;
+		}
+		long size = REFERENCE_SIZE + OBJECT_SIZE * 4L + length(proposal.getCompletion()) + length(proposal.getName()) + length(proposal.getSignature());
+		CompletionProposal[] requiredProposals = proposal.getRequiredProposals();
+		if (requiredProposals != null) {
+			for (CompletionProposal requiredProposal : requiredProposals) {
+				size += getSize(requiredProposal);
+			}
+		}
+		return size;
+	}
+
+	private static long getSize(String string) {
+		return string == null ? 0 : OBJECT_SIZE + 2L * string.length();
+	}
+
+	private static long getTextEditSize(Either<TextEdit, InsertReplaceEdit> textEdit) {
+		if (textEdit == null) {
+			return 0;
+		}
+		// the edit, its ranges and their positions
+		return textEdit.isLeft() ? OBJECT_SIZE * 4L + getSize(textEdit.getLeft().getNewText()) : OBJECT_SIZE * 7L + getSize(textEdit.getRight().getNewText());
+	}
+
+	private static int length(char[] chars) {
+		return chars == null ? 0 : 2 * chars.length;
 	}
 }
@@ -12,11 +12,19 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Cache of {@link CompletionResponse}s.
+ * <p>
+ * Only the responses of the latest completion request are kept, they retain
+ * the proposals and the context of the code assist. The cache retains at most
+ * {@link #MAX_SIZE} bytes, as estimated by the responses. The oldest responses
+ * are evicted first, and a response which doesn't fit on its own loses its
+ * lowest ranked proposals.
+ * </p>
  *
  * @author Fred Bricon
  */
@@ -26,25 +34,83 @@ public final class CompletionResponses {
 		//Don't instantiate
 	}
 
-	private static final Map<Long, CompletionResponse> COMPLETIONS = new ConcurrentHashMap<>();
+	/**
+	 * The number of bytes the cached responses may retain
+	 */
+	public static final long MAX_SIZE = 16L * 1024 * 1024;
 
-	public static CompletionResponse get(Long id) {
-		return COMPLETIONS.get(id);
+	private static final Map<Long, CompletionResponse> COMPLETIONS = new LinkedHashMap<>();
+
+	private static long maxSize = MAX_SIZE;
+	private static long size;
+	private static long hits;
+	private static long misses;
+	private static long evictions;
+	private static long droppedProposals;
+
+	public static synchronized CompletionResponse get(Long id) {
+		CompletionResponse response = COMPLETIONS.get(id);
+		if (response == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return response;
 	}
 
-	public static void store(CompletionResponse response) {
+	public static synchronized void store(CompletionResponse response) {
 		if (response != null) {
+			remove(response.getId());
+			droppedProposals += response.trim(maxSize);
 			COMPLETIONS.put(response.getId(), response);
+			size += response.getSize();
+			Iterator<CompletionResponse> iterator = COMPLETIONS.values().iterator();
+			while (size > maxSize && iterator.hasNext()) {
+				CompletionResponse eldest = iterator.next();
+				if (eldest != response) {
+					iterator.remove();
+					size -= eldest.getSize();
+					evictions++;
+				}
+			}
 		}
 	}
 
-	public static void delete(CompletionResponse response) {
+	public static synchronized void delete(CompletionResponse response) {
 		if (response != null) {
-			COMPLETIONS.remove(response.getId());
+			remove(response.getId());
 		}
 	}
 
-	public static void clear() {
+	public static synchronized void clear() {
 		COMPLETIONS.clear();
+		size = 0;
+	}
+
+	private static void remove(Long id) {
+		CompletionResponse response = COMPLETIONS.remove(id);
+		if (response != null) {
+			size -= response.getSize();
+		}
+	}
+
+	/**
+	 * Sets the number of bytes the cached responses may retain, or restores
+	 * {@link #MAX_SIZE} if <code>maxSize</code> &lt;= 0. For tests only.
+	 */
+	static synchronized void setMaxSize(long maxSize) {
+		CompletionResponses.maxSize = maxSize > 0 ? maxSize : MAX_SIZE;
+	}
+
+	public static synchronized Map<String, Object> getStatistics() {
+		Map<String, Object> statistics = new LinkedHashMap<>();
+		statistics.put("responses", COMPLETIONS.size());
+		statistics.put("size", size);
+		statistics.put("maxSize", maxSize);
+		statistics.put("hits", hits);
+		statistics.put("misses", misses);
+		statistics.put("evictions", evictions);
+		statistics.put("droppedProposals", droppedProposals);
+		return statistics;
 	}
 }
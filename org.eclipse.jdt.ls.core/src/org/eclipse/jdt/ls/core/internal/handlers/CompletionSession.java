@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import org.eclipse.jdt.core.CompletionContext;
+import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalRequestor;
+import org.eclipse.jdt.ls.core.internal.preferences.ClientPreferences;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+
+/**
+ * The proposals computed by the last completion request, kept to answer the
+ * next request from memory when the user only typed more characters of the
+ * identifier being completed.
+ */
+final class CompletionSession {
+
+	private final String uri;
+	private final String contents;
+	private final int offset;
+	private final int prefixStart;
+	private final Preferences preferences;
+	private final ClientPreferences clientPreferences;
+	private final CompletionProposalRequestor collector;
+
+	private CompletionSession(String uri, String contents, int offset, int prefixStart, Preferences preferences, ClientPreferences clientPreferences, CompletionProposalRequestor collector) {
+		this.uri = uri;
+		this.contents = contents;
+		this.offset = offset;
+		this.prefixStart = prefixStart;
+		this.preferences = preferences;
+		this.clientPreferences = clientPreferences;
+		this.collector = collector;
+	}
+
+	/**
+	 * @return a session for the given completion, or <code>null</code> if it
+	 *         doesn't complete an identifier
+	 */
+	static CompletionSession create(String uri, String contents, int offset, Preferences preferences, ClientPreferences clientPreferences, CompletionProposalRequestor collector) {
+		CompletionContext context = collector.getContext();
+		if (context == null || context.isInJavadoc() || context.getTokenKind() != CompletionContext.TOKEN_KIND_NAME) {
+			return null;
+		}
+		char[] token = context.getToken() == null ? new char[0] : context.getToken();
+		int prefixStart = offset - token.length;
+		if (prefixStart < 0 || !contents.regionMatches(prefixStart, String.valueOf(token), 0, token.length) || !isIdentifierPart(contents, prefixStart, offset)) {
+			return null;
+		}
+		return new CompletionSession(uri, contents, offset, prefixStart, preferences, clientPreferences, collector);
+	}
+
+	/**
+	 * Refines the proposals of this session for a new completion request.
+	 *
+	 * @return a requestor holding the refined proposals, or <code>null</code>
+	 *         if the request has to be computed by the completion engine: the
+	 *         document changed elsewhere than at the completion offset,
+	 *         something else than identifier characters was typed, or a
+	 *         proposal can't be copied
+	 */
+	CompletionProposalRequestor refine(String uri, String contents, int offset, Preferences preferences, ClientPreferences clientPreferences) {
+		int delta = offset - this.offset;
+		if (!this.uri.equals(uri) || this.preferences != preferences || this.clientPreferences != clientPreferences
+				|| delta <= 0 || contents.length() != this.contents.length() + delta
+				|| !isIdentifierPart(contents, this.offset, offset)
+				|| !contents.regionMatches(0, this.contents, 0, this.offset)
+				|| !contents.regionMatches(offset, this.contents, this.offset, this.contents.length() - this.offset)) {
+			return null;
+		}
+		return collector.refine(offset, contents.substring(prefixStart, offset).toCharArray());
+	}
+
+	/**
+	 * @return the session of a request refined from this one, completing the
+	 *         same identifier
+	 */
+	CompletionSession next(String contents, int offset, CompletionProposalRequestor collector) {
+		return new CompletionSession(uri, contents, offset, prefixStart, preferences, clientPreferences, collector);
+	}
+
+	private static boolean isIdentifierPart(String contents, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (!Character.isJavaIdentifierPart(contents.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
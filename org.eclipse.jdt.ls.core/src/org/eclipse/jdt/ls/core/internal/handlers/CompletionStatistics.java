@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+
+/**
+ * The latencies of the phases of the completion requests, in microseconds,
+ * over the last {@link #WINDOW} requests. Each phase is also reported as a
+ * {@link CompletionPhaseEvent} to Java Flight Recorder, when it is available
+ * and a recording enables the event.
+ */
+public final class CompletionStatistics {
+
+	private static final int WINDOW = 256;
+
+	public enum Phase {
+		/**
+		 * The whole completion request, without the serialization of the response
+		 */
+		TOTAL("total"),
+		/**
+		 * The refinement of the proposals of the previous request
+		 */
+		REFINE("refine"),
+		CODE_COMPLETE("codeComplete"),
+		CHAIN_SEARCH("chainSearch"),
+		/**
+		 * The calls to the ranking providers
+		 */
+		RANKING("ranking"),
+		/**
+		 * The conversion of the proposals into completion items
+		 */
+		CONVERSION("conversion"),
+		SNIPPETS("snippets"),
+		JAVADOC("javadoc"),
+		/**
+		 * The serialization of the response, and its writing to the client
+		 */
+		SERIALIZATION("serialization");
+
+		private final String label;
+
+		Phase(String label) {
+			this.label = label;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+	}
+
+	private static final Map<Phase, LatencyStatistics> phases = new EnumMap<>(Phase.class);
+
+	private static final boolean JFR_AVAILABLE = isJfrAvailable();
+
+	static {
+		for (Phase phase : Phase.values()) {
+			phases.put(phase, new LatencyStatistics(WINDOW));
+		}
+	}
+
+	private CompletionStatistics() {
+	}
+
+	/**
+	 * Records the latency of a phase.
+	 *
+	 * @param start
+	 *            the start of the phase, from {@link System#nanoTime()}
+	 */
+	public static void record(Phase phase, long start) {
+		long elapsed = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+		phases.get(phase).record(elapsed);
+		if (JFR_AVAILABLE) {
+			CompletionPhaseEvent.report(phase, elapsed);
+		}
+	}
+
+	public static Map<String, Object> getStatistics() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		for (Phase phase : Phase.values()) {
+			LatencyStatistics statistics = phases.get(phase);
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put("count", statistics.getCount());
+			map.put("ewma", statistics.getAverage());
+			map.put("p50", statistics.getPercentile(50));
+			map.put("p95", statistics.getPercentile(95));
+			map.put("p99", statistics.getPercentile(99));
+			result.put(phase.getLabel(), map);
+		}
+		result.put("speculative", SpeculativeCompletion.getStatistics());
+		result.put("unit", "us");
+		return result;
+	}
+
+	/**
+	 * Wraps the consumer of the messages sent to the client, to record the
+	 * serialization of the completion responses.
+	 */
+	public static MessageConsumer wrap(MessageConsumer consumer) {
+		return message -> {
+			if (message instanceof ResponseMessage response && response.getResult() instanceof Either<?, ?> result && result.isRight() && result.getRight() instanceof CompletionList) {
+				long start = System.nanoTime();
+				consumer.consume(message);
+				record(Phase.SERIALIZATION, start);
+			} else {
+				consumer.consume(message);
+			}
+		};
+	}
+
+	private static boolean isJfrAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, CompletionStatistics.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+}
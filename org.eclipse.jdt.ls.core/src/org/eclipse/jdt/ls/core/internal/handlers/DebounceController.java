@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+
+/**
+ * Chooses the debounce delays of the validation and publish diagnostics jobs
+ * from the latencies recently observed.
+ *
+ * The latencies are tracked per document, over a window of the last samples,
+ * with an exponentially weighted moving average and percentiles. A document
+ * without enough samples of its own uses the latency observed on the other
+ * documents, scaled by its size. The validation delay is also kept above the
+ * typing cadence of the document, so that a burst of keystrokes only
+ * triggers one reconcile.
+ */
+public class DebounceController {
+
+	/**
+	 * The max & init value of adaptive debounce time for document lifecycle job.
+	 */
+	static final long DOCUMENT_LIFECYCLE_MAX_DEBOUNCE = 400; /*ms*/
+
+	/**
+	 * The min & init value of adaptive debounce time for publish diagnostic job.
+	 */
+	static final long PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE = 400; /*ms*/
+
+	/**
+	 * The max value of adaptive debounce time for publish diagnostic job.
+	 */
+	static final long PUBLISH_DIAGNOSTICS_MAX_DEBOUNCE = 2000; /*ms*/
+
+	/**
+	 * The number of samples of a document needed to trust its own statistics.
+	 */
+	private static final int MIN_SAMPLES = 3;
+
+	/**
+	 * Two changes further apart than this are not part of the same typing burst.
+	 */
+	private static final long TYPING_PAUSE = 1000; /*ms*/
+
+	/**
+	 * The size, in characters, the latencies are normalized to when estimating
+	 * the latency of a document without statistics.
+	 */
+	private static final int SIZE_UNIT = 1000;
+
+	private final Map<ICompilationUnit, DocumentStatistics> documents = new ConcurrentHashMap<>();
+	private final LatencyStatistics validationRate = new LatencyStatistics();
+	private final LatencyStatistics publishRate = new LatencyStatistics();
+	private final LatencyStatistics publishLatency = new LatencyStatistics();
+
+	/**
+	 * Records a change of the given unit, to track its typing cadence.
+	 */
+	public void recordChange(ICompilationUnit unit) {
+		DocumentStatistics statistics = getStatistics(unit);
+		long now = System.nanoTime() / 1_000_000;
+		long interval;
+		synchronized (statistics) {
+			interval = statistics.lastChange < 0 ? -1 : now - statistics.lastChange;
+			statistics.lastChange = now;
+		}
+		if (interval >= 0 && interval < TYPING_PAUSE) {
+			statistics.typing.record(interval);
+		}
+	}
+
+	public void recordValidation(ICompilationUnit unit, long elapsedTime) {
+		if (unit.isWorkingCopy()) {
+			// a closed unit is not tracked anymore
+			getStatistics(unit).validation.record(elapsedTime);
+		}
+		validationRate.record(normalize(elapsedTime, getLength(unit)));
+	}
+
+	/**
+	 * @param unit
+	 *            the published unit, or <code>null</code> if all the pending
+	 *            units were published
+	 */
+	public void recordPublish(ICompilationUnit unit, long elapsedTime) {
+		publishLatency.record(elapsedTime);
+		if (unit != null && unit.isWorkingCopy()) {
+			getStatistics(unit).publish.record(elapsedTime);
+			publishRate.record(normalize(elapsedTime, getLength(unit)));
+		}
+	}
+
+	public void remove(ICompilationUnit unit) {
+		documents.remove(unit);
+	}
+
+	/**
+	 * @return the delay of the validation job of the given unit. The value
+	 *         ranges in (0, {@link #DOCUMENT_LIFECYCLE_MAX_DEBOUNCE}) ms.
+	 */
+	public long getValidationDelay(ICompilationUnit unit) {
+		DocumentStatistics statistics = documents.get(unit);
+		long estimate = estimate(statistics == null ? null : statistics.validation, validationRate, unit, DOCUMENT_LIFECYCLE_MAX_DEBOUNCE);
+		long delay = Math.round(1.5 * estimate);
+		if (statistics != null && statistics.typing.getCount() >= MIN_SAMPLES) {
+			// wait for the pause after the current burst of keystrokes
+			delay = Math.max(delay, Math.round(1.2 * statistics.typing.getAverage()));
+		}
+		return Math.min(DOCUMENT_LIFECYCLE_MAX_DEBOUNCE, delay);
+	}
+
+	/**
+	 * @param unit
+	 *            the unit to publish the diagnostics of, or <code>null</code> for
+	 *            all the pending units
+	 * @return the delay of the publish diagnostics job. The value ranges in
+	 *         ({@link #PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE},
+	 *         {@link #PUBLISH_DIAGNOSTICS_MAX_DEBOUNCE}) ms.
+	 */
+	public long getPublishDiagnosticsDelay(ICompilationUnit unit) {
+		long estimate;
+		if (unit == null) {
+			estimate = publishLatency.getCount() == 0 ? PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE : Math.max(publishLatency.getAverage(), publishLatency.getPercentile(95));
+		} else {
+			DocumentStatistics statistics = documents.get(unit);
+			estimate = estimate(statistics == null ? null : statistics.publish, publishRate, unit, PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE);
+		}
+		return Math.min(Math.max(PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE, Math.round(1.5 * estimate)), PUBLISH_DIAGNOSTICS_MAX_DEBOUNCE);
+	}
+
+	/**
+	 * @return the current statistics and delays, per document and across all
+	 *         the documents
+	 */
+	public Map<String, Object> getStatistics() {
+		List<Map<String, Object>> documentStatistics = new ArrayList<>();
+		documents.forEach((unit, statistics) -> {
+			Map<String, Object> document = new LinkedHashMap<>();
+			document.put("uri", JDTUtils.toURI(unit));
+			document.put("length", getLength(unit));
+			document.put("validation", statistics.validation.toMap());
+			document.put("publish", statistics.publish.toMap());
+			document.put("typing", statistics.typing.toMap());
+			document.put("validationDelay", getValidationDelay(unit));
+			document.put("publishDelay", getPublishDiagnosticsDelay(unit));
+			documentStatistics.add(document);
+		});
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("documents", documentStatistics);
+		result.put("validationPer" + SIZE_UNIT + "Chars", validationRate.toMap());
+		result.put("publishPer" + SIZE_UNIT + "Chars", publishRate.toMap());
+		result.put("publish", publishLatency.toMap());
+		result.put("publishDelay", getPublishDiagnosticsDelay(null));
+		return result;
+	}
+
+	/**
+	 * Estimates the latency of an operation on the given unit, from its own
+	 * statistics, or from the normalized latency of the other units.
+	 */
+	private static long estimate(LatencyStatistics statistics, LatencyStatistics rate, ICompilationUnit unit, long defaultValue) {
+		if (statistics != null && statistics.getCount() >= MIN_SAMPLES) {
+			// the average reacts first when the latency grows, the median
+			// keeps a single fast sample from cutting the delay
+			return Math.max(statistics.getAverage(), statistics.getPercentile(50));
+		}
+		if (rate.getCount() >= MIN_SAMPLES) {
+			return rate.getAverage() * Math.max(getLength(unit), SIZE_UNIT) / SIZE_UNIT;
+		}
+		return defaultValue;
+	}
+
+	private static long normalize(long elapsedTime, int length) {
+		return elapsedTime * SIZE_UNIT / Math.max(length, SIZE_UNIT);
+	}
+
+	private DocumentStatistics getStatistics(ICompilationUnit unit) {
+		return documents.computeIfAbsent(unit, u -> new DocumentStatistics());
+	}
+
+	private static int getLength(ICompilationUnit unit) {
+		if (!unit.isOpen()) {
+			return 0;
+		}
+		try {
+			IBuffer buffer = unit.getBuffer();
+			return buffer == null || buffer.isClosed() ? 0 : buffer.getLength();
+		} catch (JavaModelException e) {
+			return 0;
+		}
+	}
+
+	private static final class DocumentStatistics {
+		private final LatencyStatistics validation = new LatencyStatistics();
+		private final LatencyStatistics publish = new LatencyStatistics();
+		private final LatencyStatistics typing = new LatencyStatistics();
+		private long lastChange = -1;
+	}
+}
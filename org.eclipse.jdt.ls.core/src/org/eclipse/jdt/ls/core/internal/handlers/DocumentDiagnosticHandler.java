@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.JobHelpers;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticRegistrationOptions;
+import org.eclipse.lsp4j.DocumentDiagnosticParams;
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
+import org.eclipse.lsp4j.RelatedFullDocumentDiagnosticReport;
+import org.eclipse.lsp4j.RelatedUnchangedDocumentDiagnosticReport;
+
+/**
+ * Handles the <code>textDocument/diagnostic</code> requests of the LSP pull
+ * diagnostics model.
+ *
+ * Each report carries a result id derived from the version of the document
+ * and from the modifications the diagnostics may depend on. A request whose
+ * previous result id is still current is answered with an unchanged report,
+ * without reconciling the document again.
+ */
+public class DocumentDiagnosticHandler {
+
+	private final BaseDocumentLifeCycleHandler lifeCycleHandler;
+
+	public DocumentDiagnosticHandler(BaseDocumentLifeCycleHandler lifeCycleHandler) {
+		this.lifeCycleHandler = lifeCycleHandler;
+	}
+
+	public static DiagnosticRegistrationOptions createOptions() {
+		DiagnosticRegistrationOptions options = new DiagnosticRegistrationOptions();
+		options.setIdentifier(JavaLanguageServerPlugin.SERVER_SOURCE_ID);
+		// the diagnostics of a document depend on the other documents of the project
+		options.setInterFileDependencies(true);
+		options.setWorkspaceDiagnostics(true);
+		return options;
+	}
+
+	public DocumentDiagnosticReport diagnostic(DocumentDiagnosticParams params, IProgressMonitor monitor) {
+		String uri = params.getTextDocument().getUri();
+		ICompilationUnit unit = lifeCycleHandler.resolveCompilationUnit(uri);
+		if (unit != null) {
+			// a change to another document schedules the validation of its dependents
+			JobHelpers.waitForJobs(unit, monitor);
+		}
+		String resultId = lifeCycleHandler.getDiagnosticsResultId(uri);
+		if (resultId != null && resultId.equals(params.getPreviousResultId())) {
+			return new DocumentDiagnosticReport(new RelatedUnchangedDocumentDiagnosticReport(resultId));
+		}
+		List<Diagnostic> diagnostics = Collections.emptyList();
+		if (unit != null && unit.getResource() != null && !unit.getResource().isDerived()) {
+			try {
+				diagnostics = lifeCycleHandler.computeDiagnostics(unit, monitor);
+			} catch (JavaModelException e) {
+				JavaLanguageServerPlugin.logException("Failed to compute the diagnostics of " + uri, e);
+			}
+		}
+		RelatedFullDocumentDiagnosticReport report = new RelatedFullDocumentDiagnosticReport(diagnostics);
+		if (!monitor.isCanceled()) {
+			report.setResultId(resultId);
+		}
+		return new DocumentDiagnosticReport(report);
+	}
+}
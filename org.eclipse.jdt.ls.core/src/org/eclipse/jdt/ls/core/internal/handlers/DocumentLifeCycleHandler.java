@@ -39,7 +39,14 @@ public class DocumentLifeCycleHandler extends BaseDocumentLifeCycleHandler {
 
 	@Override
 	public BaseDiagnosticsHandler createDiagnosticsHandler(ICompilationUnit unit) {
-		return new DiagnosticsHandler(connection, unit);
+		DiagnosticsHandler handler = new DiagnosticsHandler(connection, unit);
+		handler.setSkipUnchanged(preferenceManager.getPreferences().isSkipUnchangedDiagnostics());
+		return handler;
+	}
+
+	@Override
+	public boolean isDiagnosticPullEnabled() {
+		return preferenceManager.isDiagnosticPullEnabled();
 	}
 
 	@Override
@@ -182,6 +182,10 @@ final public class InitHandler extends BaseInitHandler {
 			capabilities.setInlayHintProvider(Boolean.TRUE);
 		}
 
+		if (preferenceManager.isDiagnosticPullEnabled()) {
+			capabilities.setDiagnosticProvider(DocumentDiagnosticHandler.createOptions());
+		}
+
 		if (!preferenceManager.getClientPreferences().isTypeHierarchyDynamicRegistrationSupported()) {
 			capabilities.setTypeHierarchyProvider(Boolean.TRUE);
 		}
@@ -223,7 +227,7 @@ final public class InitHandler extends BaseInitHandler {
 
 		SemanticTokensWithRegistrationOptions semanticTokensOptions = new SemanticTokensWithRegistrationOptions();
 		semanticTokensOptions.setFull(new SemanticTokensServerFull(false));
-		semanticTokensOptions.setRange(false);
+		semanticTokensOptions.setRange(true);
 		semanticTokensOptions.setDocumentSelector(List.of(new DocumentFilter("java", "file", null), new DocumentFilter("java", "jdt", null)));
 		semanticTokensOptions.setLegend(SemanticTokensHandler.legend());
 		capabilities.setSemanticTokensProvider(semanticTokensOptions);
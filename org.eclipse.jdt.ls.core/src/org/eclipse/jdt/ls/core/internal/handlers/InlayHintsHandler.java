@@ -49,14 +49,13 @@ public class InlayHintsHandler {
 			return Collections.emptyList();
 		}
 
-		JobHelpers.waitForJobs(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
-
 		String uri = params.getTextDocument().getUri();
 
 		ITypeRoot typeRoot = JDTUtils.resolveTypeRoot(uri);
-		if (typeRoot == null) {
+		if (typeRoot == null || JavaLanguageServerPlugin.getLargeFilePolicy().isLargeFile(typeRoot)) {
 			return Collections.emptyList();
 		}
+		JobHelpers.waitForJobs(typeRoot, monitor);
 		CompilationUnit root = CoreASTProvider.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, monitor);
 		if (root == null || monitor.isCanceled()) {
 			return Collections.emptyList();
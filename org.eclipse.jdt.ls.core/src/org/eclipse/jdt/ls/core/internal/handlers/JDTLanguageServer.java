@@ -38,6 +38,7 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.internal.core.JavaModelManager;
@@ -112,6 +113,8 @@ import org.eclipse.lsp4j.DidChangeWorkspaceFoldersParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
 import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.DocumentDiagnosticParams;
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
 import org.eclipse.lsp4j.DocumentFormattingParams;
 import org.eclipse.lsp4j.DocumentHighlight;
 import org.eclipse.lsp4j.DocumentHighlightParams;
@@ -145,6 +148,7 @@ import org.eclipse.lsp4j.SelectionRange;
 import org.eclipse.lsp4j.SelectionRangeParams;
 import org.eclipse.lsp4j.SemanticTokens;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
 import org.eclipse.lsp4j.SetTraceParams;
 import org.eclipse.lsp4j.SignatureHelp;
 import org.eclipse.lsp4j.SignatureHelpParams;
@@ -157,6 +161,8 @@ import org.eclipse.lsp4j.TypeHierarchyPrepareParams;
 import org.eclipse.lsp4j.TypeHierarchySubtypesParams;
 import org.eclipse.lsp4j.TypeHierarchySupertypesParams;
 import org.eclipse.lsp4j.WillSaveTextDocumentParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReport;
 import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.WorkspaceSymbol;
 import org.eclipse.lsp4j.WorkspaceSymbolParams;
@@ -272,6 +278,10 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		Job.getJobManager().setProgressProvider(null);
 	}
 
+	public DocumentLifeCycleHandler getDocumentLifeCycleHandler() {
+		return documentLifeCycleHandler;
+	}
+
 	public ProgressReporterManager getProgressReporterManager() {
 		return this.progressReporterManager;
 	}
@@ -336,6 +346,10 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 					JobHelpers.waitForBuildJobs(60 * 60 * 1000); // 1 hour
 
 					telemetryManager.onBuildFinished(System.currentTimeMillis());
+					// the classpaths are resolved, the Javadoc of the libraries no project uses is deleted
+					if (JavaLanguageServerPlugin.getJavadocCache() != null) {
+						JavaLanguageServerPlugin.getJavadocCache().prune();
+					}
 					workspaceDiagnosticsHandler = new WorkspaceDiagnosticsHandler(JDTLanguageServer.this.client, pm, preferenceManager.getClientPreferences(), documentLifeCycleHandler);
 					workspaceDiagnosticsHandler.addResourceChangeListener();
 					workspaceDiagnosticsHandler.publishDiagnostics(monitor);
@@ -651,7 +665,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 			CompletionHandler handler = new CompletionHandler(preferenceManager);
 			IProgressMonitor monitor = new NullProgressMonitor();
 			if (Boolean.getBoolean(JAVA_LSP_JOIN_ON_COMPLETION)) {
-				waitForLifecycleJobs(monitor);
+				waitForLifecycleJobs(position.getTextDocument().getUri(), monitor);
 			}
 			Either<List<CompletionItem>, CompletionList> result = handler.completion(position, monitor);
 			return CompletableFuture.completedFuture(result);
@@ -707,7 +721,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		debugTrace(">> document/definition");
 		NavigateToDefinitionHandler handler = new NavigateToDefinitionHandler(this.preferenceManager);
 		return computeAsync((monitor) -> {
-			waitForLifecycleJobs(monitor);
+			waitForLifecycleJobs(position.getTextDocument().getUri(), monitor);
 			return Either.forLeft(handler.definition(position, monitor));
 		});
 	}
@@ -717,7 +731,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		debugTrace(">> document/declaration");
 		NavigateToDeclarationHandler handler = new NavigateToDeclarationHandler(this.preferenceManager);
 		return computeAsync((monitor) -> {
-			waitForLifecycleJobs(monitor);
+			waitForLifecycleJobs(position.getTextDocument().getUri(), monitor);
 			return Either.forLeft(handler.declaration(position, monitor));
 		});
 	}
@@ -730,7 +744,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		debugTrace(">> document/typeDefinition");
 		NavigateToTypeDefinitionHandler handler = new NavigateToTypeDefinitionHandler();
 		return computeAsync((monitor) -> {
-			waitForLifecycleJobs(monitor);
+			waitForLifecycleJobs(position.getTextDocument().getUri(), monitor);
 			return Either.forLeft((handler.typeDefinition(position, monitor)));
 		});
 	}
@@ -768,7 +782,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		debugTrace(">> document/documentSymbol");
 		DocumentSymbolHandler handler = new DocumentSymbolHandler(preferenceManager);
 		return computeAsync((monitor) -> {
-			waitForLifecycleJobs(monitor);
+			waitForLifecycleJobs(params.getTextDocument().getUri(), monitor);
 			return handler.documentSymbol(params, monitor);
 		});
 	}
@@ -778,7 +792,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		logInfo(">> java/extendedDocumentSymbol");
 		DocumentSymbolHandler handler = new DocumentSymbolHandler(preferenceManager);
 		return computeAsync((monitor) -> {
-			waitForLifecycleJobs(monitor);
+			waitForLifecycleJobs(params.getTextDocument().getUri(), monitor);
 			return handler.extendedDocumentSymbol(params, monitor);
 		});
 	}
@@ -791,7 +805,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		debugTrace(">> document/codeAction");
 		CodeActionHandler handler = new CodeActionHandler(this.preferenceManager);
 		return computeAsync((monitor) -> {
-			waitForLifecycleJobs(monitor);
+			waitForLifecycleJobs(params.getTextDocument().getUri(), monitor);
 			// see https://github.com/eclipse-jdtls/eclipse.jdt.ls/issues/2799
 			// Optimize the performance of the code actions
 			synchronized (codeActionLock) {
@@ -835,7 +849,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		debugTrace(">> document/codeLens");
 		CodeLensHandler handler = new CodeLensHandler(preferenceManager);
 		return computeAsync((monitor) -> {
-			waitForLifecycleJobs(monitor);
+			waitForLifecycleJobs(params.getTextDocument().getUri(), monitor);
 			return handler.getCodeLensSymbols(params.getTextDocument().getUri(), monitor);
 		});
 	}
@@ -891,7 +905,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		debugTrace(">> document/prepareRename");
 		PrepareRenameHandler handler = new PrepareRenameHandler(preferenceManager);
 		return computeAsync((monitor) -> {
-			waitForLifecycleJobs(monitor);
+			waitForLifecycleJobs(params.getTextDocument().getUri(), monitor);
 			return Either3.forLeft3(handler.prepareRename(params, monitor));
 		});
 	}
@@ -1069,7 +1083,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<List<FoldingRange>> foldingRange(FoldingRangeRequestParams params) {
 		debugTrace(">> document/foldingRange");
 		return computeAsyncWithClientProgress((monitor) -> {
-			waitForLifecycleJobs(monitor);
+			waitForLifecycleJobs(params.getTextDocument().getUri(), monitor);
 			return new FoldingRangeHandler().foldingRange(params, monitor);
 		});
 	}
@@ -1078,7 +1092,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<List<SelectionRange>> selectionRange(SelectionRangeParams params) {
 		debugTrace(">> document/selectionRange");
 		return computeAsyncWithClientProgress((monitor) -> {
-			waitForLifecycleJobs(monitor);
+			waitForLifecycleJobs(params.getTextDocument().getUri(), monitor);
 			return new SelectionRangeHandler().selectionRange(params, monitor);
 		});
 	}
@@ -1229,12 +1243,41 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 			documentLifeCycleHandler.new DocumentMonitor(params.getTextDocument().getUri())));
 	}
 
+	@Override
+	public CompletableFuture<SemanticTokens> semanticTokensRange(SemanticTokensRangeParams params) {
+		debugTrace(">> textDocument/semanticTokens/range");
+		return computeAsync(monitor -> SemanticTokensHandler.range(monitor, params,
+			documentLifeCycleHandler.new DocumentMonitor(params.getTextDocument().getUri())));
+	}
+
 	@Override
 	public CompletableFuture<List<InlayHint>> inlayHint(InlayHintParams params) {
 		debugTrace(">> textDocument/inlayHint");
 		return computeAsync(monitor -> new InlayHintsHandler(preferenceManager).inlayHint(params, monitor));
 	}
 
+	@Override
+	public CompletableFuture<DocumentDiagnosticReport> diagnostic(DocumentDiagnosticParams params) {
+		debugTrace(">> textDocument/diagnostic");
+		return computeAsync(monitor -> new DocumentDiagnosticHandler(documentLifeCycleHandler).diagnostic(params, monitor));
+	}
+
+	@Override
+	public CompletableFuture<WorkspaceDiagnosticReport> diagnostic(WorkspaceDiagnosticParams params) {
+		debugTrace(">> workspace/diagnostic");
+		return computeAsync(monitor -> {
+			if (workspaceDiagnosticsHandler == null) {
+				return new WorkspaceDiagnosticReport(Collections.emptyList());
+			}
+			try {
+				return workspaceDiagnosticsHandler.pullDiagnostics(params, monitor);
+			} catch (CoreException e) {
+				logException(e.getMessage(), e);
+				return new WorkspaceDiagnosticReport(Collections.emptyList());
+			}
+		});
+	}
+
 	@Override
 	public CompletableFuture<CheckExtractInterfaceResponse> checkExtractInterfaceStatus(CodeActionParams params) {
 		debugTrace(">> java/checkExtractInterfaceStatus");
@@ -1280,6 +1323,15 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		JobHelpers.waitForJobs(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
 	}
 
+	/**
+	 * Waits for the document life cycle jobs of the given document only, or
+	 * for all of them if it isn't a compilation unit.
+	 */
+	private void waitForLifecycleJobs(String uri, IProgressMonitor monitor) {
+		ICompilationUnit unit = JDTUtils.resolveCompilationUnit(uri);
+		JobHelpers.waitForJobs(unit == null ? DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS : unit, monitor);
+	}
+
 	// for test only
 	public boolean isEventHandlerEmpty() {
 		return this.workspaceEventHandler.isEmpty();
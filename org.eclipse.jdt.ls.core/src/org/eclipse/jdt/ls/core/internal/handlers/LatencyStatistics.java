@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The statistics of the last samples of a latency, in ms unless stated
+ * otherwise: an exponentially weighted moving average, which follows the
+ * latency when it changes, and the percentiles of a window of samples.
+ */
+final class LatencyStatistics {
+
+	private static final int DEFAULT_WINDOW = 32;
+
+	/**
+	 * The weight of a new sample in the average.
+	 */
+	private static final double ALPHA = 0.3;
+
+	private final long[] samples;
+	/**
+	 * The index of the next sample in the window, wrapping around
+	 */
+	private int next;
+	private long count;
+	private double average;
+
+	LatencyStatistics() {
+		this(DEFAULT_WINDOW);
+	}
+
+	/**
+	 * @param window
+	 *            the number of samples the percentiles are computed from
+	 */
+	LatencyStatistics(int window) {
+		samples = new long[window];
+	}
+
+	synchronized void record(long value) {
+		samples[next] = value;
+		next = (next + 1) % samples.length;
+		average = count == 0 ? value : average + ALPHA * (value - average);
+		count++;
+	}
+
+	synchronized long getCount() {
+		return count;
+	}
+
+	synchronized long getAverage() {
+		return Math.round(average);
+	}
+
+	/**
+	 * @return the given percentile of the samples of the window, or 0 if
+	 *         there is no sample
+	 */
+	synchronized long getPercentile(int percentile) {
+		int size = (int) Math.min(count, samples.length);
+		if (size == 0) {
+			return 0;
+		}
+		long[] sorted = Arrays.copyOf(samples, size);
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+		return sorted[Math.max(0, index)];
+	}
+
+	synchronized Map<String, Object> toMap() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("count", count);
+		map.put("ewma", getAverage());
+		map.put("p50", getPercentile(50));
+		map.put("p95", getPercentile(95));
+		return map;
+	}
+}
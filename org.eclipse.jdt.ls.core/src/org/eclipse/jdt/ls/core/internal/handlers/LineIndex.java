@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.ls.core.internal.DocumentAdapter;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * The start offsets of the lines of a text, used to convert many offsets of
+ * the same text to line and column without going through an
+ * {@link IDocument} for each of them. Only the line offsets are kept, not the
+ * text.
+ *
+ * Line delimiters are the ones of {@link org.eclipse.jface.text.DefaultLineTracker}:
+ * <code>\r\n</code>, <code>\r</code> and <code>\n</code>.
+ */
+public final class LineIndex {
+
+	private static final Map<IDocument, LineIndex> documentIndexes = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private final int length;
+	private final int[] lineStarts;
+	private final int lineCount;
+	private final long modificationStamp;
+
+	private LineIndex(CharSequence contents, long modificationStamp) {
+		this.length = contents.length();
+		this.modificationStamp = modificationStamp;
+		int[] starts = new int[16];
+		int count = 1;
+		for (int i = 0; i < length; i++) {
+			char ch = contents.charAt(i);
+			if (ch == '\r' && i + 1 < length && contents.charAt(i + 1) == '\n') {
+				i++;
+			} else if (ch != '\r' && ch != '\n') {
+				continue;
+			}
+			if (count == starts.length) {
+				starts = Arrays.copyOf(starts, count * 2);
+			}
+			starts[count++] = i + 1;
+		}
+		this.lineStarts = count == starts.length ? starts : Arrays.copyOf(starts, count);
+		this.lineCount = count;
+	}
+
+	/**
+	 * Indexes the given text.
+	 *
+	 * @param contents
+	 *            the text to index
+	 * @return the index of the text
+	 */
+	public static LineIndex of(CharSequence contents) {
+		return new LineIndex(contents, IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP);
+	}
+
+	/**
+	 * Returns the index of the current content of the given document. The index
+	 * is kept until the document is modified.
+	 *
+	 * @param document
+	 *            the document to index
+	 * @return the index of the document, or <code>null</code> if its content
+	 *         is not available
+	 */
+	public static LineIndex of(IDocument document) {
+		return document == null ? null : of(document, document::get);
+	}
+
+	private static LineIndex of(IDocument document, Supplier<String> text) {
+		long stamp = document instanceof IDocumentExtension4 extension ? extension.getModificationStamp() : IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		if (stamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			LineIndex index = documentIndexes.get(document);
+			if (index != null && index.modificationStamp == stamp) {
+				return index;
+			}
+		}
+		String contents = text.get();
+		if (contents == null) {
+			return null;
+		}
+		LineIndex index = new LineIndex(contents, stamp);
+		if (stamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			documentIndexes.put(document, index);
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the index of the current content of the given buffer.
+	 *
+	 * @param buffer
+	 *            the buffer to index
+	 * @return the index of the buffer, or <code>null</code> if its content is
+	 *         not available
+	 */
+	public static LineIndex of(IBuffer buffer) {
+		if (buffer == null) {
+			return null;
+		}
+		if (buffer instanceof DocumentAdapter adapter && adapter.getDocument() != null) {
+			// indexes the snapshot of the adapter rather than another copy of the document
+			return of(adapter.getDocument(), adapter::getContents);
+		}
+		char[] characters = buffer.getCharacters();
+		return characters == null ? null : of(CharBuffer.wrap(characters));
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	public int getLineCount() {
+		return lineCount;
+	}
+
+	/**
+	 * @param line
+	 *            the 0-based line
+	 * @return the offset of the first character of the line, or -1 if there is
+	 *         no such line
+	 */
+	public int getLineOffset(int line) {
+		if (line < 0 || line >= lineCount) {
+			return -1;
+		}
+		return lineStarts[line];
+	}
+
+	/**
+	 * @param offset
+	 *            the offset, between 0 and the length of the text
+	 * @return the 0-based line of the offset, or -1 if the offset is out of
+	 *         the text
+	 */
+	public int getLineOfOffset(int offset) {
+		if (offset < 0 || offset > length) {
+			return -1;
+		}
+		int low = 0;
+		int high = lineCount - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (lineStarts[mid] <= offset) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Converts an offset to line number and column, like
+	 * {@link JsonRpcHelpers#toLine(IDocument, int)}.
+	 *
+	 * @param offset
+	 *            the offset
+	 * @return the 0-based line and column of the offset, or <code>null</code>
+	 *         if the offset is out of the text
+	 */
+	public int[] toLine(int offset) {
+		int line = getLineOfOffset(offset);
+		if (line < 0) {
+			return null;
+		}
+		return new int[] { line, offset - lineStarts[line] };
+	}
+
+	/**
+	 * Creates a range for the given offset and length, like
+	 * {@link JDTUtils#toRange(IDocument, int, int)}.
+	 *
+	 * @param offset
+	 * @param length
+	 * @return the range
+	 */
+	public Range toRange(int offset, int length) {
+		Range range = JDTUtils.newRange();
+		if (offset > 0 || length > 0) {
+			setPosition(range.getStart(), toLine(offset));
+			setPosition(range.getEnd(), toLine(offset + length));
+		}
+		return range;
+	}
+
+	private static void setPosition(Position position, int[] location) {
+		if (location != null) {
+			position.setLine(location[0]);
+			position.setCharacter(location[1]);
+		}
+	}
+}
@@ -21,25 +21,48 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.handlers.BaseDocumentLifeCycleHandler.DocumentMonitor;
 import org.eclipse.jdt.ls.core.internal.semantictokens.SemanticTokensVisitor;
 import org.eclipse.jdt.ls.core.internal.semantictokens.TokenModifier;
 import org.eclipse.jdt.ls.core.internal.semantictokens.TokenType;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SemanticTokens;
 import org.eclipse.lsp4j.SemanticTokensLegend;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
 
 public class SemanticTokensHandler {
 
+	/**
+	 * @return the semantic tokens of the whole document, or <code>null</code>
+	 *         for a document in large file mode, which the client has to
+	 *         request by range
+	 */
 	public static SemanticTokens full(IProgressMonitor monitor, SemanticTokensParams params, DocumentMonitor documentMonitor) {
 		ITypeRoot typeRoot = JDTUtils.resolveTypeRoot(params.getTextDocument().getUri());
+		if (JavaLanguageServerPlugin.getLargeFilePolicy().isLargeFile(typeRoot)) {
+			return null;
+		}
+		return compute(monitor, typeRoot, documentMonitor, 0, Integer.MAX_VALUE);
+	}
+
+	public static SemanticTokens range(IProgressMonitor monitor, SemanticTokensRangeParams params, DocumentMonitor documentMonitor) {
+		ITypeRoot typeRoot = JDTUtils.resolveTypeRoot(params.getTextDocument().getUri());
+		Range range = params.getRange();
+		int start = JsonRpcHelpers.toOffset(typeRoot, range.getStart().getLine(), range.getStart().getCharacter());
+		int end = JsonRpcHelpers.toOffset(typeRoot, range.getEnd().getLine(), range.getEnd().getCharacter());
+		return compute(monitor, typeRoot, documentMonitor, Math.max(start, 0), end < 0 ? Integer.MAX_VALUE : end);
+	}
+
+	private static SemanticTokens compute(IProgressMonitor monitor, ITypeRoot typeRoot, DocumentMonitor documentMonitor, int start, int end) {
 		documentMonitor.checkChanged();
 		if (typeRoot == null || monitor.isCanceled()) {
 			return new SemanticTokens(Collections.emptyList());
 		}
 
-		JobHelpers.waitForJobs(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
+		JobHelpers.waitForJobs(typeRoot, monitor);
 		documentMonitor.checkChanged();
 
 		CompilationUnit root = JDTUtils.getAst(typeRoot, monitor);
@@ -48,7 +71,7 @@ public class SemanticTokensHandler {
 			return new SemanticTokens(Collections.emptyList());
 		}
 
-		SemanticTokensVisitor collector = new SemanticTokensVisitor(root);
+		SemanticTokensVisitor collector = new SemanticTokensVisitor(root, start, end);
 		root.accept(collector);
 		return collector.getSemanticTokens();
 	}
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalRequestor;
+import org.eclipse.jdt.ls.core.internal.contentassist.FavoriteMembersIndex;
+import org.eclipse.jdt.ls.core.internal.preferences.ClientPreferences;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+
+/**
+ * The completion computed in the background when a member access
+ * <code>.</code> or an annotation <code>@</code> is typed, since the client
+ * requests it right after. A single completion is kept: the completion request
+ * at the same offset of the same document content takes it, and any other
+ * request, or another change of the document, cancels it.
+ */
+final class SpeculativeCompletion {
+
+	private static final long CANCELLATION_CHECK_INTERVAL = 50;
+
+	/**
+	 * The time limit of a completion, in ms, like the one of the completion
+	 * requests
+	 */
+	private static final long TIMEOUT = Long.getLong("completion.timeout", 5000);
+
+	private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+	private static volatile SpeculativeCompletion current;
+
+	private static final AtomicLong scheduled = new AtomicLong();
+	private static final AtomicLong hits = new AtomicLong();
+	private static final AtomicLong misses = new AtomicLong();
+
+	private final String uri;
+	private final Integer version;
+	private final String contents;
+	private final int offset;
+	private final Preferences preferences;
+	private final ClientPreferences clientPreferences;
+	private final IProgressMonitor monitor = new NullProgressMonitor() {
+		@Override
+		public boolean isCanceled() {
+			return super.isCanceled() || System.currentTimeMillis() > deadline;
+		}
+	};
+	private volatile long deadline = Long.MAX_VALUE;
+	private CompletableFuture<CompletionProposalRequestor> future;
+
+	private SpeculativeCompletion(String uri, Integer version, String contents, int offset, Preferences preferences, ClientPreferences clientPreferences) {
+		this.uri = uri;
+		this.version = version;
+		this.contents = contents;
+		this.offset = offset;
+		this.preferences = preferences;
+		this.clientPreferences = clientPreferences;
+	}
+
+	/**
+	 * Starts the completion of the given version of the document at the given
+	 * offset, cancelling the previous one.
+	 */
+	static void schedule(ICompilationUnit unit, String uri, Integer version, String contents, int offset, PreferenceManager manager) {
+		SpeculativeCompletion completion = new SpeculativeCompletion(uri, version, contents, offset, manager.getPreferences(), manager.getClientPreferences());
+		try {
+			completion.future = CompletableFuture.supplyAsync(() -> completion.compute(unit, manager), EXECUTOR);
+		} catch (RejectedExecutionException e) {
+			cancel(null);
+			return;
+		}
+		scheduled.incrementAndGet();
+		SpeculativeCompletion previous = current;
+		current = completion;
+		if (previous != null) {
+			previous.cancel();
+		}
+	}
+
+	/**
+	 * Cancels the completion of the given document, or of any document if
+	 * <code>uri</code> is <code>null</code>.
+	 */
+	static void cancel(String uri) {
+		SpeculativeCompletion completion = current;
+		if (completion != null && (uri == null || completion.uri.equals(uri))) {
+			current = null;
+			completion.cancel();
+		}
+	}
+
+	/**
+	 * Takes the completion matching the given request, waiting for it if it's
+	 * still computing. The completion isn't kept in any case.
+	 *
+	 * @return the requestor holding the proposals, or <code>null</code> if the
+	 *         request doesn't match the speculative completion, or if it failed
+	 */
+	static CompletionProposalRequestor take(String uri, String contents, int offset, Preferences preferences, ClientPreferences clientPreferences, IProgressMonitor monitor) {
+		SpeculativeCompletion completion = current;
+		if (completion == null) {
+			return null;
+		}
+		current = null;
+		if (!completion.uri.equals(uri) || completion.offset != offset || completion.preferences != preferences || completion.clientPreferences != clientPreferences || !completion.contents.equals(contents)) {
+			completion.cancel();
+			misses.incrementAndGet();
+			return null;
+		}
+		try {
+			while (true) {
+				if (monitor.isCanceled()) {
+					completion.cancel();
+					throw new OperationCanceledException();
+				}
+				try {
+					CompletionProposalRequestor collector = completion.future.get(CANCELLATION_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+					if (collector != null) {
+						hits.incrementAndGet();
+					}
+					return collector;
+				} catch (TimeoutException e) {
+					// checks the cancellation of the request
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			completion.cancel();
+			return null;
+		} catch (ExecutionException | CancellationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return the number of completions scheduled, taken by a request, and
+	 *         cancelled by a request which didn't match them
+	 */
+	static Map<String, Object> getStatistics() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("scheduled", scheduled.get());
+		result.put("hits", hits.get());
+		result.put("misses", misses.get());
+		return result;
+	}
+
+	private CompletionProposalRequestor compute(ICompilationUnit unit, PreferenceManager manager) {
+		if (monitor.isCanceled()) {
+			return null;
+		}
+		deadline = System.currentTimeMillis() + TIMEOUT;
+		try {
+			FavoriteMembersIndex favoriteMembersIndex = JavaLanguageServerPlugin.getFavoriteMembersIndex();
+			if (favoriteMembersIndex != null) {
+				favoriteMembersIndex.ensureIndexed(unit);
+			}
+			CompletionProposalRequestor collector = CompletionHandler.createCollector(unit, offset, manager);
+			unit.codeComplete(offset, collector, monitor);
+			return monitor.isCanceled() ? null : collector;
+		} catch (OperationCanceledException e) {
+			return null;
+		} catch (Exception e) {
+			JavaLanguageServerPlugin.logException("Problem with the speculative completion of " + uri + " at version " + version, e);
+			return null;
+		}
+	}
+
+	private void cancel() {
+		monitor.setCanceled(true);
+		if (future != null) {
+			future.cancel(false);
+		}
+	}
+
+	private static ThreadPoolExecutor createExecutor() {
+		AtomicInteger threadCount = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+			Thread thread = new Thread(r, "Speculative Completion-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeParameter;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.SimpleName;
+
+/**
+ * Tracks the source types referenced by the open compilation units, and the
+ * shape of the types they declare, so that an edit only revalidates the open
+ * units it may affect.
+ *
+ * The references of a unit are collected from the AST of its last reconcile,
+ * and include the supertypes of the referenced and declared types, since a
+ * change of a supertype, e.g. a new abstract method, may affect its subtypes.
+ * The shape of the declared types covers their hierarchy, fields and method
+ * signatures, but not the method bodies: editing a method body never
+ * revalidates another unit.
+ */
+public class WorkingCopyDependencyIndex {
+
+	private final Map<ICompilationUnit, Set<String>> references = new ConcurrentHashMap<>();
+	private final Map<ICompilationUnit, Set<String>> declarations = new ConcurrentHashMap<>();
+	private final Map<ICompilationUnit, String> signatures = new ConcurrentHashMap<>();
+
+	/**
+	 * Replaces the references of the given unit by the ones of its reconciled
+	 * AST.
+	 *
+	 * @param unit
+	 *            the reconciled unit
+	 * @param astRoot
+	 *            the AST of the unit, with bindings
+	 */
+	public void updateReferences(ICompilationUnit unit, CompilationUnit astRoot) {
+		Set<String> referencedTypes = new HashSet<>();
+		Set<ITypeBinding> visitedTypes = new HashSet<>();
+		astRoot.accept(new ASTVisitor() {
+
+			@Override
+			public boolean visit(SimpleName node) {
+				IBinding binding = node.resolveBinding();
+				if (binding instanceof ITypeBinding typeBinding) {
+					addType(typeBinding);
+				} else if (binding instanceof IMethodBinding methodBinding) {
+					addType(methodBinding.getDeclaringClass());
+				} else if (binding instanceof IVariableBinding variableBinding && variableBinding.isField()) {
+					addType(variableBinding.getDeclaringClass());
+				}
+				return false;
+			}
+
+			private void addType(ITypeBinding typeBinding) {
+				if (typeBinding == null) {
+					return;
+				}
+				if (typeBinding.isRecovered()) {
+					// the type may be declared later on, only its name is known
+					referencedTypes.add(typeBinding.getName());
+					return;
+				}
+				ITypeBinding type = typeBinding.getErasure();
+				if (type.isArray()) {
+					type = type.getElementType();
+				}
+				addHierarchy(type);
+			}
+
+			private void addHierarchy(ITypeBinding type) {
+				if (type == null || !visitedTypes.add(type)) {
+					return;
+				}
+				if (type.isFromSource() && !type.isLocal() && !type.isAnonymous()) {
+					referencedTypes.add(type.getQualifiedName());
+				}
+				// the binary types can't change, but their supertypes may be source types
+				addHierarchy(erasure(type.getSuperclass()));
+				for (ITypeBinding superInterface : type.getInterfaces()) {
+					addHierarchy(erasure(superInterface));
+				}
+			}
+
+			private ITypeBinding erasure(ITypeBinding type) {
+				return type == null ? null : type.getErasure();
+			}
+		});
+		references.put(unit, referencedTypes);
+	}
+
+	/**
+	 * Recomputes the shape of the types declared by the given unit.
+	 *
+	 * @param unit
+	 *            the reconciled unit
+	 * @return the names of the types declared by the unit, before and after
+	 *         this update, if their shape changed, or an empty set otherwise
+	 * @throws JavaModelException
+	 */
+	public Set<String> updateDeclarations(ICompilationUnit unit) throws JavaModelException {
+		Set<String> declaredTypes = new HashSet<>();
+		StringBuilder signature = new StringBuilder();
+		for (IType type : unit.getTypes()) {
+			declaredTypes.add(type.getElementName());
+			appendSignature(type, declaredTypes, signature);
+		}
+		String currentSignature = signature.toString();
+		String previousSignature = signatures.put(unit, currentSignature);
+		Set<String> previousTypes = declarations.put(unit, declaredTypes);
+		if (currentSignature.equals(previousSignature)) {
+			return Collections.emptySet();
+		}
+		Set<String> changedTypes = new HashSet<>(declaredTypes);
+		if (previousTypes != null) {
+			changedTypes.addAll(previousTypes);
+		}
+		return changedTypes;
+	}
+
+	/**
+	 * Returns the units which may be affected by a change of the given types.
+	 * The units whose references are unknown are always returned.
+	 *
+	 * @param unit
+	 *            the unit declaring the changed types
+	 * @param changedTypes
+	 *            the changed types, see {@link #updateDeclarations(ICompilationUnit)}
+	 * @param candidates
+	 *            the units to look for dependents in
+	 * @return the dependent units, the given unit excluded
+	 */
+	public Set<ICompilationUnit> getDependents(ICompilationUnit unit, Set<String> changedTypes, Collection<ICompilationUnit> candidates) {
+		Set<ICompilationUnit> dependents = new LinkedHashSet<>();
+		for (ICompilationUnit candidate : candidates) {
+			if (candidate.equals(unit)) {
+				continue;
+			}
+			Set<String> referencedTypes = references.get(candidate);
+			if (referencedTypes == null || !Collections.disjoint(referencedTypes, changedTypes)) {
+				dependents.add(candidate);
+			}
+		}
+		return dependents;
+	}
+
+	public void remove(ICompilationUnit unit) {
+		references.remove(unit);
+		declarations.remove(unit);
+		signatures.remove(unit);
+	}
+
+	private static void appendSignature(IType type, Set<String> declaredTypes, StringBuilder signature) throws JavaModelException {
+		String name = type.getFullyQualifiedName('.');
+		declaredTypes.add(name);
+		signature.append(name).append(' ').append(type.getFlags()).append(' ').append(type.getSuperclassTypeSignature());
+		signature.append(Arrays.toString(type.getSuperInterfaceTypeSignatures()));
+		signature.append(Arrays.toString(type.getPermittedSubtypeNames()));
+		appendTypeParameters(type.getTypeParameters(), signature);
+		if (type.isRecord()) {
+			for (IField component : type.getRecordComponents()) {
+				signature.append(component.getElementName()).append(' ').append(component.getTypeSignature()).append(';');
+			}
+		}
+		for (IField field : type.getFields()) {
+			signature.append(field.getElementName()).append(' ').append(field.getTypeSignature()).append(' ').append(field.getFlags());
+			// constant values are inlined by the dependent units
+			signature.append(' ').append(field.getConstant()).append(';');
+		}
+		for (IMethod method : type.getMethods()) {
+			signature.append(method.getElementName()).append(' ').append(method.getSignature()).append(' ').append(method.getFlags());
+			signature.append(Arrays.toString(method.getExceptionTypes()));
+			appendTypeParameters(method.getTypeParameters(), signature);
+			signature.append(';');
+		}
+		signature.append('{');
+		for (IType member : type.getTypes()) {
+			appendSignature(member, declaredTypes, signature);
+		}
+		signature.append('}');
+	}
+
+	private static void appendTypeParameters(ITypeParameter[] typeParameters, StringBuilder signature) throws JavaModelException {
+		for (ITypeParameter typeParameter : typeParameters) {
+			signature.append('<').append(typeParameter.getElementName()).append(Arrays.toString(typeParameter.getBoundsSignatures())).append('>');
+		}
+	}
+}
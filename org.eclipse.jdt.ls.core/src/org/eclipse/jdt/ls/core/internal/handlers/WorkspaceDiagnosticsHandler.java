@@ -20,6 +20,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,10 +40,14 @@ import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaModelMarker;
 import org.eclipse.jdt.core.IJavaProject;
@@ -60,8 +69,17 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PreviousResultId;
+import org.eclipse.lsp4j.ProgressParams;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.WorkspaceDiagnosticParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReportPartialResult;
+import org.eclipse.lsp4j.WorkspaceDocumentDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceFullDocumentDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceUnchangedDocumentDiagnosticReport;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.m2e.core.internal.IMavenConstants;
 import org.eclipse.m2e.core.internal.Messages;
 
@@ -83,6 +101,47 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 	private final boolean isDiagnosticTagSupported;
 	private final DocumentLifeCycleHandler handler;
 
+	/**
+	 * The number of resources reported per partial result of a workspace
+	 * diagnostic pull.
+	 */
+	private static final int PARTIAL_RESULT_SIZE = 100;
+
+	/**
+	 * The marker snapshot answering the workspace diagnostic pulls: the
+	 * version of the last marker change of each project, Java file or build
+	 * file with markers, maintained from the resource deltas. A removed
+	 * resource is kept until its final empty report is pulled.
+	 */
+	private final Map<IResource, Long> markerVersions = new ConcurrentHashMap<>();
+	private final AtomicLong markerVersion = new AtomicLong();
+	/**
+	 * The prefix of the result ids of this session. The versions restart at 0
+	 * with each session, the ids of a previous session are then unknown.
+	 */
+	private final String resultIdPrefix = UUID.randomUUID() + ":";
+	private volatile boolean markerSnapshotInitialized;
+
+	/**
+	 * The max delay between a marker change and the publication of the
+	 * diagnostics of its resource, outside of a build.
+	 */
+	private static final long PUBLISH_MARKERS_DELAY = 200; /*ms*/
+
+	/**
+	 * The resources whose markers changed since the last flush. Each one is
+	 * reported at most once per flush, however many times it changed.
+	 */
+	private final Set<IResource> dirtyResources = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean buildCompleted = new AtomicBoolean();
+
+	/**
+	 * Whether markers changed since the last flush while the client pulls the
+	 * diagnostics, in which case it's asked to pull them again.
+	 */
+	private final AtomicBoolean markersChanged = new AtomicBoolean();
+	private final Job publishMarkersJob = new PublishMarkersJob();
+
 	@Deprecated
 	public WorkspaceDiagnosticsHandler(JavaClientConnection connection, ProjectsManager projectsManager) {
 		this(connection, projectsManager, null);
@@ -100,22 +159,72 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 	}
 
 	public void addResourceChangeListener() {
-		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.POST_BUILD);
 	}
 
 	public void removeResourceChangeListener() {
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		publishMarkersJob.cancel();
+		dirtyResources.clear();
 	}
 
 	@Override
 	public void resourceChanged(IResourceChangeEvent event) {
+		if (event.getType() == IResourceChangeEvent.POST_BUILD) {
+			// the markers of the build are delivered by the next POST_CHANGE event
+			buildCompleted.set(true);
+			return;
+		}
 		try {
 			IResourceDelta delta = event.getDelta();
 			delta.accept(this);
 		} catch (CoreException e) {
 			JavaLanguageServerPlugin.logException("failed to send diagnostics", e);
 		}
+		if (buildCompleted.getAndSet(false)) {
+			publishDirtyResources();
+		} else if ((!dirtyResources.isEmpty() || markersChanged.get()) && publishMarkersJob.getState() != Job.WAITING && publishMarkersJob.getState() != Job.SLEEPING) {
+			// a running job is scheduled again once it's done, it may have missed these resources
+			publishMarkersJob.schedule(PUBLISH_MARKERS_DELAY);
+		}
+	}
 
+	/**
+	 * Publishes the diagnostics of the resources whose markers changed since
+	 * the last flush.
+	 */
+	public void publishDirtyResources() {
+		for (IResource resource : new ArrayList<>(dirtyResources)) {
+			if (!dirtyResources.remove(resource)) {
+				// flushed concurrently
+				continue;
+			}
+			try {
+				publishResource(resource);
+			} catch (CoreException e) {
+				JavaLanguageServerPlugin.logException("failed to send diagnostics", e);
+			}
+		}
+		refreshPulledDiagnostics();
+	}
+
+	/**
+	 * Asks the client to pull the diagnostics again when markers changed, as
+	 * the diagnostics it pulls are never pushed.
+	 */
+	private void refreshPulledDiagnostics() {
+		if (!markersChanged.getAndSet(false) || !isDiagnosticPullEnabled()) {
+			return;
+		}
+		if (JavaLanguageServerPlugin.getPreferencesManager().getClientPreferences().isDiagnosticRefreshSupported()) {
+			connection.refreshDiagnostics();
+		}
+	}
+
+	private void markDirty(IResource resource) {
+		if (!isDiagnosticPullEnabled()) {
+			dirtyResources.add(resource);
+		}
 	}
 
 	/*
@@ -137,6 +246,16 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 		if (resource.getType() == IResource.FOLDER || resource.getType() == IResource.ROOT) {
 			return true;
 		}
+		if (!resource.isAccessible()) {
+			if (markerVersions.computeIfPresent(resource, (r, version) -> markerVersion.incrementAndGet()) != null && isDiagnosticPullEnabled()) {
+				markersChanged.set(true);
+			}
+		} else if ((delta.getFlags() & IResourceDelta.MARKERS) != 0 && isSupportedDiagnosticsResource(resource) && hasInterestingMarkerDeltas(delta)) {
+			markerVersions.put(resource, markerVersion.incrementAndGet());
+			if (isDiagnosticPullEnabled()) {
+				markersChanged.set(true);
+			}
+		}
 		// WorkspaceEventsHandler only handles the case of deleting the specific file and removes it's diagnostics.
 		// If delete a folder directly, no way to clean up the diagnostics for it's children.
 		// The resource delta visitor will make sure to clean up all stale diagnostics.
@@ -161,10 +280,8 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 			if (ProjectsManager.getDefaultProject().equals(resource.getProject())) {
 				return false;
 			}
-			IProject project = (IProject) resource;
 			// report problems for other projects
-			IMarker[] markers = project.findMarkers(null, true, IResource.DEPTH_ZERO);
-			publishMarkers(project, markers);
+			markDirty(resource);
 			return true;
 		}
 		// No marker changes continue to visit
@@ -172,18 +289,51 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 			return false;
 		}
 		IFile file = (IFile) resource;
+		// Check if it is a Java ...
+		if (JavaCore.isJavaLikeFileName(file.getName())) {
+			ICompilationUnit cu = (ICompilationUnit) JavaCore.create(file);
+			IJavaProject javaProject = cu.getJavaProject();
+			if (javaProject != null && javaProject.isOnClasspath(cu) && cu.isWorkingCopy()) {
+				if (handler != null) {
+					handler.triggerValidation(cu);
+				}
+				return false;
+			}
+			markDirty(file);
+		} // or a build file
+		else if (projectsManager.isBuildFile(file)) {
+			markDirty(file);
+		}
+		return false;
+	}
+
+	/**
+	 * Publishes the diagnostics of the current markers of the given project,
+	 * Java file or build file.
+	 */
+	private void publishResource(IResource resource) throws CoreException {
+		if (!resource.isAccessible()) {
+			// the diagnostics were cleaned up when the resource was removed
+			return;
+		}
+		if (resource instanceof IProject project) {
+			IMarker[] markers = project.findMarkers(null, true, IResource.DEPTH_ZERO);
+			publishMarkers(project, markers);
+			return;
+		}
+		IFile file = (IFile) resource;
 		IDocument document = null;
 		IMarker[] markers = null;
-		// Check if it is a Java ...
 		if (JavaCore.isJavaLikeFileName(file.getName())) {
 			ICompilationUnit cu = (ICompilationUnit) JavaCore.create(file);
 			// Clear the diagnostics for the resource not on the classpath
 			IJavaProject javaProject = cu.getJavaProject();
 			if (javaProject == null || !javaProject.isOnClasspath(cu)) {
 				String uri = JDTUtils.getFileURI(resource);
-				this.connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), Collections.emptyList()));
-				return false;
+				publish(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), Collections.emptyList()));
+				return;
 			}
+			// working copies are reported by the DocumentLifecycleHandler
 			if (!cu.isWorkingCopy()) {
 				markers = resource.findMarkers(null, false, IResource.DEPTH_ONE);
 				try {
@@ -191,11 +341,8 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 				} catch (JavaModelException e) {
 					// do nothing
 				}
-			} else if (handler != null) {
-				handler.triggerValidation(cu);
 			}
-		} // or a build file
-		else if (projectsManager.isBuildFile(file)) {
+		} else if (projectsManager.isBuildFile(file)) {
 			//all errors on that build file should be relevant
 			markers = file.findMarkers(null, true, 1);
 			document = JsonRpcHelpers.toDocument(file);
@@ -203,10 +350,9 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 		if (document != null) {
 			String uri = JDTUtils.getFileURI(resource);
 			if (!BaseDiagnosticsHandler.matchesDiagnosticFilter(uri, JavaLanguageServerPlugin.getPreferencesManager().getPreferences().getDiagnosticFilter())) {
-				this.connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), toDiagnosticsArray(document, markers, isDiagnosticTagSupported)));
+				publish(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), toDiagnosticsArray(document, markers, isDiagnosticTagSupported)));
 			}
 		}
-		return false;
 	}
 
 	private void publishMarkers(IProject project, IMarker[] markers) throws CoreException {
@@ -236,14 +382,14 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 		}
 		List<Diagnostic> diagnostics = toDiagnosticArray(range, projectMarkers, isDiagnosticTagSupported);
 		String clientUri = ResourceUtils.toClientUri(uri);
-		connection.publishDiagnostics(new PublishDiagnosticsParams(clientUri, diagnostics));
+		publish(new PublishDiagnosticsParams(clientUri, diagnostics));
 		if (pom.exists()) {
 			IDocument document = JsonRpcHelpers.toDocument(pom);
 			diagnostics = toDiagnosticsArray(document, pom.findMarkers(null, true, IResource.DEPTH_ZERO), isDiagnosticTagSupported);
 			List<Diagnostic> diagnosicts2 = toDiagnosticArray(range, pomMarkers, isDiagnosticTagSupported);
 			diagnostics.addAll(diagnosicts2);
 			String pomSuffix = clientUri.endsWith("/") ? "pom.xml" : "/pom.xml";
-			connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(clientUri + pomSuffix), diagnostics));
+			publish(new PublishDiagnosticsParams(ResourceUtils.toClientUri(clientUri + pomSuffix), diagnostics));
 		}
 		if (gradleWrapperProperties.exists()) {
 			IDocument document = JsonRpcHelpers.toDocument(gradleWrapperProperties);
@@ -251,7 +397,7 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 			List<Diagnostic> diagnosicts2 = toDiagnosticArray(range, gradleMarkers, isDiagnosticTagSupported);
 			diagnostics.addAll(diagnosicts2);
 			String gradleSuffix = clientUri.endsWith("/") ? GradleProjectImporter.GRADLE_WRAPPER_PROPERTIES_DESCRIPTOR : "/" + GradleProjectImporter.GRADLE_WRAPPER_PROPERTIES_DESCRIPTOR;
-			connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(clientUri + gradleSuffix), diagnostics));
+			publish(new PublishDiagnosticsParams(ResourceUtils.toClientUri(clientUri + gradleSuffix), diagnostics));
 		}
 	}
 
@@ -345,13 +491,142 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 			}
 			if (document != null) {
 				List<Diagnostic> diagnostics = WorkspaceDiagnosticsHandler.toDiagnosticsArray(document, entry.getValue().toArray(new IMarker[0]), isDiagnosticTagSupported);
-				connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), diagnostics));
+				publish(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), diagnostics));
 			}
 		}
 
 		checkPreviewFeatureValidity(markers);
 	}
 
+	/**
+	 * Answers a <code>workspace/diagnostic</code> pull. Only the resources whose
+	 * markers changed since the result ids known by the client are reported
+	 * in full, the other ones are reported as unchanged. When the client
+	 * provides a partial result token, the reports are streamed in batches of
+	 * {@link #PARTIAL_RESULT_SIZE} resources.
+	 *
+	 * @param params
+	 *            the pull parameters
+	 * @param monitor
+	 *            the progress monitor
+	 * @return the workspace diagnostics report
+	 * @throws CoreException
+	 */
+	public WorkspaceDiagnosticReport pullDiagnostics(WorkspaceDiagnosticParams params, IProgressMonitor monitor) throws CoreException {
+		if (!markerSnapshotInitialized) {
+			initializeMarkerSnapshot(monitor);
+		}
+		Map<String, String> previousResultIds = new HashMap<>();
+		if (params.getPreviousResultIds() != null) {
+			for (PreviousResultId previous : params.getPreviousResultIds()) {
+				previousResultIds.put(previous.getUri(), previous.getValue());
+			}
+		}
+		Either<String, Integer> partialResultToken = params.getPartialResultToken();
+		List<WorkspaceDocumentDiagnosticReport> reports = new ArrayList<>();
+		List<String> diagnosticFilter = JavaLanguageServerPlugin.getPreferencesManager().getPreferences().getDiagnosticFilter();
+		for (Map.Entry<IResource, Long> entry : markerVersions.entrySet()) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			IResource resource = entry.getKey();
+			String uri = JDTUtils.getFileURI(resource);
+			if (uri == null || BaseDiagnosticsHandler.matchesDiagnosticFilter(uri, diagnosticFilter)) {
+				continue;
+			}
+			String clientUri = ResourceUtils.toClientUri(uri);
+			String resultId = resultIdPrefix + entry.getValue();
+			if (resultId.equals(previousResultIds.get(clientUri))) {
+				reports.add(new WorkspaceDocumentDiagnosticReport(new WorkspaceUnchangedDocumentDiagnosticReport(resultId, clientUri, null)));
+			} else {
+				List<Diagnostic> diagnostics = toDiagnostics(resource);
+				if (diagnostics == null) {
+					// working copies are reported by the document diagnostics
+					continue;
+				}
+				WorkspaceFullDocumentDiagnosticReport report = new WorkspaceFullDocumentDiagnosticReport(diagnostics, clientUri, null);
+				report.setResultId(resultId);
+				reports.add(new WorkspaceDocumentDiagnosticReport(report));
+				if (!resource.exists()) {
+					// the final empty report of a removed resource is only sent once
+					markerVersions.remove(resource, entry.getValue());
+				}
+			}
+			if (partialResultToken != null && reports.size() >= PARTIAL_RESULT_SIZE) {
+				connection.notifyProgress(new ProgressParams(partialResultToken, Either.forRight(new WorkspaceDiagnosticReportPartialResult(reports))));
+				reports = new ArrayList<>();
+			}
+		}
+		if (partialResultToken != null && !reports.isEmpty()) {
+			connection.notifyProgress(new ProgressParams(partialResultToken, Either.forRight(new WorkspaceDiagnosticReportPartialResult(reports))));
+			reports = new ArrayList<>();
+		}
+		return new WorkspaceDiagnosticReport(reports);
+	}
+
+	/**
+	 * Walks the markers of the workspace once, the snapshot is then maintained
+	 * from the resource deltas.
+	 */
+	private synchronized void initializeMarkerSnapshot(IProgressMonitor monitor) throws CoreException {
+		if (markerSnapshotInitialized) {
+			return;
+		}
+		long version = markerVersion.incrementAndGet();
+		for (IMarker marker : getProblemMarkers(monitor)) {
+			IResource resource = marker.getResource();
+			if (resource.getType() == IResource.PROJECT || (resource.getType() == IResource.FILE && isSupportedDiagnosticsResource(resource))) {
+				markerVersions.putIfAbsent(resource, version);
+			}
+		}
+		markerSnapshotInitialized = true;
+	}
+
+	/**
+	 * @return the diagnostics of the current markers of the given resource, or
+	 *         <code>null</code> if the resource is a working copy
+	 */
+	private List<Diagnostic> toDiagnostics(IResource resource) throws CoreException {
+		if (!resource.isAccessible()) {
+			return Collections.emptyList();
+		}
+		IMarker[] markers = Stream.of(resource.findMarkers(null, true, IResource.DEPTH_ZERO)).filter(marker -> !isIgnored(marker)).toArray(IMarker[]::new);
+		if (resource instanceof IProject) {
+			return toDiagnosticArray(new Range(new Position(0, 0), new Position(0, 0)), Arrays.asList(markers), isDiagnosticTagSupported);
+		}
+		IFile file = resource.getAdapter(IFile.class);
+		if (file == null) {
+			return Collections.emptyList();
+		}
+		IDocument document = null;
+		if (JavaCore.isJavaLikeFileName(file.getName())) {
+			ICompilationUnit cu = JDTUtils.resolveCompilationUnit(file);
+			if (cu != null && cu.isWorkingCopy()) {
+				return null;
+			}
+			if (cu != null) {
+				document = JsonRpcHelpers.toDocument(cu.getBuffer());
+			}
+		} else if (projectsManager.isBuildFile(file)) {
+			document = JsonRpcHelpers.toDocument(file);
+		}
+		return document == null ? Collections.emptyList() : toDiagnosticsArray(document, markers, isDiagnosticTagSupported);
+	}
+
+	/**
+	 * Pushes the diagnostics to the client, unless the client pulls them.
+	 */
+	private void publish(PublishDiagnosticsParams diagnostics) {
+		if (!isDiagnosticPullEnabled()) {
+			connection.publishDiagnostics(diagnostics);
+		}
+	}
+
+	private static boolean isDiagnosticPullEnabled() {
+		PreferenceManager preferenceManager = JavaLanguageServerPlugin.getPreferencesManager();
+		return preferenceManager != null && preferenceManager.isDiagnosticPullEnabled();
+	}
+
 	public static void checkPreviewFeatureValidity(List<IMarker> problemMarkers) {
 		// Preview feature support enabled on incompatible release version
 		List<IMarker> previewFeatureMarkers = problemMarkers.stream().filter(m -> m.getAttribute(IJavaModelMarker.ID, 0) == IProblem.PreviewFeaturesNotAllowed).collect(Collectors.toList());
@@ -440,13 +715,23 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 	 * @return a list of {@link Diagnostic}s
 	 */
 	public static List<Diagnostic> toDiagnosticsArray(IDocument document, IMarker[] markers, boolean isDiagnosticTagSupported) {
+		LineIndex lineIndex = markers.length == 0 ? null : LineIndex.of(document);
 		List<Diagnostic> diagnostics = Stream.of(markers)
-				.filter(WorkspaceDiagnosticsHandler::isInteresting).map(m -> toDiagnostic(document, m, isDiagnosticTagSupported)) //
+				.filter(WorkspaceDiagnosticsHandler::isInteresting).map(m -> toDiagnostic(document, lineIndex, m, isDiagnosticTagSupported)) //
 				.filter(Objects::nonNull) //
 				.collect(Collectors.toCollection(ArrayList::new));
 		return diagnostics;
 	}
 
+	/**
+	 * @return whether the given delta adds or changes markers which aren't
+	 *         excluded by the client, or removes markers
+	 */
+	private static boolean hasInterestingMarkerDeltas(IResourceDelta delta) {
+		// the type of a removed marker can't be checked anymore
+		return Arrays.stream(delta.getMarkerDeltas()).anyMatch(markerDelta -> markerDelta.getKind() == IResourceDelta.REMOVED || isInteresting(markerDelta.getMarker()));
+	}
+
 	private static boolean isInteresting(IMarker marker) {
 		return JavaLanguageServerPlugin.getPreferencesManager().getClientPreferences().excludedMarkerTypes().stream().noneMatch(markerType -> {
 			try {
@@ -457,7 +742,7 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 		});
 	}
 
-	private static Diagnostic toDiagnostic(IDocument document, IMarker marker, boolean isDiagnosticTagSupported) {
+	private static Diagnostic toDiagnostic(IDocument document, LineIndex lineIndex, IMarker marker, boolean isDiagnosticTagSupported) {
 		if (marker == null || !marker.exists()) {
 			return null;
 		}
@@ -467,7 +752,7 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 		int problemId = marker.getAttribute(IJavaModelMarker.ID, 0);
 		d.setCode(String.valueOf(problemId));
 		d.setSeverity(convertSeverity(marker.getAttribute(IMarker.SEVERITY, -1)));
-		d.setRange(convertRange(document, marker));
+		d.setRange(convertRange(document, lineIndex, marker));
 		if (isDiagnosticTagSupported) {
 			d.setTags(DiagnosticsHandler.getDiagnosticTag(problemId));
 		}
@@ -486,10 +771,14 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 	}
 
 	/**
+	 * @param document
+	 * @param lineIndex
+	 *            the index of the document, or <code>null</code> to query the
+	 *            document itself
 	 * @param marker
 	 * @return
 	 */
-	private static Range convertRange(IDocument document, IMarker marker) {
+	private static Range convertRange(IDocument document, LineIndex lineIndex, IMarker marker) {
 		int line = marker.getAttribute(IMarker.LINE_NUMBER, -1) - 1;
 		if (line < 0) {
 			int end = marker.getAttribute(IMarker.CHAR_END, -1);
@@ -503,8 +792,8 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 				} catch (BadLocationException | JavaModelException e) {
 					JavaLanguageServerPlugin.logException(e.getMessage(), e);
 				}
-				int[] startPos = JsonRpcHelpers.toLine(document, start);
-				int[] endPos = JsonRpcHelpers.toLine(document, end);
+				int[] startPos = lineIndex == null ? JsonRpcHelpers.toLine(document, start) : lineIndex.toLine(start);
+				int[] endPos = lineIndex == null ? JsonRpcHelpers.toLine(document, end) : lineIndex.toLine(end);
 				if (startPos != null && endPos != null) {
 					return new Range(new Position(startPos[0], startPos[1]), new Position(endPos[0], endPos[1]));
 				}
@@ -535,7 +824,7 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 
 				int lineOffset = 0;
 				try {
-					lineOffset = document.getLineOffset(line);
+					lineOffset = getLineOffset(document, lineIndex, line);
 				} catch (BadLocationException unlikelyException) {
 					JavaLanguageServerPlugin.logException(unlikelyException.getMessage(), unlikelyException);
 					return new Range(new Position(line, 0), new Position(line, 0));
@@ -551,6 +840,17 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 		return new Range(new Position(line, cStart), new Position(line, cEnd));
 	}
 
+	private static int getLineOffset(IDocument document, LineIndex lineIndex, int line) throws BadLocationException {
+		if (lineIndex == null) {
+			return document.getLineOffset(line);
+		}
+		int lineOffset = lineIndex.getLineOffset(line);
+		if (lineOffset < 0) {
+			throw new BadLocationException("Line " + line + " is out of the document");
+		}
+		return lineOffset;
+	}
+
 	private static Range getAnnotationRange(IDocument document, IMarker marker) throws BadLocationException, JavaModelException {
 		if (marker.getAttribute(IJavaModelMarker.ID, -1) == IProblem.UndefinedType) {
 			int end = marker.getAttribute(IMarker.CHAR_END, -1);
@@ -594,7 +894,9 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 			if (addTrailingSlash && !uri.endsWith("/")) {
 				uri = uri + "/";
 			}
-			this.connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), Collections.emptyList()));
+			String clientUri = ResourceUtils.toClientUri(uri);
+			publish(new PublishDiagnosticsParams(clientUri, Collections.emptyList()));
+			connection.forgetPublishedDiagnostics(clientUri);
 		}
 	}
 
@@ -606,4 +908,23 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 		IFile file = (IFile) resource;
 		return JavaCore.isJavaLikeFileName(file.getName()) || projectsManager.isBuildFile(file);
 	}
+
+	/**
+	 * Flushes the resources whose markers changed outside of a build. It runs
+	 * as a workspace job, so that waiting for the workspace jobs also waits for
+	 * the pending diagnostics.
+	 */
+	private final class PublishMarkersJob extends WorkspaceJob {
+
+		private PublishMarkersJob() {
+			super("Publish Marker Diagnostics");
+			setSystem(true);
+		}
+
+		@Override
+		public IStatus runInWorkspace(IProgressMonitor monitor) {
+			publishDirtyResources();
+			return Status.OK_STATUS;
+		}
+	}
 }
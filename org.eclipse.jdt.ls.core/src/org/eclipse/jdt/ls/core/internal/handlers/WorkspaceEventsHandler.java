@@ -169,7 +169,10 @@ public class WorkspaceEventsHandler {
 	}
 
 	private void cleanUpDiagnostics(String uri) {
-		this.connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), Collections.emptyList()));
+		String clientUri = ResourceUtils.toClientUri(uri);
+		this.connection.publishDiagnostics(new PublishDiagnosticsParams(clientUri, Collections.emptyList()));
+		// the file is deleted, its diagnostics don't need to be remembered
+		this.connection.forgetPublishedDiagnostics(clientUri);
 	}
 
 	private void discardWorkingCopies(String parentUri) {
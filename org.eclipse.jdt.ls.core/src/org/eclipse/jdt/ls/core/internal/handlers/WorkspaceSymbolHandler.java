@@ -36,6 +36,7 @@ import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 import org.eclipse.jdt.ls.core.internal.SearchUtils;
+import org.eclipse.jdt.ls.core.internal.TypeNameIndex;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences.SearchScope;
 import org.eclipse.lsp4j.Location;
@@ -106,12 +107,23 @@ public class WorkspaceSymbolHandler {
 			SearchEngine engine = new SearchEngine();
 			boolean isSymbolTagSupported = preferenceManager != null && preferenceManager.getClientPreferences().isSymbolTagSupported();
 			WorkspaceSymbolTypeRequestor typeRequestor = new WorkspaceSymbolTypeRequestor(symbols, maxResults, sourceOnly, isSymbolTagSupported, monitor);
+			// the type name index serves the queries without wildcards
+			TypeNameIndex index = JavaLanguageServerPlugin.getTypeNameIndex();
+			boolean indexed = index != null && !tQuery.contains("*") && !tQuery.contains("?");
 			if (!typeName.isEmpty()) {
 				// search for qualifier = qualifierName, type = typeName
-				engine.searchAllTypeNames(qualifierName == null ? null : qualifierName.toCharArray(), qualifierMatchRule, fuzzyCamelName != null ? fuzzyCamelName.toCharArray() : typeName.toCharArray(), typeMatchRule, IJavaSearchConstants.TYPE, searchScope,typeRequestor , IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+				if (indexed && qualifierName == null && fuzzyCamelName == null) {
+					index.find(getTargetProjects(projectName), typeName, isLibrariesIncluded(sourceOnly), isTestCodeExcluded(), typeRequestor, monitor);
+				} else {
+					engine.searchAllTypeNames(qualifierName == null ? null : qualifierName.toCharArray(), qualifierMatchRule, fuzzyCamelName != null ? fuzzyCamelName.toCharArray() : typeName.toCharArray(), typeMatchRule, IJavaSearchConstants.TYPE, searchScope,typeRequestor , IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+				}
 			}
 			// search for qualifier = qualiferName.typeName, type = null
-			engine.searchAllTypeNames(tQuery.toCharArray(), qualifierMatchRule, null, typeMatchRule, IJavaSearchConstants.TYPE, searchScope, typeRequestor, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+			if (indexed) {
+				index.findInQualifier(getTargetProjects(projectName), tQuery, isLibrariesIncluded(sourceOnly), isTestCodeExcluded(), typeRequestor, monitor);
+			} else {
+				engine.searchAllTypeNames(tQuery.toCharArray(), qualifierMatchRule, null, typeMatchRule, IJavaSearchConstants.TYPE, searchScope, typeRequestor, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+			}
 
 			if (preferenceManager != null && preferenceManager.getPreferences().isIncludeSourceMethodDeclarations()) {
 				monitor.beginTask("Searching methods...", 100);
@@ -133,21 +145,28 @@ public class WorkspaceSymbolHandler {
 	}
 
 	private static IJavaSearchScope createSearchScope(String projectName, boolean sourceOnly) throws JavaModelException {
-		IJavaProject[] targetProjects;
+		int scope = IJavaSearchScope.REFERENCED_PROJECTS | IJavaSearchScope.SOURCES;
+		if (isLibrariesIncluded(sourceOnly)) {
+			scope |= IJavaSearchScope.APPLICATION_LIBRARIES | IJavaSearchScope.SYSTEM_LIBRARIES;
+		}
+		return SearchEngine.createJavaSearchScope(isTestCodeExcluded(), getTargetProjects(projectName), scope);
+	}
+
+	private static IJavaProject[] getTargetProjects(String projectName) {
 		IJavaProject project = ProjectUtils.getJavaProject(projectName);
 		if (project != null) {
-			targetProjects = new IJavaProject[] { project };
-		} else {
-			targetProjects = ProjectUtils.getJavaProjects();
+			return new IJavaProject[] { project };
 		}
+		return ProjectUtils.getJavaProjects();
+	}
 
-		int scope = IJavaSearchScope.REFERENCED_PROJECTS | IJavaSearchScope.SOURCES;
+	private static boolean isLibrariesIncluded(boolean sourceOnly) {
 		PreferenceManager preferenceManager = JavaLanguageServerPlugin.getPreferencesManager();
-		if (!sourceOnly && preferenceManager != null && preferenceManager.isClientSupportsClassFileContent()) {
-			scope |= IJavaSearchScope.APPLICATION_LIBRARIES | IJavaSearchScope.SYSTEM_LIBRARIES;
-		}
-		var excludeTestCode = preferenceManager.getPreferences().getSearchScope() == SearchScope.main;
-		return SearchEngine.createJavaSearchScope(excludeTestCode, targetProjects, scope);
+		return !sourceOnly && preferenceManager != null && preferenceManager.isClientSupportsClassFileContent();
+	}
+
+	private static boolean isTestCodeExcluded() {
+		return JavaLanguageServerPlugin.getPreferencesManager().getPreferences().getSearchScope() == SearchScope.main;
 	}
 
 	public static class SearchSymbolParams extends WorkspaceSymbolParams {
@@ -0,0 +1,402 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.javadoc;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IClasspathAttribute;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+
+/**
+ * Caches the rendered Javadoc of the elements of libraries. The Javadoc of the
+ * most recently used elements is kept in memory, and all of it is stored in a
+ * directory of the workspace metadata, so it survives restarts. The Javadoc of
+ * an element is rendered the first time it's requested.
+ * <p>
+ * Each library has its own directory, stamped with the size and modification
+ * time of the library, of its source attachment and with its Javadoc location.
+ * The directory is emptied when the stamp changes. The Javadoc of the elements
+ * of the source folders isn't cached.
+ * </p>
+ * <p>
+ * At most {@link #MAX_DISK_SIZE} bytes are stored: the directories of the least
+ * recently used libraries are deleted first. The directories of the libraries
+ * which aren't on the classpath of any project anymore are deleted by
+ * {@link #prune()}.
+ * </p>
+ */
+public class JavadocCache {
+
+	public enum Format {
+		MARKDOWN, PLAIN_TEXT
+	}
+
+	/**
+	 * Renders the Javadoc of an element.
+	 */
+	@FunctionalInterface
+	public interface Renderer {
+		/**
+		 * @return the Javadoc, or <code>null</code> if the element has none
+		 * @throws JavaModelException
+		 *             if the Javadoc can't be rendered, nothing is cached then
+		 */
+		String render() throws JavaModelException;
+	}
+
+	/**
+	 * The number of rendered Javadoc kept in memory
+	 */
+	private static final int MAX_ENTRIES = 1024;
+
+	/**
+	 * The number of bytes of Javadoc stored on disk
+	 */
+	public static final long MAX_DISK_SIZE = 64L * 1024 * 1024;
+
+	private static final String STAMP_FILE_NAME = ".stamp";
+
+	/**
+	 * Stands for the Javadoc of an element without one
+	 */
+	private static final String NONE = "\0";
+
+	private final File directory;
+
+	private final long maxDiskSize;
+
+	/**
+	 * The number of bytes stored in the directory, or -1 until it's computed
+	 */
+	private final AtomicLong diskSize = new AtomicLong(-1);
+
+	/**
+	 * Whether the library being cached doesn't fit on its own, no more Javadoc
+	 * is stored in this session then
+	 */
+	private volatile boolean full;
+
+	private final Map<String, String> entries = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/**
+	 * The stamps of the library directories checked in this session
+	 */
+	private final Map<String, String> stamps = new ConcurrentHashMap<>();
+
+	public JavadocCache(File directory) {
+		this(directory, MAX_DISK_SIZE);
+	}
+
+	JavadocCache(File directory, long maxDiskSize) {
+		this.directory = directory;
+		this.maxDiskSize = maxDiskSize;
+	}
+
+	/**
+	 * Returns the Javadoc of the given element, rendering it if it isn't
+	 * cached.
+	 *
+	 * @param element
+	 *            the element
+	 * @param format
+	 *            the format of the Javadoc
+	 * @param renderer
+	 *            renders the Javadoc of the element
+	 * @return the Javadoc, or <code>null</code> if the element has none
+	 * @throws JavaModelException
+	 *             if the Javadoc can't be rendered
+	 */
+	public String get(IJavaElement element, Format format, Renderer renderer) throws JavaModelException {
+		Library library = getLibrary(element);
+		if (library == null) {
+			return renderer.render();
+		}
+		String name = digest(format.name() + element.getHandleIdentifier());
+		String key = library.stamp() + '/' + library.directory().getName() + '/' + name;
+		String content;
+		synchronized (entries) {
+			content = entries.get(key);
+		}
+		if (content == null) {
+			content = read(new File(library.directory(), name));
+			if (content == null) {
+				// a failure to render is thrown before anything is cached
+				String javadoc = renderer.render();
+				content = javadoc == null ? NONE : javadoc;
+				if (!full) {
+					getDiskSize();
+					if (diskSize.addAndGet(write(new File(library.directory(), name), content)) > maxDiskSize) {
+						trim(library.directory());
+					}
+				}
+			}
+			synchronized (entries) {
+				entries.put(key, content);
+			}
+		}
+		return NONE.equals(content) ? null : content;
+	}
+
+	/**
+	 * Drops the Javadoc kept in memory. The stored Javadoc is kept.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+		stamps.clear();
+	}
+
+	/**
+	 * Deletes the stored Javadoc of the libraries which aren't on the classpath
+	 * of any project.
+	 */
+	public void prune() {
+		File[] libraryDirectories = directory.listFiles(File::isDirectory);
+		if (libraryDirectories == null) {
+			return;
+		}
+		Set<String> names = new HashSet<>();
+		try {
+			for (IJavaProject project : JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects()) {
+				for (IPackageFragmentRoot root : project.getAllPackageFragmentRoots()) {
+					if (root.getKind() == IPackageFragmentRoot.K_BINARY) {
+						names.add(digest(root.getPath().toString()));
+					}
+				}
+			}
+		} catch (JavaModelException e) {
+			// the libraries of a project are unknown, their Javadoc is kept
+			JavaLanguageServerPlugin.logException("Failed to prune the Javadoc cache", e);
+			return;
+		}
+		for (File libraryDirectory : libraryDirectories) {
+			if (!names.contains(libraryDirectory.getName())) {
+				deleteLibrary(libraryDirectory);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of bytes stored in the directory
+	 */
+	long getDiskSize() {
+		long size = diskSize.get();
+		if (size >= 0) {
+			return size;
+		}
+		size = 0;
+		File[] libraryDirectories = directory.listFiles(File::isDirectory);
+		if (libraryDirectories != null) {
+			for (File libraryDirectory : libraryDirectories) {
+				File[] files = libraryDirectory.listFiles();
+				if (files != null) {
+					for (File file : files) {
+						size += file.length();
+					}
+				}
+			}
+		}
+		return diskSize.compareAndSet(-1, size) ? size : diskSize.get();
+	}
+
+	/**
+	 * Deletes the directories of the least recently used libraries, but the
+	 * given one, until the stored Javadoc takes three quarters of the budget.
+	 */
+	private void trim(File current) {
+		File[] libraryDirectories = directory.listFiles(File::isDirectory);
+		if (libraryDirectories == null) {
+			return;
+		}
+		// the stamp of a library is touched when the library is first used in a session
+		Arrays.sort(libraryDirectories, Comparator.comparingLong(libraryDirectory -> new File(libraryDirectory, STAMP_FILE_NAME).lastModified()));
+		for (File libraryDirectory : libraryDirectories) {
+			if (diskSize.get() <= maxDiskSize / 4 * 3) {
+				break;
+			}
+			if (!libraryDirectory.equals(current)) {
+				deleteLibrary(libraryDirectory);
+			}
+		}
+		full = diskSize.get() > maxDiskSize;
+	}
+
+	private void deleteLibrary(File libraryDirectory) {
+		synchronized (stamps) {
+			stamps.remove(libraryDirectory.getName());
+			// counts the deleted files once
+			getDiskSize();
+			diskSize.addAndGet(-delete(libraryDirectory));
+			libraryDirectory.delete();
+		}
+	}
+
+	private Library getLibrary(IJavaElement element) {
+		IPackageFragmentRoot root = (IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		if (root == null) {
+			return null;
+		}
+		String stamp;
+		try {
+			if (root.getKind() != IPackageFragmentRoot.K_BINARY) {
+				return null;
+			}
+			StringBuilder builder = new StringBuilder();
+			appendStamp(builder, root.getResource() != null ? root.getResource().getLocation() : root.getPath());
+			appendStamp(builder, root.getSourceAttachmentPath());
+			IClasspathEntry entry = root.getResolvedClasspathEntry();
+			if (entry != null) {
+				for (IClasspathAttribute attribute : entry.getExtraAttributes()) {
+					if (IClasspathAttribute.JAVADOC_LOCATION_ATTRIBUTE_NAME.equals(attribute.getName())) {
+						builder.append(attribute.getValue());
+					}
+				}
+			}
+			stamp = builder.toString();
+		} catch (JavaModelException e) {
+			return null;
+		}
+		File libraryDirectory = new File(directory, digest(root.getPath().toString()));
+		String previous = stamps.get(libraryDirectory.getName());
+		if (!stamp.equals(previous)) {
+			synchronized (stamps) {
+				File stampFile = new File(libraryDirectory, STAMP_FILE_NAME);
+				if (!stamp.equals(read(stampFile))) {
+					getDiskSize();
+					diskSize.addAndGet(-delete(libraryDirectory));
+					diskSize.addAndGet(write(stampFile, stamp));
+				} else {
+					stampFile.setLastModified(System.currentTimeMillis());
+				}
+				stamps.put(libraryDirectory.getName(), stamp);
+			}
+		}
+		return new Library(libraryDirectory, digest(stamp));
+	}
+
+	private static void appendStamp(StringBuilder builder, IPath path) {
+		if (path == null) {
+			builder.append(';');
+			return;
+		}
+		File file = path.toFile();
+		if (!file.exists()) {
+			IResource resource = ResourcesPlugin.getWorkspace().getRoot().findMember(path);
+			if (resource != null && resource.getLocation() != null) {
+				file = resource.getLocation().toFile();
+			}
+		}
+		builder.append(path).append(':').append(file.length()).append(':').append(file.lastModified()).append(';');
+	}
+
+	private static String read(File file) {
+		try {
+			return Files.readString(file.toPath(), StandardCharsets.UTF_8);
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Failed to read the cached Javadoc from " + file, e);
+			return null;
+		}
+	}
+
+	/**
+	 * @return the number of bytes written
+	 */
+	private static long write(File file, String content) {
+		try {
+			Files.createDirectories(file.getParentFile().toPath());
+			Path temp = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+			Files.writeString(temp, content, StandardCharsets.UTF_8);
+			try {
+				Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			return file.length();
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Failed to cache the Javadoc in " + file, e);
+			return 0;
+		}
+	}
+
+	/**
+	 * @return the number of bytes deleted
+	 */
+	private static long delete(File directory) {
+		long deleted = 0;
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				long length = file.length();
+				if (file.delete()) {
+					deleted += length;
+				}
+			}
+		}
+		return deleted;
+	}
+
+	private static String digest(String value) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-1 is supported by every Java platform
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @param directory
+	 *            the directory of the Javadoc of the library
+	 * @param stamp
+	 *            the digest of the stamp of the library
+	 */
+	private record Library(File directory, String stamp) {
+	}
+}
@@ -60,6 +60,7 @@ import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.ui.viewsupport.CoreJavaElementLinks;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.javadoc.JavadocCache.Format;
 import org.eclipse.lsp4j.Location;
 
 /**
@@ -88,6 +89,14 @@ public class JavadocContentAccess2 {
 	}
 
 	public static String getPlainTextContent(IMember member) throws JavaModelException {
+		JavadocCache cache = JavaLanguageServerPlugin.getJavadocCache();
+		if (cache == null) {
+			return computePlainTextContent(member);
+		}
+		return cache.get(member, Format.PLAIN_TEXT, () -> computePlainTextContent(member));
+	}
+
+	private static String computePlainTextContent(IMember member) throws JavaModelException {
 		Reader contentReader = CoreJavadocContentAccessUtility.getHTMLContentReader(member, true, true);
 		if (contentReader != null) {
 			try {
@@ -100,7 +109,23 @@ public class JavadocContentAccess2 {
 	}
 
 	public static String getMarkdownContent(IJavaElement element) {
+		JavadocCache cache = JavaLanguageServerPlugin.getJavadocCache();
+		try {
+			if (cache == null) {
+				return computeMarkdownContent(element);
+			}
+			return cache.get(element, Format.MARKDOWN, () -> computeMarkdownContent(element));
+		} catch (JavaModelException e) {
+			return null;
+		}
+	}
 
+	/**
+	 * @return the Javadoc of the element, or <code>null</code> if it has none
+	 * @throws JavaModelException
+	 *             if the Javadoc can't be read or converted
+	 */
+	private static String computeMarkdownContent(IJavaElement element) throws JavaModelException {
 		CoreJavadocAccess access = createJdtLsJavadocAccess();
 		try {
 			String content = getJavaDocNode(element);
@@ -152,11 +177,13 @@ public class JavadocContentAccess2 {
 				String rawHtml = access.getHTMLContent(element, true);
 				return new JavaDoc2MarkdownConverter(rawHtml).getAsString();
 			}
-		} catch (IOException | CoreException e) {
-
+		} catch (JavaModelException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new JavaModelException(e, IJavaModelStatusConstants.UNKNOWN_JAVADOC_FORMAT);
+		} catch (CoreException e) {
+			throw new JavaModelException(e);
 		}
-
-		return null;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -207,6 +207,10 @@ public class ClientPreferences {
 		return v3supported && isDynamicRegistrationSupported(capabilities.getTextDocument().getInlayHint());
 	}
 
+	public boolean isDiagnosticPullSupported() {
+		return v3supported && capabilities.getTextDocument().getDiagnostic() != null;
+	}
+
 	public boolean isWillSaveRegistered() {
 		return v3supported && capabilities.getTextDocument().getSynchronization() != null && isTrue(capabilities.getTextDocument().getSynchronization().getWillSave());
 	}
@@ -497,6 +501,10 @@ public class ClientPreferences {
 		return isPropertySupportedForCompletionResolve("detail");
 	}
 
+	public boolean isCompletionResolveTextEditSupport() {
+		return isPropertySupportedForCompletionResolve("textEdit");
+	}
+
 	public boolean isPropertySupportedForCompletionResolve(String property) {
 		return (v3supported
 			&& capabilities.getTextDocument().getCompletion() != null
@@ -520,6 +528,14 @@ public class ClientPreferences {
 			&& capabilities.getWorkspace().getCodeLens().getRefreshSupport().booleanValue();
 	}
 
+	public boolean isDiagnosticRefreshSupported() {
+		return v3supported
+			&& capabilities.getWorkspace() != null
+			&& capabilities.getWorkspace().getDiagnostics() != null
+			&& capabilities.getWorkspace().getDiagnostics().getRefreshSupport() != null
+			&& capabilities.getWorkspace().getDiagnostics().getRefreshSupport().booleanValue();
+	}
+
 	public Collection<String> excludedMarkerTypes() {
 		Object list = extendedClientCapabilities.getOrDefault("excludedMarkerTypes", null);
 		return list instanceof Collection<?> excludedMarkerTypes //
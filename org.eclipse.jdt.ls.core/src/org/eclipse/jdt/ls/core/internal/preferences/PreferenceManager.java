@@ -417,6 +417,14 @@ public class PreferenceManager {
 		return getClientPreferences() != null && getClientPreferences().isClassFileContentSupported();
 	}
 
+	/**
+	 * Checks whether the diagnostics of the open documents are pulled by the
+	 * client instead of being pushed by the server
+	 */
+	public boolean isDiagnosticPullEnabled() {
+		return getClientPreferences() != null && getClientPreferences().isDiagnosticPullSupported() && getPreferences().isDiagnosticPullEnabled();
+	}
+
 	/**
 	 * Checks whether the client supports markdown in completion
 	 */
@@ -30,7 +30,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
-import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -68,6 +67,7 @@ import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.RuntimeEnvironment;
 import org.eclipse.jdt.ls.core.internal.commands.ProjectCommand;
 import org.eclipse.jdt.ls.core.internal.commands.ProjectCommand.ClasspathResult;
+import org.eclipse.jdt.ls.core.internal.contentassist.FavoriteMembersIndex;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionGuessMethodArgumentsMode;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionMatchCaseMode;
 import org.eclipse.jdt.ls.core.internal.handlers.InlayHintsParameterMode;
@@ -396,6 +396,14 @@ public class Preferences {
 	public static final String JAVA_COMPLETION_MAX_RESULTS_KEY = "java.completion.maxResults";
 	public static final int JAVA_COMPLETION_MAX_RESULTS_DEFAULT = 50;
 
+	/**
+	 * Preference key for the number of top-ranked completion results which are
+	 * fully built, the other ones are completed in completionItem/resolve when
+	 * the client resolves their text edits. Defaults to 0, every result is fully
+	 * built.
+	 */
+	public static final String JAVA_COMPLETION_MAX_RESOLVED_RESULTS_KEY = "java.completion.maxResolvedResults";
+
 	/**
 	 * A named preference that controls if the Java code assist only inserts
 	 * completions. When set to true, code completion overwrites the current text.
@@ -504,6 +512,21 @@ public class Preferences {
 
 	public static final String JAVA_EDIT_VALIDATE_ALL_OPEN_BUFFERS_ON_CHANGES = "java.edit.validateAllOpenBuffersOnChanges";
 	public static final String JAVA_DIAGNOSTIC_FILER = "java.diagnostic.filter";
+	public static final String JAVA_DIAGNOSTIC_SKIP_UNCHANGED = "java.diagnostic.skipUnchanged";
+	public static final String JAVA_DIAGNOSTIC_PULL_ENABLED = "java.diagnostic.pull.enabled";
+	public static final String JAVA_DIAGNOSTIC_SYNTAX_PASS_ENABLED = "java.diagnostic.syntaxPass.enabled";
+
+	/**
+	 * Preference keys for the thresholds above which an open document is
+	 * handled as a large file, with syntax-only diagnostics and without the
+	 * most expensive features. A threshold of 0 is disabled.
+	 */
+	public static final String JAVA_LARGE_FILE_MAX_CHARACTERS = "java.largeFile.maxCharacters";
+	public static final int JAVA_LARGE_FILE_MAX_CHARACTERS_DEFAULT = 1_000_000;
+	public static final String JAVA_LARGE_FILE_MAX_LINES = "java.largeFile.maxLines";
+	public static final int JAVA_LARGE_FILE_MAX_LINES_DEFAULT = 25_000;
+	public static final String JAVA_LARGE_FILE_MAX_AST_NODES = "java.largeFile.maxAstNodes";
+	public static final int JAVA_LARGE_FILE_MAX_AST_NODES_DEFAULT = 500_000;
 	/**
 	 * The preferences for generating toString method.
 	 */
@@ -561,6 +584,13 @@ public class Preferences {
 	 */
 	public static final String CHAIN_COMPLETION_KEY = "java.completion.chain.enabled";
 
+	/**
+	 * Preference key to enable/disable the completion computed in the
+	 * background when a member access <code>.</code> or an annotation
+	 * <code>@</code> is typed, before the client requests it.
+	 */
+	public static final String SPECULATIVE_COMPLETION_KEY = "java.completion.speculative.enabled";
+
 	/**
 	 * Preference key to set the scope value to use when searching java code. Allowed value are
 	 * <ul>
@@ -617,8 +647,6 @@ public class Preferences {
 	public static final String SELECTION_RANGE_ID = UUID.randomUUID().toString();
 	public static final String INLAY_HINT_ID = UUID.randomUUID().toString();
 
-	public static final Set<String> DISCOVERED_STATIC_IMPORTS = new LinkedHashSet<>();
-
 	private static final String GRADLE_OFFLINE_MODE = "gradle.offline.mode";
 	private static final int DEFAULT_TAB_SIZE = 4;
 
@@ -712,6 +740,7 @@ public class Preferences {
 	private Collection<IPath> projectConfigurations;
 	private int parallelBuildsCount;
 	private int maxCompletionResults;
+	private int maxResolvedCompletionResults;
 	private int importOnDemandThreshold;
 	private int staticImportOnDemandThreshold;
 	private Set<RuntimeEnvironment> runtimes = new HashSet<>();
@@ -745,7 +774,14 @@ public class Preferences {
 	private boolean telemetryEnabled;
 	private boolean validateAllOpenBuffersOnChanges;
 	private boolean chainCompletionEnabled;
+	private boolean speculativeCompletionEnabled;
 	private List<String> diagnosticFilter;
+	private boolean skipUnchangedDiagnostics;
+	private boolean diagnosticPullEnabled;
+	private boolean syntaxDiagnosticsPassEnabled;
+	private int largeFileMaxCharacters;
+	private int largeFileMaxLines;
+	private int largeFileMaxAstNodes;
 	private SearchScope searchScope;
 	private boolean inlayHintsSuppressedWhenSameNameNumberedParameter;
 
@@ -980,6 +1016,7 @@ public class Preferences {
 		filteredTypes = JAVA_COMPLETION_FILTERED_TYPES_DEFAULT;
 		parallelBuildsCount = PreferenceInitializer.PREF_MAX_CONCURRENT_BUILDS_DEFAULT;
 		maxCompletionResults = JAVA_COMPLETION_MAX_RESULTS_DEFAULT;
+		maxResolvedCompletionResults = Integer.MAX_VALUE;
 		importOnDemandThreshold = IMPORTS_ONDEMANDTHRESHOLD_DEFAULT;
 		staticImportOnDemandThreshold = IMPORTS_STATIC_ONDEMANDTHRESHOLD_DEFAULT;
 		referencedLibraries = JAVA_PROJECT_REFERENCED_LIBRARIES_DEFAULT;
@@ -1010,6 +1047,12 @@ public class Preferences {
 		telemetryEnabled = false;
 		validateAllOpenBuffersOnChanges = true;
 		diagnosticFilter = new ArrayList<>();
+		skipUnchangedDiagnostics = true;
+		diagnosticPullEnabled = false;
+		syntaxDiagnosticsPassEnabled = true;
+		largeFileMaxCharacters = JAVA_LARGE_FILE_MAX_CHARACTERS_DEFAULT;
+		largeFileMaxLines = JAVA_LARGE_FILE_MAX_LINES_DEFAULT;
+		largeFileMaxAstNodes = JAVA_LARGE_FILE_MAX_AST_NODES_DEFAULT;
 		searchScope = SearchScope.all;
 	}
 
@@ -1152,6 +1195,7 @@ public class Preferences {
 		prefs.javaFormatComments = this.javaFormatComments;
 		prefs.parallelBuildsCount = this.parallelBuildsCount;
 		prefs.maxCompletionResults = this.maxCompletionResults;
+		prefs.maxResolvedCompletionResults = this.maxResolvedCompletionResults;
 		prefs.importOnDemandThreshold = this.importOnDemandThreshold;
 		prefs.staticImportOnDemandThreshold = this.staticImportOnDemandThreshold;
 		prefs.includeAccessors = this.includeAccessors;
@@ -1179,6 +1223,13 @@ public class Preferences {
 		prefs.telemetryEnabled = this.telemetryEnabled;
 		prefs.validateAllOpenBuffersOnChanges = this.validateAllOpenBuffersOnChanges;
 		prefs.chainCompletionEnabled = this.chainCompletionEnabled;
+		prefs.speculativeCompletionEnabled = this.speculativeCompletionEnabled;
+		prefs.skipUnchangedDiagnostics = this.skipUnchangedDiagnostics;
+		prefs.diagnosticPullEnabled = this.diagnosticPullEnabled;
+		prefs.syntaxDiagnosticsPassEnabled = this.syntaxDiagnosticsPassEnabled;
+		prefs.largeFileMaxCharacters = this.largeFileMaxCharacters;
+		prefs.largeFileMaxLines = this.largeFileMaxLines;
+		prefs.largeFileMaxAstNodes = this.largeFileMaxAstNodes;
 		prefs.searchScope = this.searchScope;
 
 		// Deep copy collections
@@ -1655,6 +1706,11 @@ public class Preferences {
 			prefs.setMaxCompletionResults(maxCompletions);
 		}
 
+		if (containsKey(configuration, JAVA_COMPLETION_MAX_RESOLVED_RESULTS_KEY)) {
+			int maxResolvedCompletions = getInt(configuration, JAVA_COMPLETION_MAX_RESOLVED_RESULTS_KEY, existing.maxResolvedCompletionResults);
+			prefs.setMaxResolvedCompletionResults(maxResolvedCompletions);
+		}
+
 		if (containsKey(configuration, IMPORTS_ONDEMANDTHRESHOLD)) {
 			int onDemandThreshold = getInt(configuration, IMPORTS_ONDEMANDTHRESHOLD, existing.importOnDemandThreshold);
 			prefs.setImportOnDemandThreshold(onDemandThreshold);
@@ -1886,11 +1942,41 @@ public class Preferences {
 			prefs.setChainCompletionEnabled(chainCompletionEnabled);
 		}
 
+		if (containsKey(configuration, SPECULATIVE_COMPLETION_KEY)) {
+			boolean speculativeCompletionEnabled = getBoolean(configuration, SPECULATIVE_COMPLETION_KEY, existing.speculativeCompletionEnabled);
+			prefs.setSpeculativeCompletionEnabled(speculativeCompletionEnabled);
+		}
+
 		if (containsKey(configuration, JAVA_DIAGNOSTIC_FILER)) {
 			List<String> diagnosticFilter = getList(configuration, JAVA_DIAGNOSTIC_FILER, existing.diagnosticFilter);
 			prefs.setDiagnosticFilter(diagnosticFilter);
 		}
 
+		if (containsKey(configuration, JAVA_DIAGNOSTIC_SKIP_UNCHANGED)) {
+			boolean skipUnchangedDiagnostics = getBoolean(configuration, JAVA_DIAGNOSTIC_SKIP_UNCHANGED, existing.skipUnchangedDiagnostics);
+			prefs.setSkipUnchangedDiagnostics(skipUnchangedDiagnostics);
+		}
+
+		if (containsKey(configuration, JAVA_DIAGNOSTIC_PULL_ENABLED)) {
+			boolean diagnosticPullEnabled = getBoolean(configuration, JAVA_DIAGNOSTIC_PULL_ENABLED, existing.diagnosticPullEnabled);
+			prefs.setDiagnosticPullEnabled(diagnosticPullEnabled);
+		}
+
+		if (containsKey(configuration, JAVA_DIAGNOSTIC_SYNTAX_PASS_ENABLED)) {
+			boolean syntaxDiagnosticsPassEnabled = getBoolean(configuration, JAVA_DIAGNOSTIC_SYNTAX_PASS_ENABLED, existing.syntaxDiagnosticsPassEnabled);
+			prefs.setSyntaxDiagnosticsPassEnabled(syntaxDiagnosticsPassEnabled);
+		}
+
+		if (containsKey(configuration, JAVA_LARGE_FILE_MAX_CHARACTERS)) {
+			prefs.setLargeFileMaxCharacters(getInt(configuration, JAVA_LARGE_FILE_MAX_CHARACTERS, existing.largeFileMaxCharacters));
+		}
+		if (containsKey(configuration, JAVA_LARGE_FILE_MAX_LINES)) {
+			prefs.setLargeFileMaxLines(getInt(configuration, JAVA_LARGE_FILE_MAX_LINES, existing.largeFileMaxLines));
+		}
+		if (containsKey(configuration, JAVA_LARGE_FILE_MAX_AST_NODES)) {
+			prefs.setLargeFileMaxAstNodes(getInt(configuration, JAVA_LARGE_FILE_MAX_AST_NODES, existing.largeFileMaxAstNodes));
+		}
+
 		if (containsKey(configuration, JAVA_CONFIGURATION_ASSOCIATIONS)) {
 			Object object = getValue(configuration, JAVA_CONFIGURATION_ASSOCIATIONS);
 			Set<String> associations = new HashSet<>();
@@ -2302,9 +2388,11 @@ public class Preferences {
 	}
 
 	public String[] getJavaCompletionFavoriteMembers() {
-		Set<String> favorites = new LinkedHashSet<>(javaCompletionFavoriteMembers);
-		favorites.addAll(DISCOVERED_STATIC_IMPORTS);
-		return favorites.toArray(new String[0]);
+		FavoriteMembersIndex index = JavaLanguageServerPlugin.getFavoriteMembersIndex();
+		if (index == null) {
+			return javaCompletionFavoriteMembers.toArray(new String[0]);
+		}
+		return index.getFavoriteMembers(javaCompletionFavoriteMembers);
 	}
 
 	public String getJavaHome() {
@@ -2722,6 +2810,29 @@ public class Preferences {
 		return this;
 	}
 
+	public int getMaxResolvedCompletionResults() {
+		return maxResolvedCompletionResults;
+	}
+
+	/**
+	 * Sets the number of top-ranked completion results which are fully built.
+	 * The other results only hold their label, kind, sort and filter texts, their
+	 * text edits are computed in completionItem/resolve. If
+	 * maxResolvedCompletions is set to 0 or lower, or if the client doesn't
+	 * resolve the text edits and the additional text edits, every result is
+	 * fully built.
+	 *
+	 * @param maxResolvedCompletions
+	 */
+	public Preferences setMaxResolvedCompletionResults(int maxResolvedCompletions) {
+		if (maxResolvedCompletions < 1) {
+			this.maxResolvedCompletionResults = Integer.MAX_VALUE;
+		} else {
+			this.maxResolvedCompletionResults = maxResolvedCompletions;
+		}
+		return this;
+	}
+
 	public ReferencedLibraries getReferencedLibraries() {
 		return referencedLibraries;
 	}
@@ -3053,6 +3164,14 @@ public class Preferences {
 		return this.chainCompletionEnabled;
 	}
 
+	public void setSpeculativeCompletionEnabled(boolean speculativeCompletionEnabled) {
+		this.speculativeCompletionEnabled = speculativeCompletionEnabled;
+	}
+
+	public boolean isSpeculativeCompletionEnabled() {
+		return this.speculativeCompletionEnabled;
+	}
+
 	/**
 	 * update the null analysis options of all projects based on the null analysis mode
 	 * Returns the list of enabled clean ups.
@@ -3292,6 +3411,54 @@ public class Preferences {
 		this.diagnosticFilter = diagnosticFilter;
 	}
 
+	public boolean isSkipUnchangedDiagnostics() {
+		return skipUnchangedDiagnostics;
+	}
+
+	public void setSkipUnchangedDiagnostics(boolean skipUnchangedDiagnostics) {
+		this.skipUnchangedDiagnostics = skipUnchangedDiagnostics;
+	}
+
+	public boolean isDiagnosticPullEnabled() {
+		return diagnosticPullEnabled;
+	}
+
+	public void setDiagnosticPullEnabled(boolean diagnosticPullEnabled) {
+		this.diagnosticPullEnabled = diagnosticPullEnabled;
+	}
+
+	public boolean isSyntaxDiagnosticsPassEnabled() {
+		return syntaxDiagnosticsPassEnabled;
+	}
+
+	public void setSyntaxDiagnosticsPassEnabled(boolean syntaxDiagnosticsPassEnabled) {
+		this.syntaxDiagnosticsPassEnabled = syntaxDiagnosticsPassEnabled;
+	}
+
+	public int getLargeFileMaxCharacters() {
+		return largeFileMaxCharacters;
+	}
+
+	public void setLargeFileMaxCharacters(int largeFileMaxCharacters) {
+		this.largeFileMaxCharacters = largeFileMaxCharacters;
+	}
+
+	public int getLargeFileMaxLines() {
+		return largeFileMaxLines;
+	}
+
+	public void setLargeFileMaxLines(int largeFileMaxLines) {
+		this.largeFileMaxLines = largeFileMaxLines;
+	}
+
+	public int getLargeFileMaxAstNodes() {
+		return largeFileMaxAstNodes;
+	}
+
+	public void setLargeFileMaxAstNodes(int largeFileMaxAstNodes) {
+		this.largeFileMaxAstNodes = largeFileMaxAstNodes;
+	}
+
 	public List<String> getFilesAssociations() {
 		return filesAssociations;
 	}
@@ -58,10 +58,26 @@ public class SemanticTokensVisitor extends ASTVisitor {
 	private CompilationUnit cu;
 	private IScanner scanner;
 	private List<SemanticToken> tokens;
+	private int rangeStart;
+	private int rangeEnd;
 
 	public SemanticTokensVisitor(CompilationUnit unit) {
+		this(unit, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Creates a visitor collecting the semantic tokens of the given source
+	 * range only. The nodes outside of the range are not visited.
+	 *
+	 * @param unit the AST to collect the semantic tokens of
+	 * @param rangeStart the (inclusive) start position of the range
+	 * @param rangeEnd the (exclusive) end position of the range
+	 */
+	public SemanticTokensVisitor(CompilationUnit unit, int rangeStart, int rangeEnd) {
 		super(true);
 		this.cu = unit;
+		this.rangeStart = rangeStart;
+		this.rangeEnd = rangeEnd;
 		this.tokens = new ArrayList<>();
 		this.scanner = null;
 
@@ -169,6 +185,9 @@ public class SemanticTokensVisitor extends ASTVisitor {
 	 * the encoding algorithm might discard them.
 	 */
 	private void addToken(int offset, int length, TokenType tokenType, int modifiers) {
+		if (offset + length <= rangeStart || offset >= rangeEnd) {
+			return;
+		}
 		tokens.add(new SemanticToken(offset, length, tokenType, modifiers | staticModifiers));
 	}
 
@@ -203,6 +222,13 @@ public class SemanticTokensVisitor extends ASTVisitor {
 		addToken(node, tokenType, 0);
 	}
 
+	@Override
+	public boolean preVisit2(ASTNode node) {
+		// skip the subtrees outside of the requested range
+		int start = node.getStartPosition();
+		return start < rangeEnd && start + node.getLength() >= rangeStart;
+	}
+
 	@Override
 	public boolean visit(TypeLiteral node) {
 		acceptNode(node.getType());
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TypeNameIndexTest extends AbstractProjectsManagerBasedTest {
+
+	private IJavaProject project;
+	private TypeNameIndex index;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		importProjects("eclipse/hello");
+		project = JavaCore.create(WorkspaceHelper.getProject("hello"));
+		index = new TypeNameIndex();
+		index.addElementChangedListener();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		index.removeElementChangedListener();
+	}
+
+	@Test
+	public void testFind() throws Exception {
+		List<String> names = find("NPE", true);
+		assertTrue(names.contains("java.lang.NullPointerException"), names.toString());
+		assertTrue(names.stream().allMatch(name -> name.substring(name.lastIndexOf('.') + 1).startsWith("N")), names.toString());
+
+		names = find("HaMa", true);
+		assertTrue(names.contains("java.util.HashMap"), names.toString());
+
+		names = find("hashm", true);
+		assertTrue(names.contains("java.util.HashMap"), names.toString());
+		assertFalse(names.contains("java.util.Map"), names.toString());
+
+		names = find("Baz", false);
+		assertTrue(names.contains("java.Baz"), names.toString());
+		assertTrue(names.stream().noneMatch(name -> name.startsWith("java.lang.")), names.toString());
+		assertTrue(index.size() > 0);
+	}
+
+	@Test
+	public void testFindInQualifier() throws Exception {
+		List<String> names = new ArrayList<>();
+		index.findInQualifier(new IJavaProject[] { project }, "JAVA.io", true, false, collect(names), new NullProgressMonitor());
+		assertTrue(names.contains("java.io.File"), names.toString());
+		assertFalse(names.contains("java.io.ObjectInputStream$GetField"), names.toString());
+
+		names.clear();
+		index.findInQualifier(new IJavaProject[] { project }, "java.io.ObjectInputStream", true, false, collect(names), new NullProgressMonitor());
+		assertTrue(names.contains("java.io.ObjectInputStream$GetField"), names.toString());
+	}
+
+	@Test
+	public void testUpdate() throws Exception {
+		assertEquals(List.of(), find("QuuxIndexed", false));
+		IPackageFragmentRoot root = project.getPackageFragmentRoot(project.getProject().getFolder("src"));
+		IPackageFragment fragment = root.getPackageFragment("java");
+		fragment.createCompilationUnit("Quux.java", "package java;\nclass QuuxIndexed {\n}\n", true, null);
+		List<String> names = new ArrayList<>();
+		List<IType> types = new ArrayList<>();
+		index.find(new IJavaProject[] { project }, "QuuxIndexed", false, false, new TypeNameMatchRequestor() {
+			@Override
+			public void acceptTypeNameMatch(TypeNameMatch match) {
+				names.add(match.getFullyQualifiedName());
+				types.add(match.getType());
+			}
+		}, new NullProgressMonitor());
+		assertEquals(List.of("java.QuuxIndexed"), names);
+		assertTrue(types.get(0).exists());
+	}
+
+	private List<String> find(String pattern, boolean includeLibraries) throws Exception {
+		List<String> names = new ArrayList<>();
+		index.find(new IJavaProject[] { project }, pattern, includeLibraries, false, collect(names), new NullProgressMonitor());
+		return names;
+	}
+
+	private static TypeNameMatchRequestor collect(List<String> names) {
+		return new TypeNameMatchRequestor() {
+			@Override
+			public void acceptTypeNameMatch(TypeNameMatch match) {
+				names.add(match.getFullyQualifiedName());
+			}
+		};
+	}
+}
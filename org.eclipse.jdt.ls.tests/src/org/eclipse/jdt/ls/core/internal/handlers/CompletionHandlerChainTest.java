@@ -7,17 +7,21 @@ import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.core.resources.ProjectScope;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.core.manipulation.JavaManipulation;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JsonMessageHelper;
-import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+import org.eclipse.jdt.ls.core.internal.contentassist.ChainCompletionProposalComputer;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.CompletionTriggerKind;
 import org.eclipse.lsp4j.Position;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -54,7 +58,7 @@ public class CompletionHandlerChainTest extends AbstractCompilationUnitBasedTest
 		sharedASTProvider.disposeAST();
 		preferences.setPostfixCompletionEnabled(false);
 		preferences.setChainCompletionEnabled(true);
-		Preferences.DISCOVERED_STATIC_IMPORTS.clear();
+		JavaLanguageServerPlugin.getFavoriteMembersIndex().clear();
 		increaseChainCompletionTimeout();
 	}
 
@@ -71,6 +75,12 @@ public class CompletionHandlerChainTest extends AbstractCompilationUnitBasedTest
 		return server.completion(JsonMessageHelper.getParams(createCompletionRequest(unit, loc[0], loc[1]))).join().getRight();
 	}
 
+	private CompletionList requestCompletions(ICompilationUnit unit, String completeBehind, CompletionTriggerKind triggerKind) throws JavaModelException {
+		int[] loc = findCompletionLocation(unit, completeBehind);
+		String request = createCompletionRequest(unit, loc[0], loc[1]).replace("\"triggerKind\": 1", "\"triggerKind\": " + triggerKind.getValue());
+		return server.completion(JsonMessageHelper.getParams(request)).join().getRight();
+	}
+
 	private String createCompletionRequest(ICompilationUnit unit, int line, int kar) {
 		return COMPLETION_TEMPLATE.replace("${file}", JDTUtils.toURI(unit)).replace("${line}", String.valueOf(line)).replace("${char}", String.valueOf(kar));
 	}
@@ -220,6 +230,33 @@ public class CompletionHandlerChainTest extends AbstractCompilationUnitBasedTest
 
 	}
 
+	@Test
+	public void testChainCompletionsOnArrayVariableAccessElements() throws Exception {
+		//@formatter:off
+			ICompilationUnit unit = getWorkingCopy(
+					"src/java/Foo.java",
+					"""
+						public class Foo {
+							public class Names {
+								public String[] toArray() {
+									return null;
+								}
+							}
+
+						    public static void main(String[] args) {
+								Names[] all = new Names[0];
+								String[] names =
+						    }
+						}
+						""");
+		//@formatter:on
+		CompletionList list = requestCompletions(unit, "names =");
+		assertTrue(list.getItems().stream().noneMatch(i -> i.getLabel().startsWith("all.")), "member of an array");
+		var item = list.getItems().stream().filter(i -> i.getLabel().startsWith("all[].toArray()")).findFirst();
+		assertTrue(item.isPresent(), "array completion");
+		assertEquals("all[${1:i}].toArray()", item.get().getTextEdit().getLeft().getNewText(), "array completion edit text");
+	}
+
 	@Test
 	public void testChainCompletionsOnChainsCorrectSnippetPlaceholders() throws Exception {
 		//@formatter:off
@@ -395,4 +432,117 @@ public class CompletionHandlerChainTest extends AbstractCompilationUnitBasedTest
 		assertTrue(list.getItems().size() > 0);
 		assertTrue(list.getItems().stream().anyMatch(i -> i.getLabel().matches("Collections\\..*")), "All Collections.*");
 	}
+
+	@Test
+	public void testChainCompletionsFromCache() throws Exception {
+		//@formatter:off
+			ICompilationUnit unit = getWorkingCopy(
+					"src/java/Foo.java",
+					"""
+						import java.util.List;
+						public class Foo {
+						    public static void main(String[] args) {
+								List<String> names =
+						    }
+						}
+						""");
+		//@formatter:on
+		CompletionList list = requestCompletions(unit, "names =");
+		assertTrue(list.getItems().stream().anyMatch(i -> i.getLabel().contains("emptyList")), "emptyList");
+		long cacheHits = (long) ChainCompletionProposalComputer.getStatistics().get("cacheHits");
+
+		list = requestCompletions(unit, "names =");
+		assertTrue(list.getItems().stream().anyMatch(i -> i.getLabel().contains("emptyList")), "emptyList");
+		assertTrue((long) ChainCompletionProposalComputer.getStatistics().get("cacheHits") > cacheHits, "cache hits");
+	}
+
+	@Test
+	public void testChainCompletionsThroughIntermediateTypes() throws Exception {
+		//@formatter:off
+			ICompilationUnit unit = getWorkingCopy(
+					"src/java/Foo.java",
+					"""
+						import java.util.List;
+						public class Foo {
+							public class Inventory {
+								public Shelf getShelf() {
+									return null;
+								}
+							}
+							public class Shelf {
+								public List<String> getItems() {
+									return null;
+								}
+							}
+
+						    public static void main(String[] args) {
+								Inventory inventory = new Inventory();
+								List<String> names =
+						    }
+						}
+						""");
+		//@formatter:on
+		CompletionList list = requestCompletions(unit, "names =");
+		var item = list.getItems().stream().filter(i -> i.getLabel().startsWith("inventory.")).findFirst();
+		assertTrue(item.isPresent(), "completion");
+		assertEquals("inventory.getShelf().getItems() : List<String>", item.get().getLabel(), "completion label");
+		assertEquals("inventory.getShelf().getItems()", item.get().getTextEdit().getLeft().getNewText(), "completion edit text");
+		assertTrue((int) ChainCompletionProposalComputer.getStatistics().get("indexedTypes") > 0, "indexed types");
+	}
+
+	@Test
+	public void testChainCompletionsIndexingCompletes() throws Exception {
+		//@formatter:off
+			ICompilationUnit unit = getWorkingCopy(
+					"src/java/Foo.java",
+					"""
+						import java.util.List;
+						public class Foo {
+						    public static void main(String[] args) {
+								StringBuilder builder = new StringBuilder();
+								List<String> names =
+						    }
+						}
+						""");
+		//@formatter:on
+		requestCompletions(unit, "names =");
+		// the types leading from the searched types are indexed once, the indexing stops
+		long deadline = System.currentTimeMillis() + 60000;
+		while (Stream.of(Job.getJobManager().find(null)).anyMatch(job -> job.getName().startsWith("Index chain completion types of "))) {
+			assertTrue(System.currentTimeMillis() < deadline, "indexing didn't complete");
+			Thread.sleep(100);
+		}
+	}
+
+	@Test
+	public void testChainCompletionsOnIncompleteCompletion() throws Exception {
+		//@formatter:off
+			ICompilationUnit unit = getWorkingCopy(
+					"src/java/Foo.java",
+					"""
+						import java.util.List;
+						public class Foo {
+							public class Inventory {
+								public List<String> getItems() {
+									return null;
+								}
+							}
+
+						    public static void main(String[] args) {
+								Inventory inventory = new Inventory();
+								List<String> names = i
+						    }
+						}
+						""");
+		//@formatter:on
+		CompletionList list = requestCompletions(unit, "names = i", CompletionTriggerKind.TriggerCharacter);
+		assertTrue(list.getItems().stream().noneMatch(i -> i.getLabel().startsWith("inventory.")), "no chain completion on a trigger character");
+
+		// the next request isn't refined from the previous one, the chain completions are computed
+		unit.getBuffer().setContents(unit.getSource().replace("names = i\n", "names = in\n"));
+		list = requestCompletions(unit, "names = in", CompletionTriggerKind.TriggerForIncompleteCompletions);
+		var item = list.getItems().stream().filter(i -> i.getLabel().startsWith("inventory.")).findFirst();
+		assertTrue(item.isPresent(), "completion");
+		assertEquals("inventory.getItems()", item.get().getTextEdit().getLeft().getNewText(), "completion edit text");
+	}
 }
@@ -29,7 +29,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -132,7 +131,7 @@ public class CompletionHandlerTest extends AbstractCompilationUnitBasedTest {
 		lifeCycleHandler = new DocumentLifeCycleHandler(javaClient, preferenceManager, projectsManager, true);
 		preferences.setPostfixCompletionEnabled(false);
 		preferences.setCompletionLazyResolveTextEditEnabled(false);
-		Preferences.DISCOVERED_STATIC_IMPORTS.clear();
+		JavaLanguageServerPlugin.getFavoriteMembersIndex().clear();
 	}
 
 	@AfterEach
@@ -238,6 +237,106 @@ public class CompletionHandlerTest extends AbstractCompilationUnitBasedTest {
 		lifeCycleHandler.didChange(changeParms);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCompletion_refinedSession() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"public class Foo {\n"+
+						"	void foo() {\n"+
+						"		String s = \"\";\n"+
+						"		s.su\n"+
+						"	}\n"+
+				"}\n");
+		CompletionList list = requestCompletions(unit, "s.su");
+		assertTrue(list.getItems().stream().anyMatch(item -> item.getLabel().startsWith("subSequence")));
+		Map<String, String> data = (Map<String, String>) list.getItems().get(0).getData();
+		CompletionResponse response = CompletionResponses.get(Long.parseLong(data.get(CompletionResolveHandler.DATA_FIELD_REQUEST_ID)));
+		CompletionProposal proposal = response.getProposals().get(0);
+		int replaceEnd = proposal.getReplaceEnd();
+		int relevance = proposal.getRelevance();
+
+		// typing more characters of the identifier refines the proposals of the previous request
+		unit.getBuffer().setContents(unit.getSource().replace("s.su\n", "s.subs\n"));
+		CompletionList refined = requestCompletions(unit, "s.subs");
+		assertFalse(refined.getItems().isEmpty(), "No proposals were found");
+		assertTrue(refined.getItems().stream().allMatch(item -> item.getLabel().startsWith("substring")));
+		// the proposals of the previous response are left untouched
+		assertEquals(replaceEnd, proposal.getReplaceEnd());
+		assertEquals(relevance, proposal.getRelevance());
+
+		// the same request, computed by the completion engine
+		CompletionList computed = requestCompletions(unit, "s.subs");
+		assertEquals(computed.getItems().stream().map(CompletionItem::getLabel).collect(Collectors.toList()), refined.getItems().stream().map(CompletionItem::getLabel).collect(Collectors.toList()));
+		assertEquals(computed.getItems().get(0).getTextEdit(), refined.getItems().get(0).getTextEdit());
+	}
+
+	@Test
+	public void testCompletion_unresolvedItems() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"public class Foo {\n"+
+						"	void foo() {\n"+
+						"		String s = \"\";\n"+
+						"		s.su\n"+
+						"	}\n"+
+				"}\n");
+		when(preferenceManager.getClientPreferences().isResolveAdditionalTextEditsSupport()).thenReturn(true);
+		when(preferenceManager.getClientPreferences().isCompletionResolveTextEditSupport()).thenReturn(true);
+		preferences.setMaxResolvedCompletionResults(1);
+		CompletionList list = requestCompletions(unit, "s.su");
+		assertTrue(list.getItems().size() > 1);
+		assertNotNull(list.getItems().get(0).getTextEdit());
+
+		// the items past the first one are only filled in when resolved
+		CompletionItem item = list.getItems().get(1);
+		assertNull(item.getTextEdit());
+		assertNotNull(item.getLabel());
+		assertNotNull(item.getSortText());
+		assertTrue(item.getFilterText().startsWith("sub"));
+		CompletionItem resolved = server.resolveCompletionItem(item).join();
+		assertNotNull(resolved.getTextEdit());
+		assertTrue(resolved.getTextEdit().getLeft().getNewText().startsWith("sub"));
+	}
+
+	@Test
+	public void testCompletion_unresolvedItemsNotSupported() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"public class Foo {\n"+
+						"	void foo() {\n"+
+						"		String s = \"\";\n"+
+						"		s.su\n"+
+						"	}\n"+
+				"}\n");
+		// the client can't resolve the text edits, all the items are filled in
+		when(preferenceManager.getClientPreferences().isResolveAdditionalTextEditsSupport()).thenReturn(true);
+		preferences.setMaxResolvedCompletionResults(1);
+		CompletionList list = requestCompletions(unit, "s.su");
+		assertTrue(list.getItems().size() > 1);
+		assertTrue(list.getItems().stream().allMatch(item -> item.getTextEdit() != null));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCompletion_latencyStatistics() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"public class Foo {\n"+
+						"	void foo() {\n"+
+						"		String s = \"\";\n"+
+						"		s.su\n"+
+						"	}\n"+
+				"}\n");
+		int total = (int) ((Map<String, Object>) CompletionStatistics.getStatistics().get("total")).get("count");
+		int codeComplete = (int) ((Map<String, Object>) CompletionStatistics.getStatistics().get("codeComplete")).get("count");
+		requestCompletions(unit, "s.su");
+		Map<String, Object> statistics = CompletionStatistics.getStatistics();
+		assertEquals(total + 1, ((Map<String, Object>) statistics.get("total")).get("count"));
+		assertEquals(codeComplete + 1, ((Map<String, Object>) statistics.get("codeComplete")).get("count"));
+		assertTrue(((Map<String, Object>) statistics.get("conversion")).containsKey("p99"));
+	}
+
 	//FIXME Something very fishy here: when run from command line as part of the whole test suite,
 	//no completions are returned maybe 80% of the time if this method runs first in this class,
 	//i.e. if this method is named testCompletion_1. It seems to fail in the IDE too but *very*
@@ -320,6 +419,54 @@ public class CompletionHandlerTest extends AbstractCompilationUnitBasedTest {
 		assertNotNull(time);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCompletion_responsesCleared() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+			"src/java/Foo.java",
+			"public class Foo {\n"+
+				"	void foo() {\n"+
+				"		Objec\n"+
+				"	}\n"+
+				"}\n");
+		CompletionList list = requestCompletions(unit, "Objec");
+		assertFalse(list.getItems().isEmpty(), "No proposals were found");
+		CompletionItem item = list.getItems().get(0);
+		requestCompletions(unit, "Objec");
+
+		// the response of the previous list isn't retained
+		Map<String, String> data = (Map<String, String>) item.getData();
+		assertNull(CompletionResponses.get(Long.parseLong(data.get(CompletionResolveHandler.DATA_FIELD_REQUEST_ID))));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCompletion_responsesMaxSize() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+			"src/java/Foo.java",
+			"public class Foo {\n"+
+				"	void foo() {\n"+
+				"		Objec\n"+
+				"	}\n"+
+				"}\n");
+		try {
+			CompletionResponses.setMaxSize(1);
+			CompletionList list = requestCompletions(unit, "Objec");
+			assertFalse(list.getItems().isEmpty(), "No proposals were found");
+			CompletionItem item = list.getItems().get(0);
+			Map<String, String> data = (Map<String, String>) item.getData();
+			CompletionResponse completionResponse = CompletionResponses.get(Long.parseLong(data.get(CompletionResolveHandler.DATA_FIELD_REQUEST_ID)));
+			assertNotNull(completionResponse);
+			assertNull(completionResponse.getProposals().get(0));
+			assertEquals(item.getLabel(), completionResponse.getItem(0).getLabel());
+			CompletionItem resolved = server.resolveCompletionItem(item).join();
+			assertNull(resolved.getDocumentation());
+			assertTrue((long) CompletionResponses.getStatistics().get("droppedProposals") > 0);
+		} finally {
+			CompletionResponses.setMaxSize(0);
+		}
+	}
+
 
 	@Test
 	public void testCompletion_constructor() throws Exception{
@@ -838,6 +985,37 @@ public class CompletionHandlerTest extends AbstractCompilationUnitBasedTest {
 		}
 	}
 
+	@Test
+	public void testCompletion_method_guessMethodArgumentsOverloads() throws JavaModelException {
+		ICompilationUnit unit = getWorkingCopy(
+		//@formatter:off
+				"src/java/Foo.java",
+				"public class Foo {\n" +
+				"	static void test(String name, int i) {}\n" +
+				"	static void test(int i, String name) {}\n" +
+				"	public static void main(String[] args) {\n" +
+				"		String str = \"x\";\n" +
+				"		int x = 0;\n" +
+				"		tes\n" +
+				"	}\n\n" +
+				"}\n");
+		//@formatter:on
+		CompletionGuessMethodArgumentsMode oldGuessMethodArguments = JavaLanguageServerPlugin.getPreferencesManager().getPreferences().getGuessMethodArgumentsMode();
+		try {
+			JavaLanguageServerPlugin.getPreferencesManager().getPreferences().setGuessMethodArgumentsMode(CompletionGuessMethodArgumentsMode.INSERT_BEST_GUESSED_ARGUMENTS);
+			CompletionList list = requestCompletions(unit, "tes");
+			assertNotNull(list);
+			CompletionItem first = list.getItems().stream().filter(item -> item.getLabel().equals("test(String name, int i) : void")).findFirst().orElse(null);
+			CompletionItem second = list.getItems().stream().filter(item -> item.getLabel().equals("test(int i, String name) : void")).findFirst().orElse(null);
+			assertNotNull(first);
+			assertNotNull(second);
+			assertTextEdit(6, 2, 5, "test(${1:str}, ${2:x});", first.getTextEdit().getLeft());
+			assertTextEdit(6, 2, 5, "test(${1:x}, ${2:str});", second.getTextEdit().getLeft());
+		} finally {
+			JavaLanguageServerPlugin.getPreferencesManager().getPreferences().setGuessMethodArgumentsMode(oldGuessMethodArguments);
+		}
+	}
+
 	@Test
 	public void testCompletion_method_guessMethodArgumentsConstructor() throws JavaModelException {
 		ICompilationUnit unit = getWorkingCopy(
@@ -3226,10 +3404,10 @@ public class CompletionHandlerTest extends AbstractCompilationUnitBasedTest {
 					}
 				}""");
 		String[] oldFavorites = JavaLanguageServerPlugin.getPreferencesManager().getPreferences().getJavaCompletionFavoriteMembers();
-		Set<String> oldStaticImports = new LinkedHashSet<>(Preferences.DISCOVERED_STATIC_IMPORTS);
+		Set<String> oldStaticImports = JavaLanguageServerPlugin.getFavoriteMembersIndex().getDiscoveredMembers();
 		try {
 			JavaLanguageServerPlugin.getPreferencesManager().getPreferences().setJavaCompletionFavoriteMembers(Arrays.asList("org.junit.Assert.*"));
-			Preferences.DISCOVERED_STATIC_IMPORTS.clear();
+			JavaLanguageServerPlugin.getFavoriteMembersIndex().clear();
 			CompletionList list = requestCompletions(unit, "asList");
 			assertNotNull(list);
 			assertFalse(list.getItems().isEmpty());
@@ -3237,11 +3415,68 @@ public class CompletionHandlerTest extends AbstractCompilationUnitBasedTest {
 			assertNotNull(item);
 		} finally {
 			JavaLanguageServerPlugin.getPreferencesManager().getPreferences().setJavaCompletionFavoriteMembers(Arrays.asList(oldFavorites));
-			Preferences.DISCOVERED_STATIC_IMPORTS.addAll(oldStaticImports);
+			JavaLanguageServerPlugin.getFavoriteMembersIndex().add(oldStaticImports);
 			PreferenceManager.getPrefs(null).setFilteredTypes(Collections.emptyList());
 		}
 	}
 
+	@Test
+	public void testCompletion_staticImportAddedByReconcile() throws Exception {
+		ICompilationUnit unit = getWorkingCopy("src/org/sample/Test.java", """
+				package org.sample;
+				public class Test {
+					public static void main(String[] args) {
+						asList
+					}
+				}""");
+		requestCompletions(unit, "asList");
+		assertFalse(JavaLanguageServerPlugin.getFavoriteMembersIndex().getDiscoveredMembers().contains("java.util.Arrays.*"));
+		unit.getBuffer().replace(unit.getSource().indexOf("public class"), 0, "import static java.util.Arrays.sort;\n");
+		unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+		assertTrue(JavaLanguageServerPlugin.getFavoriteMembersIndex().getDiscoveredMembers().contains("java.util.Arrays.*"));
+		String[] favorites = JavaLanguageServerPlugin.getPreferencesManager().getPreferences().getJavaCompletionFavoriteMembers();
+		assertTrue(Arrays.asList(favorites).contains("java.util.Arrays.*"));
+		assertSame(favorites, JavaLanguageServerPlugin.getPreferencesManager().getPreferences().getJavaCompletionFavoriteMembers());
+	}
+
+	@Test
+	public void testCompletion_speculative() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"public class Foo {\n"+
+						"	void foo() {\n"+
+						"		String s = \"\";\n"+
+						"		s\n"+
+						"	}\n"+
+				"}\n");
+		preferences.setSpeculativeCompletionEnabled(true);
+		try {
+			long hits = (long) SpeculativeCompletion.getStatistics().get("hits");
+			// typing the member access starts the completion in the background
+			DidChangeTextDocumentParams changeParams = new DidChangeTextDocumentParams();
+			VersionedTextDocumentIdentifier textDocument = new VersionedTextDocumentIdentifier();
+			textDocument.setUri(JDTUtils.toURI(unit));
+			textDocument.setVersion(1);
+			changeParams.setTextDocument(textDocument);
+			TextDocumentContentChangeEvent event = new TextDocumentContentChangeEvent();
+			event.setRange(new Range(new Position(3, 3), new Position(3, 3)));
+			event.setText(".");
+			changeParams.setContentChanges(List.of(event));
+			lifeCycleHandler.didChange(changeParams);
+
+			CompletionList list = requestCompletions(unit, "s.");
+			assertTrue(list.getItems().stream().anyMatch(item -> item.getLabel().startsWith("substring")));
+			assertEquals(hits + 1, SpeculativeCompletion.getStatistics().get("hits"));
+
+			// the completion was taken by the request
+			list = requestCompletions(unit, "s.");
+			assertTrue(list.getItems().stream().anyMatch(item -> item.getLabel().startsWith("substring")));
+			assertEquals(hits + 1, SpeculativeCompletion.getStatistics().get("hits"));
+		} finally {
+			preferences.setSpeculativeCompletionEnabled(false);
+		}
+	}
+
 	@Test
 	public void testCompletion_InvalidJavadoc() throws Exception {
 		importProjects("maven/aspose");
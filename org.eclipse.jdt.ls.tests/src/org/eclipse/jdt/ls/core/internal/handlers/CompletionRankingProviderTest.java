@@ -109,7 +109,7 @@ public class CompletionRankingProviderTest extends AbstractCompilationUnitBasedT
 						"	}\n"+
 				"}\n");
 
-		requestCompletions(unit, "Integer.");
+		CompletionList list = requestCompletions(unit, "Integer.");
 		CompletionHandler handler = new CompletionHandler(JavaLanguageServerPlugin.getPreferencesManager());
 
 		ArgumentCaptor<CompletionItem> argument = ArgumentCaptor.forClass(CompletionItem.class);
@@ -119,6 +119,67 @@ public class CompletionRankingProviderTest extends AbstractCompilationUnitBasedT
 		Map<String, String> data = (Map<String, String>) argument.getValue().getData();
 		assertEquals("bar", data.get("foo"));
 		assertTrue(data.containsKey(CompletionRanking.COMPLETION_EXECUTION_TIME));
+
+		// the selected item holds the fields of the item sent to the client
+		CompletionItem selected = argument.getValue();
+		CompletionItem sent = list.getItems().stream().filter(item -> "0".equals(((Map<String, String>) item.getData()).get(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID))).findFirst().get();
+		assertEquals(sent.getLabel(), selected.getLabel());
+		assertEquals(sent.getDetail(), selected.getDetail());
+		assertEquals(sent.getSortText(), selected.getSortText());
+		assertEquals(sent.getFilterText(), selected.getFilterText());
+		assertNotNull(selected.getTextEdit());
+		assertEquals(sent.getTextEdit(), selected.getTextEdit());
+	}
+
+	@Test
+	public void testRankTimeout() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"public class Foo {\n"+
+						"	void foo() {\n"+
+						" 		Integer.\n" +
+						"	}\n"+
+				"}\n");
+
+		CompletionContributionService service = (CompletionContributionService) JavaLanguageServerPlugin.getCompletionContributionService();
+		ICompletionRankingProvider slowProvider = new ICompletionRankingProvider() {
+			@Override
+			public CompletionRanking[] rank(List<CompletionProposal> proposals, org.eclipse.jdt.core.CompletionContext context, ICompilationUnit unit, IProgressMonitor monitor) {
+				while (!monitor.isCanceled()) {
+					try {
+						Thread.sleep(10);
+					} catch (InterruptedException e) {
+						break;
+					}
+				}
+				CompletionRanking[] rankings = new CompletionRanking[proposals.size()];
+				rankings[0] = new CompletionRanking();
+				rankings[0].setDecorator('☆');
+				return rankings;
+			}
+
+			@Override
+			public void onDidCompletionItemSelect(CompletionItem item) {
+			}
+		};
+		service.registerRankingProvider(slowProvider);
+		CompletionContributionService.setTimeout(100);
+		try {
+			CompletionList list = requestCompletions(unit, "Integer.");
+			assertNotNull(list);
+			assertFalse(list.getItems().isEmpty(), "No proposals were found");
+
+			// the ranking of the slow provider is dropped, the one of the other provider is kept
+			CompletionItem recommended = list.getItems().get(0);
+			assertTrue(recommended.getLabel().startsWith("★ "), recommended.getLabel());
+
+			Map<String, Object> statistics = (Map<String, Object>) ((Map<String, Object>) service.getStatistics().get("providers")).get(slowProvider.getClass().getName());
+			assertEquals(1L, statistics.get("calls"));
+			assertEquals(1L, statistics.get("timeouts"));
+		} finally {
+			CompletionContributionService.setTimeout(0);
+			service.unregisterRankingProvider(slowProvider);
+		}
 	}
 
 	class TestRankingProvider implements ICompletionRankingProvider {
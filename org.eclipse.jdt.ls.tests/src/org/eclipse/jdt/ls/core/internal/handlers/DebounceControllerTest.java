@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class DebounceControllerTest {
+
+	@Test
+	public void testPublishDiagnosticsDelay() {
+		DebounceController controller = new DebounceController();
+		assertEquals(DebounceController.PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE, controller.getPublishDiagnosticsDelay(null));
+		for (int i = 0; i < 10; i++) {
+			controller.recordPublish(null, 600);
+		}
+		assertEquals(900, controller.getPublishDiagnosticsDelay(null));
+		for (int i = 0; i < 10; i++) {
+			controller.recordPublish(null, 5000);
+		}
+		assertEquals(DebounceController.PUBLISH_DIAGNOSTICS_MAX_DEBOUNCE, controller.getPublishDiagnosticsDelay(null));
+	}
+}
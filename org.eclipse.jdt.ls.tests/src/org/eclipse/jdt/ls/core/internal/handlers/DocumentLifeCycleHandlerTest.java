@@ -16,6 +16,7 @@ import static java.util.Map.entry;
 import static org.eclipse.jdt.ls.core.internal.Lsp4jAssertions.assertRange;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -34,7 +35,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.FileUtils;
 import org.eclipse.core.resources.IFolder;
@@ -43,7 +47,10 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
@@ -72,6 +79,8 @@ import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
 import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.DocumentDiagnosticParams;
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.Range;
@@ -314,6 +323,296 @@ public class DocumentLifeCycleHandlerTest extends AbstractProjectsManagerBasedTe
 		assertNewASTsCreated(0);
 	}
 
+	@Test
+	public void testSkipUnchangedDiagnostics() throws Exception {
+		when(preferenceManager.getPreferences().isSkipUnchangedDiagnostics()).thenReturn(true);
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E123 {\n");
+		buf.append("    public boolean foo() {\n");
+		buf.append("        return x;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		ICompilationUnit cu1 = pack1.createCompilationUnit("E123.java", buf.toString(), false, null);
+
+		openDocument(cu1, cu1.getSource(), 1);
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 1));
+
+		// same problems at the same positions, nothing is sent
+		buf.append("\n");
+		changeDocumentFull(cu1, buf.toString(), 2);
+		assertNewProblemReported();
+
+		buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E123 {\n");
+		buf.append("    public boolean foo() {\n");
+		buf.append("        return true;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		changeDocumentFull(cu1, buf.toString(), 3);
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 0));
+
+		closeDocument(cu1);
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 1));
+
+		// a reopened document always gets its diagnostics
+		openDocument(cu1, cu1.getSource(), 1);
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 1));
+	}
+
+	@Test
+	public void testSyntaxDiagnosticsPass() throws Exception {
+		when(preferenceManager.getPreferences().isSyntaxDiagnosticsPassEnabled()).thenReturn(true);
+		lifeCycleHandler = new DocumentLifeCycleHandler(JavaLanguageServerPlugin.getInstance().getClientConnection(), preferenceManager, projectsManager, true);
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E123 {\n");
+		buf.append("    public void foo() {\n");
+		buf.append("        Foo foo = null\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		ICompilationUnit cu1 = pack1.createCompilationUnit("E123.java", buf.toString(), false, null);
+
+		// the validation waits for the syntax pass, which would otherwise race with it
+		CountDownLatch syntaxPassDone = new CountDownLatch(1);
+		IJobChangeListener listener = new JobChangeAdapter() {
+			@Override
+			public void aboutToRun(IJobChangeEvent event) {
+				if (event.getJob().getName().equals("Validate E123.java")) {
+					try {
+						syntaxPassDone.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+
+			@Override
+			public void done(IJobChangeEvent event) {
+				if (event.getJob().getName().equals("Publish Syntax Diagnostics")) {
+					syntaxPassDone.countDown();
+				}
+			}
+		};
+		Job.getJobManager().addJobChangeListener(listener);
+		try {
+			openDocument(cu1, cu1.getSource(), 1);
+			Job.getJobManager().join(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
+			Job.getJobManager().join(DocumentLifeCycleHandler.PUBLISH_DIAGNOSTICS_JOBS, monitor);
+		} finally {
+			Job.getJobManager().removeJobChangeListener(listener);
+		}
+
+		// the syntax error is published first, then replaced by the full report
+		List<PublishDiagnosticsParams> diagnosticReports = getClientRequests("publishDiagnostics");
+		assertEquals(2, diagnosticReports.size());
+		assertEquals(1, diagnosticReports.get(0).getDiagnostics().size());
+		assertEquals(2, diagnosticReports.get(1).getDiagnostics().size());
+	}
+
+	@Test
+	public void testSyntaxDiagnosticsPassWithoutSyntaxError() throws Exception {
+		when(preferenceManager.getPreferences().isSyntaxDiagnosticsPassEnabled()).thenReturn(true);
+		lifeCycleHandler = new DocumentLifeCycleHandler(JavaLanguageServerPlugin.getInstance().getClientConnection(), preferenceManager, projectsManager, true);
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E123 {\n");
+		buf.append("    public void foo() {\n");
+		buf.append("        // TODO fix\n");
+		buf.append("        Foo foo = null;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		ICompilationUnit cu1 = pack1.createCompilationUnit("E123.java", buf.toString(), false, null);
+
+		openDocument(cu1, cu1.getSource(), 1);
+		Job.getJobManager().join(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
+		Job.getJobManager().join(DocumentLifeCycleHandler.PUBLISH_DIAGNOSTICS_JOBS, monitor);
+
+		// the task tag of the parse doesn't make the syntax pass clear the semantic diagnostics
+		List<PublishDiagnosticsParams> diagnosticReports = getClientRequests("publishDiagnostics");
+		assertEquals(1, diagnosticReports.size());
+		assertFalse(diagnosticReports.get(0).getDiagnostics().isEmpty());
+	}
+
+	@Test
+	public void testOpenBatch() throws Exception {
+		lifeCycleHandler = new DocumentLifeCycleHandler(JavaLanguageServerPlugin.getInstance().getClientConnection(), preferenceManager, projectsManager, true);
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+
+		ICompilationUnit[] units = new ICompilationUnit[3];
+		for (int i = 0; i < units.length; i++) {
+			StringBuilder buf = new StringBuilder();
+			buf.append("package test1;\n");
+			buf.append("public class E" + i + " {\n");
+			buf.append("    public boolean foo() {\n");
+			buf.append("        return x;\n");
+			buf.append("    }\n");
+			buf.append("}\n");
+			units[i] = pack1.createCompilationUnit("E" + i + ".java", buf.toString(), false, null);
+		}
+
+		// the window is wide enough for the opening of the documents not to be timing dependent
+		lifeCycleHandler.setOpenBatchWindow(2000);
+		List<String> jobs = Collections.synchronizedList(new ArrayList<>());
+		IJobChangeListener listener = new JobChangeAdapter() {
+			@Override
+			public void done(IJobChangeEvent event) {
+				jobs.add(event.getJob().getName());
+			}
+		};
+		Job.getJobManager().addJobChangeListener(listener);
+		try {
+			// the documents opened back to back are validated as a batch
+			for (ICompilationUnit unit : units) {
+				openDocument(unit, unit.getSource(), 1);
+			}
+			// the working copies of the batched documents are opened by the batch
+			assertTrue(units[0].isWorkingCopy());
+			assertFalse(units[1].isWorkingCopy());
+			// the requests on a batched document wait for the batch
+			assertTrue(Stream.of(Job.getJobManager().find(units[1])).anyMatch(job -> "Open Documents".equals(job.getName())));
+			Job.getJobManager().join(units[1], monitor);
+			assertTrue(jobs.contains("Open Documents"), jobs.toString());
+			assertTrue(units[1].isWorkingCopy());
+			assertTrue(units[2].isWorkingCopy());
+			Job.getJobManager().join(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
+			Job.getJobManager().join(DocumentLifeCycleHandler.PUBLISH_DIAGNOSTICS_JOBS, monitor);
+		} finally {
+			Job.getJobManager().removeJobChangeListener(listener);
+		}
+
+		// the first document starts the batch, the next ones are opened by a single job,
+		// which only validates the last one right away
+		assertEquals(1, jobs.stream().filter("Open Documents"::equals).count(), jobs.toString());
+		assertTrue(jobs.contains("Validate E0.java"), jobs.toString());
+		assertFalse(jobs.contains("Validate E1.java"), jobs.toString());
+		assertTrue(jobs.contains("Validate E2.java"), jobs.toString());
+		assertNewProblemReported(new ExpectedProblemReport(units[0], 1), new ExpectedProblemReport(units[1], 1), new ExpectedProblemReport(units[2], 1));
+	}
+
+	@Test
+	public void testLargeFileMode() throws Exception {
+		when(preferenceManager.getPreferences().getLargeFileMaxLines()).thenReturn(5);
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E123 {\n");
+		buf.append("    public boolean foo() {\n");
+		buf.append("        return x;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		ICompilationUnit cu1 = pack1.createCompilationUnit("E123.java", buf.toString(), false, null);
+
+		// only the syntax errors of a large file are reported
+		openDocument(cu1, cu1.getSource(), 1);
+		assertTrue(JavaLanguageServerPlugin.getLargeFilePolicy().isLargeFile(cu1));
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 0));
+
+		changeDocumentFull(cu1, buf.toString().replace("return x;", "return x"), 2);
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 1));
+
+		closeDocument(cu1);
+		assertFalse(JavaLanguageServerPlugin.getLargeFilePolicy().isLargeFile(cu1));
+	}
+
+	@Test
+	public void testPullDiagnostics() throws Exception {
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E123 {\n");
+		buf.append("    public boolean foo() {\n");
+		buf.append("        return x;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		ICompilationUnit cu1 = pack1.createCompilationUnit("E123.java", buf.toString(), false, null);
+		openDocument(cu1, cu1.getSource(), 1);
+		getClientRequests("publishDiagnostics").clear();
+
+		DocumentDiagnosticHandler handler = new DocumentDiagnosticHandler(lifeCycleHandler);
+		DocumentDiagnosticParams params = new DocumentDiagnosticParams(new TextDocumentIdentifier(JDTUtils.toURI(cu1)));
+		DocumentDiagnosticReport report = handler.diagnostic(params, monitor);
+		assertTrue(report.isLeft());
+		assertEquals(1, report.getLeft().getItems().size());
+		String resultId = report.getLeft().getResultId();
+		assertNotNull(resultId);
+		// the pulled diagnostics are not pushed
+		assertNewProblemReported();
+
+		params.setPreviousResultId(resultId);
+		report = handler.diagnostic(params, monitor);
+		assertTrue(report.isRight());
+		assertEquals(resultId, report.getRight().getResultId());
+
+		buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E123 {\n");
+		buf.append("    public boolean foo() {\n");
+		buf.append("        return true;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		changeDocumentFull(cu1, buf.toString(), 2);
+		report = handler.diagnostic(params, monitor);
+		assertTrue(report.isLeft());
+		assertEquals(0, report.getLeft().getItems().size());
+		assertNotEquals(resultId, report.getLeft().getResultId());
+	}
+
+	@Test
+	public void testPullDiagnosticsResultIdPerDocument() throws Exception {
+		when(preferenceManager.getPreferences().isValidateAllOpenBuffersOnChanges()).thenReturn(true);
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit cu1 = pack1.createCompilationUnit("F123.java", "package test1;\npublic class F123 {\n  public static void foo() {}\n}\n", false, null);
+		ICompilationUnit cu2 = pack1.createCompilationUnit("G123.java", "package test1;\npublic class G123 {\n  void bar() { F123.foo(); }\n}\n", false, null);
+		ICompilationUnit cu3 = pack1.createCompilationUnit("H123.java", "package test1;\npublic class H123 {\n}\n", false, null);
+		openDocument(cu1, cu1.getSource(), 1);
+		openDocument(cu2, cu2.getSource(), 1);
+		openDocument(cu3, cu3.getSource(), 1);
+
+		DocumentDiagnosticHandler handler = new DocumentDiagnosticHandler(lifeCycleHandler);
+		DocumentDiagnosticParams params = new DocumentDiagnosticParams(new TextDocumentIdentifier(JDTUtils.toURI(cu2)));
+		DocumentDiagnosticReport report = handler.diagnostic(params, monitor);
+		assertTrue(report.isLeft());
+		assertEquals(0, report.getLeft().getItems().size());
+		String resultId = report.getLeft().getResultId();
+		params.setPreviousResultId(resultId);
+
+		// an edit of an unrelated document keeps the result id
+		changeDocumentFull(cu3, "package test1;\npublic class H123 {\n  int i;\n}\n", 2);
+		report = handler.diagnostic(params, monitor);
+		assertTrue(report.isRight());
+
+		// a change of a type the document depends on invalidates it
+		changeDocumentFull(cu1, "package test1;\npublic class F123 {\n}\n", 2);
+		report = handler.diagnostic(params, monitor);
+		assertTrue(report.isLeft());
+		assertEquals(1, report.getLeft().getItems().size());
+		assertNotEquals(resultId, report.getLeft().getResultId());
+	}
+
 	@Test
 	public void testReconcile() throws Exception {
 		IJavaProject javaProject = newEmptyProject();
@@ -546,6 +845,88 @@ public class DocumentLifeCycleHandlerTest extends AbstractProjectsManagerBasedTe
 		assertNewASTsCreated(0);
 	}
 
+	@Test
+	public void testRevalidateDependentOpenBuffers() throws Exception {
+		when(preferenceManager.getPreferences().isValidateAllOpenBuffersOnChanges()).thenReturn(true);
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class F123 {\n");
+		buf.append("  public static void foo() {}\n");
+		buf.append("}\n");
+		ICompilationUnit cu1 = pack1.createCompilationUnit("F123.java", buf.toString(), false, null);
+
+		buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class F456 {\n");
+		buf.append("  { F123.foo(); }\n");
+		buf.append("}\n");
+		ICompilationUnit cu2 = pack1.createCompilationUnit("F456.java", buf.toString(), false, null);
+
+		buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class F789 {\n");
+		buf.append("  { int i = \"\"; }\n");
+		buf.append("}\n");
+		ICompilationUnit cu3 = pack1.createCompilationUnit("F789.java", buf.toString(), false, null);
+
+		openDocument(cu1, cu1.getSource(), 1);
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 0));
+		openDocument(cu2, cu2.getSource(), 1);
+		assertNewProblemReported(new ExpectedProblemReport(cu2, 0));
+		openDocument(cu3, cu3.getSource(), 1);
+		assertNewProblemReported(new ExpectedProblemReport(cu3, 1));
+
+		// a method body change doesn't revalidate the other open buffers
+		buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class F123 {\n");
+		buf.append("  public static void foo() { foo(); }\n");
+		buf.append("}\n");
+		changeDocumentFull(cu1, buf.toString(), 2);
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 0));
+		lifeCycleHandler.publishDiagnostics(monitor);
+		assertNewProblemReported();
+
+		// a signature change only revalidates the open buffers referencing it
+		buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class F123 {\n");
+		buf.append("  public static void foo(int i) {}\n");
+		buf.append("}\n");
+		changeDocumentFull(cu1, buf.toString(), 3);
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 0));
+		lifeCycleHandler.publishDiagnostics(monitor);
+		assertNewProblemReported(new ExpectedProblemReport(cu2, 1));
+	}
+
+	@Test
+	public void testRevalidateIndirectSubtypes() throws Exception {
+		when(preferenceManager.getPreferences().isValidateAllOpenBuffersOnChanges()).thenReturn(true);
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit cu1 = pack1.createCompilationUnit("A123.java", "package test1;\npublic abstract class A123 {\n}\n", false, null);
+		ICompilationUnit cu2 = pack1.createCompilationUnit("B123.java", "package test1;\npublic abstract class B123 extends A123 {\n}\n", false, null);
+		ICompilationUnit cu3 = pack1.createCompilationUnit("C123.java", "package test1;\npublic class C123 extends B123 {\n}\n", false, null);
+
+		openDocument(cu1, cu1.getSource(), 1);
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 0));
+		openDocument(cu2, cu2.getSource(), 1);
+		assertNewProblemReported(new ExpectedProblemReport(cu2, 0));
+		openDocument(cu3, cu3.getSource(), 1);
+		assertNewProblemReported(new ExpectedProblemReport(cu3, 0));
+
+		// a new abstract method must be implemented by the indirect subtype
+		changeDocumentFull(cu1, "package test1;\npublic abstract class A123 {\n  public abstract void foo();\n}\n", 2);
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 0));
+		lifeCycleHandler.publishDiagnostics(monitor);
+		assertNewProblemReported(new ExpectedProblemReport(cu2, 0), new ExpectedProblemReport(cu3, 1));
+	}
+
 	@Test
 	public void testDidOpenStandaloneFile() throws Exception {
 		IJavaProject javaProject = newDefaultProject();
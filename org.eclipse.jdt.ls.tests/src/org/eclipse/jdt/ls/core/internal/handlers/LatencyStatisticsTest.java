@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyStatisticsTest {
+
+	@Test
+	public void testLatencyStatistics() {
+		LatencyStatistics statistics = new LatencyStatistics();
+		assertEquals(0, statistics.getPercentile(50));
+		for (int i = 1; i <= 20; i++) {
+			statistics.record(i * 10);
+		}
+		assertEquals(20, statistics.getCount());
+		assertEquals(100, statistics.getPercentile(50));
+		assertEquals(190, statistics.getPercentile(95));
+	}
+
+	@Test
+	public void testLatencyStatisticsFollowSlowdown() {
+		LatencyStatistics statistics = new LatencyStatistics();
+		for (int i = 0; i < 100; i++) {
+			statistics.record(100);
+		}
+		// reconciles get 3x slower, e.g. after a classpath change
+		for (int i = 0; i < 10; i++) {
+			statistics.record(300);
+		}
+		assertEquals(300, statistics.getAverage(), 10);
+		for (int i = 0; i < 10; i++) {
+			statistics.record(300);
+		}
+		assertEquals(300, statistics.getPercentile(50));
+	}
+}
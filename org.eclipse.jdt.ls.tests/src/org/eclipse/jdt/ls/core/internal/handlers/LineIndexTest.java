@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.junit.jupiter.api.Test;
+
+public class LineIndexTest {
+
+	@Test
+	public void testToLine() throws Exception {
+		String contents = "class A {\r\n\tint a;\r\r\n\tint b;\n}\n";
+		IDocument document = new Document(contents);
+		LineIndex lineIndex = LineIndex.of(contents);
+		assertEquals(document.getNumberOfLines(), lineIndex.getLineCount());
+		for (int line = 0; line < document.getNumberOfLines(); line++) {
+			assertEquals(document.getLineOffset(line), lineIndex.getLineOffset(line));
+		}
+		for (int offset = 0; offset <= contents.length(); offset++) {
+			assertArrayEquals(JsonRpcHelpers.toLine(document, offset), lineIndex.toLine(offset), "offset " + offset);
+		}
+		assertNull(lineIndex.toLine(-1));
+		assertNull(lineIndex.toLine(contents.length() + 1));
+		assertEquals(-1, lineIndex.getLineOffset(lineIndex.getLineCount()));
+	}
+
+	@Test
+	public void testToRange() throws Exception {
+		String contents = "class A {\n\tint a;\n}";
+		IDocument document = new Document(contents);
+		LineIndex lineIndex = LineIndex.of(contents);
+		assertEquals(JDTUtils.toRange(document, 11, 3), lineIndex.toRange(11, 3));
+		assertEquals(JDTUtils.toRange(document, 0, 0), lineIndex.toRange(0, 0));
+		assertEquals(JDTUtils.toRange(document, 0, 5), lineIndex.toRange(0, 5));
+	}
+
+	@Test
+	public void testDocumentIndexFollowsModifications() throws Exception {
+		IDocument document = new Document("class A {\n}");
+		LineIndex lineIndex = LineIndex.of(document);
+		assertSame(lineIndex, LineIndex.of(document));
+		document.replace(9, 0, "\n\tint a;");
+		LineIndex modified = LineIndex.of(document);
+		assertNotSame(lineIndex, modified);
+		assertEquals(3, modified.getLineCount());
+	}
+}
@@ -43,12 +43,14 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaModelMarker;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
@@ -58,8 +60,13 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PreviousResultId;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.WorkspaceDiagnosticParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceDocumentDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceFullDocumentDiagnosticReport;
 import org.eclipse.m2e.core.internal.IMavenConstants;
 import org.eclipse.m2e.core.internal.Messages;
 import org.junit.jupiter.api.AfterEach;
@@ -387,6 +394,75 @@ public class WorkspaceDiagnosticsHandlerTest extends AbstractProjectsManagerBase
 		verify(connection, atLeast(3)).publishDiagnostics(captor.capture());
 	}
 
+	@Test
+	public void testCoalesceMarkerChanges() throws Exception {
+		importProjects("eclipse/hello");
+		IProject project = getProject("hello");
+		IFile file = project.getFile("/src/java/Foo.java");
+		reset(connection);
+		// the pending diagnostics can't be flushed while the markers change
+		Job.getJobManager().suspend();
+		try {
+			for (int i = 0; i < 3; i++) {
+				IMarker marker = file.createMarker(IMarker.PROBLEM);
+				marker.setAttribute(IMarker.MESSAGE, "Problem " + i);
+				marker.setAttribute(IMarker.LINE_NUMBER, 1);
+			}
+		} finally {
+			Job.getJobManager().resume();
+		}
+		waitForBackgroundJobs();
+
+		ArgumentCaptor<PublishDiagnosticsParams> captor = ArgumentCaptor.forClass(PublishDiagnosticsParams.class);
+		verify(connection, atLeastOnce()).publishDiagnostics(captor.capture());
+		List<PublishDiagnosticsParams> reports = captor.getAllValues().stream().filter(p -> p.getUri().endsWith("Foo.java")).collect(Collectors.toList());
+		assertEquals(1, reports.size());
+		assertEquals(3, reports.get(0).getDiagnostics().stream().filter(d -> d.getMessage().startsWith("Problem ")).count());
+	}
+
+	@Test
+	public void testPullDiagnostics() throws Exception {
+		importProjects("eclipse/hello");
+		IProject project = getProject("hello");
+		IFile iFile = project.getFile("/src/test1/A.java");
+		ResourceUtils.setContent(iFile, "package test1;\npublic class A() {}\n");
+		waitForBackgroundJobs();
+
+		WorkspaceDiagnosticReport report = handler.pullDiagnostics(new WorkspaceDiagnosticParams(Collections.emptyList()), monitor);
+		String uri = ResourceUtils.toClientUri(JDTUtils.getFileURI(iFile));
+		Optional<WorkspaceFullDocumentDiagnosticReport> fullReport = report.getItems().stream().filter(WorkspaceDocumentDiagnosticReport::isLeft).map(WorkspaceDocumentDiagnosticReport::getLeft).filter(r -> uri.equals(r.getUri())).findFirst();
+		assertTrue(fullReport.isPresent());
+		assertFalse(fullReport.get().getItems().isEmpty());
+
+		// nothing changed since the previous pull
+		List<PreviousResultId> previousResultIds = report.getItems().stream().filter(WorkspaceDocumentDiagnosticReport::isLeft).map(WorkspaceDocumentDiagnosticReport::getLeft).map(r -> new PreviousResultId(r.getUri(), r.getResultId())).collect(Collectors.toList());
+		report = handler.pullDiagnostics(new WorkspaceDiagnosticParams(previousResultIds), monitor);
+		assertTrue(report.getItems().stream().allMatch(WorkspaceDocumentDiagnosticReport::isRight));
+
+		// the result ids of a previous session are unknown
+		List<PreviousResultId> previousSessionResultIds = previousResultIds.stream().map(r -> new PreviousResultId(r.getUri(), r.getValue().substring(r.getValue().indexOf(':') + 1))).collect(Collectors.toList());
+		report = handler.pullDiagnostics(new WorkspaceDiagnosticParams(previousSessionResultIds), monitor);
+		assertTrue(report.getItems().stream().filter(WorkspaceDocumentDiagnosticReport::isLeft).map(WorkspaceDocumentDiagnosticReport::getLeft).anyMatch(r -> uri.equals(r.getUri())));
+
+		// the modified file is reported again
+		ResourceUtils.setContent(iFile, "package test1;\npublic class A {}\n");
+		waitForBackgroundJobs();
+		report = handler.pullDiagnostics(new WorkspaceDiagnosticParams(previousResultIds), monitor);
+		fullReport = report.getItems().stream().filter(WorkspaceDocumentDiagnosticReport::isLeft).map(WorkspaceDocumentDiagnosticReport::getLeft).filter(r -> uri.equals(r.getUri())).findFirst();
+		assertTrue(fullReport.isPresent());
+		assertTrue(fullReport.get().getItems().isEmpty());
+
+		// a deleted file is reported empty once, then forgotten
+		iFile.delete(true, monitor);
+		waitForBackgroundJobs();
+		report = handler.pullDiagnostics(new WorkspaceDiagnosticParams(Collections.emptyList()), monitor);
+		fullReport = report.getItems().stream().filter(WorkspaceDocumentDiagnosticReport::isLeft).map(WorkspaceDocumentDiagnosticReport::getLeft).filter(r -> uri.equals(r.getUri())).findFirst();
+		assertTrue(fullReport.isPresent());
+		assertTrue(fullReport.get().getItems().isEmpty());
+		report = handler.pullDiagnostics(new WorkspaceDiagnosticParams(Collections.emptyList()), monitor);
+		assertTrue(report.getItems().stream().filter(WorkspaceDocumentDiagnosticReport::isLeft).map(WorkspaceDocumentDiagnosticReport::getLeft).noneMatch(r -> uri.equals(r.getUri())));
+	}
+
 	@Test
 	public void testMissingNatures() throws Exception {
 		//import project
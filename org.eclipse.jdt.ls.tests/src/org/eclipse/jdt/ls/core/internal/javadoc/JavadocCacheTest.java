@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.javadoc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.core.IJavaModelStatusConstants;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.javadoc.JavadocCache.Format;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JavadocCacheTest extends AbstractProjectsManagerBasedTest {
+
+	private IJavaProject project;
+	private File directory;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		importProjects("eclipse/hello");
+		project = JavaCore.create(WorkspaceHelper.getProject("hello"));
+		directory = Files.createTempDirectory("javadoc-cache").toFile();
+	}
+
+	@Test
+	public void testLibraryJavadoc() throws Exception {
+		IType type = project.findType("java.lang.Object");
+		assertNotNull(type);
+		AtomicInteger renders = new AtomicInteger();
+		JavadocCache cache = new JavadocCache(directory);
+		assertEquals("Object1", cache.get(type, Format.MARKDOWN, () -> "Object" + renders.incrementAndGet()));
+		assertEquals("Object1", cache.get(type, Format.MARKDOWN, () -> "Object" + renders.incrementAndGet()));
+		assertEquals(1, renders.get());
+		assertNull(cache.get(type, Format.PLAIN_TEXT, () -> null));
+		assertNull(cache.get(type, Format.PLAIN_TEXT, () -> "Object" + renders.incrementAndGet()));
+		assertEquals(1, renders.get());
+
+		// a new session reads the stored Javadoc
+		cache = new JavadocCache(directory);
+		assertEquals("Object1", cache.get(type, Format.MARKDOWN, () -> "Object" + renders.incrementAndGet()));
+		assertEquals(1, renders.get());
+	}
+
+	@Test
+	public void testSourceJavadoc() throws Exception {
+		IType type = project.findType("org.sample.TestJavadoc");
+		assertNotNull(type);
+		AtomicInteger renders = new AtomicInteger();
+		JavadocCache cache = new JavadocCache(directory);
+		assertEquals("TestJavadoc1", cache.get(type, Format.MARKDOWN, () -> "TestJavadoc" + renders.incrementAndGet()));
+		assertEquals("TestJavadoc2", cache.get(type, Format.MARKDOWN, () -> "TestJavadoc" + renders.incrementAndGet()));
+	}
+
+	@Test
+	public void testRenderFailure() throws Exception {
+		IType type = project.findType("java.lang.Object");
+		assertNotNull(type);
+		JavadocCache cache = new JavadocCache(directory);
+		assertThrows(JavaModelException.class, () -> cache.get(type, Format.MARKDOWN, () -> {
+			throw new JavaModelException(new IOException("unavailable"), IJavaModelStatusConstants.IO_EXCEPTION);
+		}));
+
+		// the failure isn't cached as an element without Javadoc
+		assertEquals("Object", cache.get(type, Format.MARKDOWN, () -> "Object"));
+		assertEquals("Object", new JavadocCache(directory).get(type, Format.MARKDOWN, () -> null));
+	}
+
+	@Test
+	public void testPrune() throws Exception {
+		IType type = project.findType("java.lang.Object");
+		assertNotNull(type);
+		File unused = new File(directory, "unused");
+		unused.mkdirs();
+		Files.writeString(new File(unused, ".stamp").toPath(), "unused");
+		AtomicInteger renders = new AtomicInteger();
+		JavadocCache cache = new JavadocCache(directory);
+		assertEquals("Object1", cache.get(type, Format.MARKDOWN, () -> "Object" + renders.incrementAndGet()));
+
+		// the libraries on the classpath of a project are kept
+		cache.prune();
+		assertFalse(unused.exists());
+		cache = new JavadocCache(directory);
+		assertEquals("Object1", cache.get(type, Format.MARKDOWN, () -> "Object" + renders.incrementAndGet()));
+		assertEquals(1, renders.get());
+	}
+
+	@Test
+	public void testDiskBudget() throws Exception {
+		IType object = project.findType("java.lang.Object");
+		IType string = project.findType("java.lang.String");
+		IType integer = project.findType("java.lang.Integer");
+		File old = new File(directory, "old");
+		old.mkdirs();
+		File stamp = new File(old, ".stamp");
+		Files.writeString(stamp.toPath(), "o".repeat(1000));
+		stamp.setLastModified(0);
+		JavadocCache cache = new JavadocCache(directory, 1500);
+		assertEquals(1000, cache.getDiskSize());
+
+		// the least recently used library is deleted
+		cache.get(object, Format.MARKDOWN, () -> "x".repeat(1000));
+		assertFalse(old.exists());
+
+		// the library doesn't fit on its own, no more Javadoc is stored
+		cache.get(string, Format.MARKDOWN, () -> "x".repeat(1000));
+		long size = cache.getDiskSize();
+		assertEquals("Integer", cache.get(integer, Format.MARKDOWN, () -> "Integer"));
+		assertEquals(size, cache.getDiskSize());
+		assertEquals("Integer2", new JavadocCache(directory).get(integer, Format.MARKDOWN, () -> "Integer2"));
+	}
+}